@@ -0,0 +1,13 @@
+// Copies the rule bundle generated by the backend build (./gradlew validationRuleBundle) into public/
+import {copyFileSync, existsSync} from 'node:fs';
+import {fileURLToPath} from 'node:url';
+
+const source = fileURLToPath(new URL('../../../build/generated/validation-rules/validation-rules.json', import.meta.url));
+const target = fileURLToPath(new URL('../public/validation-rules.json', import.meta.url));
+
+if (existsSync(source)) {
+    copyFileSync(source, target);
+    console.log(`Copied ${source} to ${target}`);
+} else {
+    console.warn(`${source} not found, run ./gradlew validationRuleBundle; the app shows no hints without it`);
+}
@@ -3,6 +3,9 @@ import {CommonModule} from '@angular/common';
 import {FormBuilder, FormGroup, ReactiveFormsModule, Validators} from '@angular/forms';
 import {LicencePlateService} from './service/licence-plate-validation.service';
 import {ApiResponse} from './service/api-response';
+import {LicencePlateDetails} from './service/licence-plate-details';
+import {ValidationRulesService} from './service/validation-rules.service';
+import {OfflineLicencePlateValidator, OfflineValidationResult} from './service/offline-licence-plate-validator';
 
 @Component({
     selector: 'app-root',
@@ -14,12 +17,16 @@ import {ApiResponse} from './service/api-response';
 export class AppComponent implements OnInit {
     form!: FormGroup;
     isLoading = false;
-    validationResult: string | null | undefined = null;
+    validationResult: LicencePlateDetails | null | undefined = null;
     error: string | null = null;
+    // Instant hint from the generated rules; only the server decides, as its data may be newer
+    preValidation: OfflineValidationResult | null = null;
+    private offlineValidator: OfflineLicencePlateValidator | null = null;
 
     constructor(
         private fb: FormBuilder,
-        private licencePlateService: LicencePlateService
+        private licencePlateService: LicencePlateService,
+        private validationRulesService: ValidationRulesService
     ) {
         this.form = this.fb.group({
             cityCode: ['', [Validators.required, Validators.minLength(1), Validators.maxLength(3)]],
@@ -29,12 +36,18 @@ export class AppComponent implements OnInit {
     }
 
     ngOnInit(): void {
+        this.validationRulesService.offlineValidator().subscribe((validator) => {
+            this.offlineValidator = validator;
+            this.preValidate();
+        });
+        this.form.valueChanges.subscribe(() => this.preValidate());
     }
 
     onCityCodeInput(event: Event): void {
         const input = event.target as HTMLInputElement;
         input.value = input.value.toUpperCase().replace(/[^A-ZÄÖÜ]/g, '');
         this.form.get('cityCode')?.setValue(input.value, { emitEvent: false });
+        this.preValidate();
 
         // Auto-focus next field when max length reached
         if (input.value.length === 3) {
@@ -46,6 +59,7 @@ export class AppComponent implements OnInit {
         const input = event.target as HTMLInputElement;
         input.value = input.value.toUpperCase().replace(/[^A-Z]/g, '');
         this.form.get('letters')?.setValue(input.value, { emitEvent: false });
+        this.preValidate();
 
         // Auto-focus next field when max length reached
         if (input.value.length === 2) {
@@ -53,6 +67,17 @@ export class AppComponent implements OnInit {
         }
     }
 
+    /**
+     * Checks the current input against the generated rules, without a server round trip.
+     */
+    preValidate(): void {
+        if (!this.offlineValidator || this.form.invalid) {
+            this.preValidation = null;
+            return;
+        }
+        this.preValidation = this.offlineValidator.validate(this.licencePlateInput());
+    }
+
     validatePlate(): void {
         if (this.form.invalid) {
             return;
@@ -62,14 +87,8 @@ export class AppComponent implements OnInit {
         this.error = null;
         this.validationResult = null;
 
-        const cityCode = this.form.get('cityCode')?.value.trim();
-        const letters = this.form.get('letters')?.value.trim();
-        const numbers = this.form.get('numbers')?.value.trim();
-
-        const licensePlate = `${cityCode}-${letters} ${numbers}`;
-
-        this.licencePlateService.validateLicencePlate(licensePlate).subscribe({
-            next: (response: ApiResponse<string>) => {
+        this.licencePlateService.validateLicencePlate(this.licencePlateInput()).subscribe({
+            next: (response: ApiResponse<LicencePlateDetails>) => {
                 if (response.success) {
                     this.validationResult = response.result;
                 } else {
@@ -83,4 +102,12 @@ export class AppComponent implements OnInit {
             },
         });
     }
+
+    private licencePlateInput(): string {
+        const cityCode = this.form.get('cityCode')?.value.trim();
+        const letters = this.form.get('letters')?.value.trim();
+        const numbers = this.form.get('numbers')?.value.trim();
+
+        return `${cityCode}-${letters} ${numbers}`;
+    }
 }
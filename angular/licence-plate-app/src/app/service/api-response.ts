@@ -1,5 +1,6 @@
 export interface ApiResponse<T> {
     success: boolean;
     result?: T | null;
+    errorCode?: string;
     error?: string;
 }
@@ -0,0 +1,12 @@
+export interface LicencePlateDetails {
+    licencePlate: string;
+    code: string;
+    label: string;
+    identifier?: string;
+    number?: string;
+    modifier?: string;
+    category: string;
+    redPlatePrefix?: string;
+    vehicleType?: string;
+    deprecated: boolean;
+}
@@ -2,18 +2,19 @@ import {Injectable} from '@angular/core';
 import {HttpClient} from '@angular/common/http';
 import {Observable} from 'rxjs';
 import {ApiResponse} from './api-response';
+import {LicencePlateDetails} from './licence-plate-details';
 
 @Injectable({
     providedIn: 'root',
 })
 export class LicencePlateService {
-    private apiUrl = '/licence-plate/validate';
+    private apiUrl = '/licence-plate/validate/details';
 
     constructor(private http: HttpClient) {
     }
 
-    validateLicencePlate(licensePlate: string): Observable<ApiResponse<string>> {
-        return this.http.post<ApiResponse<string>>(this.apiUrl, {
+    validateLicencePlate(licensePlate: string): Observable<ApiResponse<LicencePlateDetails>> {
+        return this.http.post<ApiResponse<LicencePlateDetails>>(this.apiUrl, {
             licencePlate: licensePlate,
         });
     }
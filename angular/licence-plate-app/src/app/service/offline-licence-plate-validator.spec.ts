@@ -0,0 +1,50 @@
+import fixture from './offline-licence-plate-validator.fixture.json';
+import {OfflineLicencePlateValidator, OfflineValidationResult} from './offline-licence-plate-validator';
+import {ValidationRules} from './validation-rules';
+
+interface FixtureCase {
+    input: string;
+    result: OfflineValidationResult;
+}
+
+/**
+ * The fixture holds a rule bundle and the results of the Java LicencePlateValidationService for a
+ * set of inputs; ValidationRuleBundleTest fails when either no longer matches the backend.
+ */
+describe('OfflineLicencePlateValidator', () => {
+    const validator = new OfflineLicencePlateValidator(fixture.bundle as unknown as ValidationRules);
+
+    for (const {input, result} of fixture.cases as FixtureCase[]) {
+        it(`should validate "${input}" like the server`, () => {
+            expect(normalize(validator.validate(input))).toEqual(normalize(result));
+        });
+    }
+
+    it('should report missing input as empty', () => {
+        expect(validator.validate(null).errorCode).toBe('EMPTY_INPUT');
+        expect(validator.validate(undefined).errorCode).toBe('EMPTY_INPUT');
+    });
+});
+
+/**
+ * Drops absent fields; alternatives are compared as a set, as only the server ranks them.
+ */
+function normalize(result: OfflineValidationResult): OfflineValidationResult {
+    const normalized: OfflineValidationResult = {valid: result.valid};
+    if (result.licencePlate !== undefined) {
+        normalized.licencePlate = result.licencePlate;
+    }
+    if (result.label !== undefined) {
+        normalized.label = result.label;
+    }
+    if (result.errorCode !== undefined) {
+        normalized.errorCode = result.errorCode;
+    }
+    if (result.error !== undefined) {
+        normalized.error = result.error;
+    }
+    if (result.alternatives !== undefined) {
+        normalized.alternatives = [...result.alternatives].sort();
+    }
+    return normalized;
+}
@@ -0,0 +1,410 @@
+import {DistinguisherEntry, NumberRules, Rules, TrieNode, ValidationRules} from './validation-rules';
+
+export interface OfflineValidationResult {
+    valid: boolean;
+    licencePlate?: string;
+    label?: string;
+    errorCode?: string;
+    error?: string;
+    alternatives?: string[];
+}
+
+interface Distinguisher extends DistinguisherEntry {
+    code: string;
+}
+
+interface Parsing {
+    distinguisher: Distinguisher;
+    identifier: string;
+    number: string;
+    modifier: string;
+}
+
+interface Parsings {
+    plates: Parsing[];
+    invalidLetterRejected: boolean;
+}
+
+const EMPTY_INPUT = invalid('EMPTY_INPUT', 'Kennzeichen darf nicht leer sein');
+const UNKNOWN_DISTINGUISHER = invalid('UNKNOWN_DISTINGUISHER', 'Unbekanntes Unterscheidungszeichen');
+const INVALID_CHARACTERS = invalid('INVALID_CHARACTERS', "Nur Buchstaben A-Z, Ziffern 0-9 sowie '-' und Leerzeichen erlaubt");
+const INVALID_FORMAT = invalid('INVALID_FORMAT', 'Ungültiges Kennzeichen');
+const NON_BREAKING_SPACES = '\u00A0\u2007\u202F\uFEFF';
+
+/**
+ * Validates licence plates in the browser with the rule bundle generated from the backend
+ * validators. Mirrors LicencePlateValidationService step by step, so it reports the same error
+ * codes and messages; the server still confirms a plate on submit, as its data may be newer.
+ */
+export class OfflineLicencePlateValidator {
+    private readonly rules: Rules;
+    private readonly forbiddenIdentifiers: Set<string>;
+    private readonly forbiddenPairs: Set<string>;
+
+    constructor(private readonly bundle: ValidationRules) {
+        this.rules = bundle.rules;
+        this.forbiddenIdentifiers = new Set(bundle.forbidden.identifiers);
+        this.forbiddenPairs = new Set(
+            Object.entries(bundle.forbidden.pairs).flatMap(([code, identifiers]) =>
+                identifiers.map((identifier) => `${code}-${identifier}`)
+            )
+        );
+    }
+
+    get version(): string {
+        return this.bundle.version;
+    }
+
+    validate(input: string | null | undefined): OfflineValidationResult {
+        if (input == null) {
+            return EMPTY_INPUT;
+        }
+
+        const tokens = tokenize(input);
+        if (tokens === null) {
+            return EMPTY_INPUT;
+        }
+        if (tokens.distinguisherEnd >= 0) {
+            return this.validateSeparatedInput(tokens.plate, tokens.distinguisherEnd);
+        }
+        return this.validateCompactInput(tokens.plate);
+    }
+
+    private validateSeparatedInput(plate: string, codeLength: number): OfflineValidationResult {
+        const code = plate.slice(0, codeLength);
+        if (!this.isDistinguisherCode(code)) {
+            return invalid('INVALID_DISTINGUISHER', `Unterscheidungszeichen ${code} ungültig`);
+        }
+
+        const entries = this.node(code)?.entries ?? [];
+        const entry =
+            entries.find((e) => !e.deprecated && !e.special) ??
+            entries.find((e) => e.deprecated && !e.special) ??
+            entries.find((e) => !e.deprecated && e.special);
+        if (!entry) {
+            return invalid('UNKNOWN_DISTINGUISHER', `Kein Unterscheidungszeichen ${code} gefunden`);
+        }
+
+        const parsings: Parsings = {plates: [], invalidLetterRejected: false};
+        this.parseRemainingPart({...entry, code}, plate, parsings);
+        return this.selectUniqueParsing(parsings);
+    }
+
+    /**
+     * Compact input only considers active distinguishers; when a code exists both as civilian and
+     * special distinguisher the civilian one wins, as it comes first in the trie node.
+     */
+    private validateCompactInput(plate: string): OfflineValidationResult {
+        const parsings: Parsings = {plates: [], invalidLetterRejected: false};
+        let candidateCount = 0;
+        let node: TrieNode | undefined = this.bundle.distinguishers;
+        for (let length = 1; length <= plate.length; length++) {
+            node = node.children?.[plate[length - 1]];
+            if (!node) {
+                break;
+            }
+            const entry = node.entries?.find((e) => !e.deprecated);
+            if (entry) {
+                candidateCount++;
+                this.parseRemainingPart({...entry, code: plate.slice(0, length)}, plate, parsings);
+            }
+        }
+
+        if (candidateCount === 0) {
+            return UNKNOWN_DISTINGUISHER;
+        }
+        return this.selectUniqueParsing(parsings);
+    }
+
+    private parseRemainingPart(distinguisher: Distinguisher, plate: string, parsings: Parsings): void {
+        const start = distinguisher.code.length;
+        const lastChar = plate[plate.length - 1];
+        const modifier = plate.length > start && this.rules.modifiers.includes(lastChar) ? lastChar : '';
+        const end = plate.length - modifier.length;
+
+        let parsing: Parsing | null;
+        if (distinguisher.special) {
+            parsing = this.validateSpecialPlate(distinguisher, plate, start, end, modifier);
+        } else {
+            parsing = this.validateCivilianPlate(distinguisher, plate, start, end, modifier);
+            if (!parsing && this.hasInvalidIdentifierLetter(plate, start, end)) {
+                parsings.invalidLetterRejected = true;
+            }
+        }
+        if (parsing) {
+            parsings.plates.push(parsing);
+        }
+    }
+
+    private validateCivilianPlate(distinguisher: Distinguisher, plate: string, start: number, end: number,
+                                  modifier: string): Parsing | null {
+        const civilian = this.rules.civilian;
+        if (start === end) {
+            return null;
+        }
+
+        let identifierEnd = start;
+        while (identifierEnd < end && isAlphabetic(plate[identifierEnd])
+               && identifierEnd < start + civilian.maxIdentifierLength) {
+            if (!isLetter(plate[identifierEnd])) {
+                return null;
+            }
+            identifierEnd++;
+        }
+
+        // No identifier: only red plates
+        if (identifierEnd === start) {
+            return this.validateRedPlate(distinguisher, plate, start, end, modifier);
+        }
+
+        if (!isDigits(plate, identifierEnd, end, 1, civilian.maxNumberLength)) {
+            return null;
+        }
+        if (distinguisher.code.length + (end - start) + modifier.length > civilian.maxTotalLength) {
+            return null;
+        }
+        return {
+            distinguisher,
+            identifier: plate.slice(start, identifierEnd),
+            number: plate.slice(identifierEnd, end),
+            modifier,
+        };
+    }
+
+    private validateRedPlate(distinguisher: Distinguisher, plate: string, start: number, end: number,
+                             modifier: string): Parsing | null {
+        const redPlate = this.rules.redPlate;
+        if (modifier || !isDigits(plate, start, end, redPlate.prefixLength, redPlate.maxNumberLength)) {
+            return null;
+        }
+        if (!redPlate.prefixes.includes(Number(plate.slice(start, start + redPlate.prefixLength)))) {
+            return null;
+        }
+        if (distinguisher.code.length + (end - start) > redPlate.maxTotalLength) {
+            return null;
+        }
+        return numberPlate(distinguisher, plate, start, end, '');
+    }
+
+    private validateSpecialPlate(distinguisher: Distinguisher, plate: string, start: number, end: number,
+                                 modifier: string): Parsing | null {
+        switch (distinguisher.code) {
+            case this.rules.bundeswehr.code:
+                return validateNumber(this.rules.bundeswehr, distinguisher, plate, start, end, modifier);
+            case this.rules.nato.code:
+                return validateNumber(this.rules.nato, distinguisher, plate, start, end, modifier);
+            case this.rules.federalPolice.code:
+                return this.validateFederalPolicePlate(distinguisher, plate, start, end, modifier);
+            case this.rules.thw.code:
+                return this.validateThwPlate(distinguisher, plate, start, end, modifier);
+            default:
+                return validateNumber(this.rules.genericSpecial, distinguisher, plate, start, end, modifier);
+        }
+    }
+
+    private validateFederalPolicePlate(distinguisher: Distinguisher, plate: string, start: number, end: number,
+                                       modifier: string): Parsing | null {
+        const federalPolice = this.rules.federalPolice;
+        if (!isDigits(plate, start, end, 1, Infinity)) {
+            return null;
+        }
+        if (isRedPlate(plate, start, end, federalPolice)) {
+            return modifier ? null : numberPlate(distinguisher, plate, start, end, '');
+        }
+
+        const length = end - start;
+        if (length < federalPolice.minNumberLength || length > federalPolice.maxNumberLength) {
+            return null;
+        }
+        const vehicleTypeCode = Number(plate.slice(start, start + federalPolice.vehicleTypeCodeLength));
+        const vehicleType = federalPolice.vehicleTypes.find((range) => vehicleTypeCode >= range.min && vehicleTypeCode <= range.max);
+        if (!vehicleType) {
+            return null;
+        }
+
+        // Electric vehicles need the E modifier, all others must not have a modifier
+        const electric = vehicleType.type === federalPolice.electricVehicleType;
+        if (modifier ? !electric || modifier !== federalPolice.electricModifier : electric) {
+            return null;
+        }
+        return numberPlate(distinguisher, plate, start, end, modifier);
+    }
+
+    private validateThwPlate(distinguisher: Distinguisher, plate: string, start: number, end: number,
+                             modifier: string): Parsing | null {
+        const thw = this.rules.thw;
+        if (modifier || !isDigits(plate, start, end, 1, Infinity)) {
+            return null;
+        }
+        if (isRedPlate(plate, start, end, thw)) {
+            return numberPlate(distinguisher, plate, start, end, '');
+        }
+
+        const length = end - start;
+        if (length < thw.minNumberLength || length > thw.maxNumberLength || !thw.firstDigits.includes(plate[start])) {
+            return null;
+        }
+        return numberPlate(distinguisher, plate, start, end, '');
+    }
+
+    private selectUniqueParsing(parsings: Parsings): OfflineValidationResult {
+        const plates = parsings.plates;
+        if (plates.length === 0) {
+            return parsings.invalidLetterRejected ? INVALID_CHARACTERS : INVALID_FORMAT;
+        }
+        if (plates.length === 1) {
+            return this.checkForbidden(plates[0]) ?? valid(plates[0]);
+        }
+
+        // Only readings that would be valid on their own count
+        const allowed = plates.filter((parsing) => !this.checkForbidden(parsing));
+        if (allowed.length === 0) {
+            return this.checkForbidden(plates[0])!;
+        }
+        if (allowed.length === 1) {
+            return valid(allowed[0]);
+        }
+        return {
+            ...invalid('AMBIGUOUS', 'Kennzeichen mehrdeutig'),
+            alternatives: allowed.map(present),
+        };
+    }
+
+    private checkForbidden(parsing: Parsing): OfflineValidationResult | null {
+        const code = parsing.distinguisher.code;
+        const identifier = parsing.identifier;
+        if (!identifier) {
+            return null;
+        }
+        if (this.forbiddenIdentifiers.has(identifier)) {
+            return invalid('FORBIDDEN_IDENTIFIER', `Erkennungsnummer ${identifier} ist nicht erlaubt`);
+        }
+        if (this.forbiddenPairs.has(`${code}-${identifier}`)) {
+            return invalid('FORBIDDEN_COMBINATION', `Kombination ${code}-${identifier} ist nicht erlaubt`);
+        }
+        return null;
+    }
+
+    private hasInvalidIdentifierLetter(plate: string, start: number, end: number): boolean {
+        for (let position = start; position < end && position < start + this.rules.civilian.maxIdentifierLength; position++) {
+            if (!isAlphabetic(plate[position])) {
+                return false;
+            }
+            if (!isLetter(plate[position])) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private isDistinguisherCode(code: string): boolean {
+        return code.length > 0 && code.length <= this.rules.maxDistinguisherLength && /^[A-ZÄÖÜ]+$/.test(code);
+    }
+
+    private node(code: string): TrieNode | undefined {
+        let node: TrieNode | undefined = this.bundle.distinguishers;
+        for (const c of code) {
+            node = node?.children?.[c];
+        }
+        return node;
+    }
+}
+
+/**
+ * Trims and upper-cases the input and drops the separators '-' and ' '; the first separator
+ * marks the end of the distinguisher. Returns null for blank input.
+ */
+function tokenize(input: string): { plate: string; distinguisherEnd: number } | null {
+    let start = 0;
+    let end = input.length;
+    while (start < end && isTrimmed(input[start])) {
+        start++;
+    }
+    while (end > start && isTrimmed(input[end - 1])) {
+        end--;
+    }
+    if (start === end) {
+        return null;
+    }
+
+    let plate = '';
+    let distinguisherEnd = -1;
+    for (let i = start; i < end; i++) {
+        const c = input[i];
+        if (c === '-' || c === ' ') {
+            if (distinguisherEnd < 0) {
+                distinguisherEnd = plate.length;
+            }
+            continue;
+        }
+        // Upper-case per character like the server, which keeps e.g. 'ß' a single character
+        const upper = c.toUpperCase();
+        plate += upper.length === 1 ? upper : c;
+    }
+    return {plate, distinguisherEnd};
+}
+
+function validateNumber(rules: NumberRules, distinguisher: Distinguisher, plate: string, start: number, end: number,
+                        modifier: string): Parsing | null {
+    if (modifier || !isDigits(plate, start, end, rules.minNumberLength, rules.maxNumberLength)) {
+        return null;
+    }
+    return numberPlate(distinguisher, plate, start, end, '');
+}
+
+function isRedPlate(plate: string, start: number, end: number,
+                    rules: { redPlateLength: number; redPlateMin: number; redPlateMax: number }): boolean {
+    if (!isDigits(plate, start, end, rules.redPlateLength, rules.redPlateLength)) {
+        return false;
+    }
+    const value = Number(plate.slice(start, end));
+    return value >= rules.redPlateMin && value <= rules.redPlateMax;
+}
+
+function numberPlate(distinguisher: Distinguisher, plate: string, start: number, end: number, modifier: string): Parsing {
+    return {distinguisher, identifier: '', number: plate.slice(start, end), modifier};
+}
+
+function present(parsing: Parsing): string {
+    const distinguisher = parsing.distinguisher;
+    if (distinguisher.special) {
+        return distinguisher.code + parsing.number;
+    }
+    return `${distinguisher.code}-${parsing.identifier}${parsing.number}${parsing.modifier}`;
+}
+
+function isDigits(value: string, start: number, end: number, minLength: number, maxLength: number): boolean {
+    const length = end - start;
+    if (length < minLength || length > maxLength) {
+        return false;
+    }
+    for (let i = start; i < end; i++) {
+        if (value[i] < '0' || value[i] > '9') {
+            return false;
+        }
+    }
+    return true;
+}
+
+function isAlphabetic(c: string): boolean {
+    return /\p{Alphabetic}/u.test(c);
+}
+
+function isLetter(c: string): boolean {
+    return c >= 'A' && c <= 'Z';
+}
+
+/**
+ * Like Java's trim plus Character.isWhitespace, which unlike \s excludes non-breaking spaces.
+ */
+function isTrimmed(c: string): boolean {
+    return c <= ' ' || (/\s/.test(c) && !NON_BREAKING_SPACES.includes(c));
+}
+
+function valid(parsing: Parsing): OfflineValidationResult {
+    return {valid: true, licencePlate: present(parsing), label: parsing.distinguisher.label};
+}
+
+function invalid(errorCode: string, error: string): OfflineValidationResult {
+    return {valid: false, errorCode, error};
+}
@@ -0,0 +1,29 @@
+import {Injectable} from '@angular/core';
+import {HttpClient} from '@angular/common/http';
+import {catchError, map, Observable, of, shareReplay} from 'rxjs';
+import {ValidationRules} from './validation-rules';
+import {OfflineLicencePlateValidator} from './offline-licence-plate-validator';
+
+@Injectable({
+    providedIn: 'root',
+})
+export class ValidationRulesService {
+    private rulesUrl = '/validation-rules.json';
+    private validator$?: Observable<OfflineLicencePlateValidator | null>;
+
+    constructor(private http: HttpClient) {
+    }
+
+    /**
+     * The validator for the generated rule bundle, loaded once; null if the bundle is missing,
+     * in which case every plate is left to the server.
+     */
+    offlineValidator(): Observable<OfflineLicencePlateValidator | null> {
+        this.validator$ ??= this.http.get<ValidationRules>(this.rulesUrl).pipe(
+            map((rules) => new OfflineLicencePlateValidator(rules)),
+            catchError(() => of(null)),
+            shareReplay(1)
+        );
+        return this.validator$;
+    }
+}
@@ -0,0 +1,63 @@
+/**
+ * Rule bundle generated by the backend build (`./gradlew validationRuleBundle`) from the
+ * distinguisher data and the Java validators.
+ */
+export interface ValidationRules {
+    version: string;
+    distinguishers: TrieNode;
+    rules: Rules;
+    forbidden: ForbiddenCombinations;
+}
+
+export interface TrieNode {
+    entries?: DistinguisherEntry[];
+    children?: { [character: string]: TrieNode };
+}
+
+export interface DistinguisherEntry {
+    label: string;
+    deprecated?: boolean;
+    special?: boolean;
+}
+
+export interface Rules {
+    maxDistinguisherLength: number;
+    modifiers: string[];
+    civilian: { maxTotalLength: number; maxIdentifierLength: number; maxNumberLength: number };
+    redPlate: { prefixLength: number; prefixes: number[]; maxNumberLength: number; maxTotalLength: number };
+    genericSpecial: NumberRules;
+    bundeswehr: NumberRules;
+    nato: NumberRules;
+    federalPolice: {
+        code: string;
+        vehicleTypeCodeLength: number;
+        vehicleTypes: { min: number; max: number; type: string }[];
+        electricVehicleType: string;
+        electricModifier: string;
+        redPlateLength: number;
+        redPlateMin: number;
+        redPlateMax: number;
+        minNumberLength: number;
+        maxNumberLength: number;
+    };
+    thw: {
+        code: string;
+        minNumberLength: number;
+        maxNumberLength: number;
+        firstDigits: string;
+        redPlateLength: number;
+        redPlateMin: number;
+        redPlateMax: number;
+    };
+}
+
+export interface NumberRules {
+    code?: string;
+    minNumberLength: number;
+    maxNumberLength: number;
+}
+
+export interface ForbiddenCombinations {
+    identifiers: string[];
+    pairs: { [code: string]: string[] };
+}
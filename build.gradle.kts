@@ -4,6 +4,7 @@ plugins {
     java
     id("org.springframework.boot") version "3.5.6"
     id("io.spring.dependency-management") version "1.1.7"
+    id("me.champeau.jmh") version "0.7.2"
 }
 
 group = "tomcom"
@@ -12,7 +13,7 @@ description = "licence-plate-checker"
 
 java {
     toolchain {
-        languageVersion = JavaLanguageVersion.of(17)
+        languageVersion = JavaLanguageVersion.of(21)
     }
 }
 
@@ -23,6 +24,9 @@ repositories {
 dependencies {
     implementation("org.springframework.boot:spring-boot-starter-data-jpa")
     implementation("org.springframework.boot:spring-boot-starter-web")
+    implementation("org.springframework.boot:spring-boot-starter-actuator")
+    implementation("com.github.ben-manes.caffeine:caffeine")
+    runtimeOnly("io.micrometer:micrometer-registry-prometheus")
     runtimeOnly("org.postgresql:postgresql")
     runtimeOnly("com.mysql:mysql-connector-j")
     testImplementation("org.springframework.boot:spring-boot-starter-test")
@@ -30,6 +34,50 @@ dependencies {
     testRuntimeOnly("org.junit.platform:junit-platform-launcher")
 }
 
+val distinguisherSnapshotDir = layout.buildDirectory.dir("generated/resources/distinguisher-snapshot")
+
+// Compiles kennzeichen.csv into the binary snapshot loaded at startup
+val distinguisherSnapshot by tasks.registering(JavaExec::class) {
+    group = "build"
+    description = "Compiles kennzeichen.csv into the binary distinguisher snapshot"
+    val csv = file("src/main/resources/kennzeichen.csv")
+    val snapshot = distinguisherSnapshotDir.map { it.file("distinguishers.bin") }
+    inputs.file(csv)
+    outputs.dir(distinguisherSnapshotDir)
+    classpath = files(sourceSets.main.get().java.classesDirectory)
+    mainClass = "tomcom.licenceplatechecker.application.DistinguisherSnapshotCompiler"
+    argumentProviders.add(CommandLineArgumentProvider { listOf(csv.absolutePath, snapshot.get().asFile.absolutePath) })
+}
+
+sourceSets.main {
+    resources.srcDir(distinguisherSnapshot)
+}
+
+// Generates the rule bundle the Angular app shows hints with; the frontend build copies it into public/
+val validationRuleBundle by tasks.registering(JavaExec::class) {
+    group = "build"
+    description = "Generates the client-side validation rules from kennzeichen.csv and the validators"
+    val csv = file("src/main/resources/kennzeichen.csv")
+    val forbiddenCombinations = file("src/main/resources/forbidden-combinations.txt")
+    val bundle = layout.buildDirectory.file("generated/validation-rules/validation-rules.json")
+    inputs.files(csv, forbiddenCombinations)
+    outputs.file(bundle)
+    classpath = files(sourceSets.main.get().java.classesDirectory) + configurations.runtimeClasspath.get()
+    mainClass = "tomcom.licenceplatechecker.application.ValidationRuleBundleCompiler"
+    argumentProviders.add(CommandLineArgumentProvider { listOf(csv.absolutePath, forbiddenCombinations.absolutePath, bundle.get().asFile.absolutePath) })
+}
+
 tasks.withType<Test> {
     useJUnitPlatform()
 }
+
+jmh {
+    jmhVersion = "1.37"
+    warmupIterations = 3
+    iterations = 5
+    fork = 1
+    benchmarkMode = listOf("thrpt", "avgt")
+    timeUnit = "us"
+    profilers = listOf("gc")
+    resultFormat = "JSON"
+}
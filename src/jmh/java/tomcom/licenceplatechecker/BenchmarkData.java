@@ -0,0 +1,83 @@
+package tomcom.licenceplatechecker;
+
+import tomcom.licenceplatechecker.application.DistinguisherCsvReader;
+import tomcom.licenceplatechecker.domain.licenceplate.Distinguisher;
+import tomcom.licenceplatechecker.domain.licenceplate.DistinguisherCatalog;
+import tomcom.licenceplatechecker.domain.licenceplate.DistinguisherIndex;
+import tomcom.licenceplatechecker.domain.licenceplate.validator.LicencePlateValidationService;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Builds the validation pipeline from {@code kennzeichen.csv} without Spring or a database.
+ */
+final class BenchmarkData {
+
+    static final String[] SEPARATOR_INPUTS = {
+        "B-XY700", "ME AB 3333", "W-SE515", "HH-AB 12", "M-AB1234H", "K-E 1E", "DÜW-AB1", "SG WP 100"
+    };
+    static final String[] COMPACT_INPUTS = {
+        "SGWP100", "MEAB3333", "KAXY12E", "DÜWAB1", "HHAB12", "SGAB12H", "AÖC12", "B06123"
+    };
+    static final String[] SPECIAL_INPUTS = {
+        "Y123456", "X-123", "BP-1599", "BP 6012E", "THW-8234", "THW85000", "BW-1234", "NRW-123"
+    };
+    static final String[] INVALID_INPUTS = {
+        "W-SS88", "Q-AB1", "B-0812345", "X123H", "THW7000", "BP09123", "", "KA-ABC12"
+    };
+    static final String[] AMBIGUOUS_INPUTS = {
+        "LIT433", "BNN1234", "MEK1", "SGB12", "HHB12", "KAB12", "DAB1", "BAB12"
+    };
+
+    private BenchmarkData() {}
+
+    static String[] inputs(String mix) {
+        return switch (mix) {
+            case "separator" -> SEPARATOR_INPUTS;
+            case "compact" -> COMPACT_INPUTS;
+            case "special" -> SPECIAL_INPUTS;
+            case "invalid" -> INVALID_INPUTS;
+            case "ambiguous" -> AMBIGUOUS_INPUTS;
+            case "mixed" -> concat(SEPARATOR_INPUTS, COMPACT_INPUTS, SPECIAL_INPUTS, INVALID_INPUTS, AMBIGUOUS_INPUTS);
+            default -> throw new IllegalArgumentException("Unknown input mix " + mix);
+        };
+    }
+
+    static LicencePlateValidationService validationService() {
+        // No repository needed: the index is supplied directly
+        DistinguisherCatalog catalog = new DistinguisherCatalog(null);
+        catalog.replace(DistinguisherIndex.of(distinguishers()));
+        return new LicencePlateValidationService(catalog);
+    }
+
+    static List<Distinguisher> distinguishers() {
+        List<Distinguisher> distinguishers = new ArrayList<>();
+        try (InputStream input = BenchmarkData.class.getClassLoader().getResourceAsStream("kennzeichen.csv")) {
+            DistinguisherCsvReader.read(input, distinguishers::add);
+        } catch (IOException ex) {
+            throw new UncheckedIOException(ex);
+        }
+        return distinguishers;
+    }
+
+    static Distinguisher distinguisher(String code, boolean special) {
+        Distinguisher distinguisher = new Distinguisher();
+        distinguisher.code = code;
+        distinguisher.label = code;
+        distinguisher.deprecated = false;
+        distinguisher.special = special;
+        return distinguisher;
+    }
+
+    private static String[] concat(String[]... arrays) {
+        List<String> all = new ArrayList<>();
+        for (String[] array : arrays) {
+            all.addAll(List.of(array));
+        }
+        return all.toArray(String[]::new);
+    }
+}
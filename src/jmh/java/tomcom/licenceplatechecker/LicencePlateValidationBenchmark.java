@@ -0,0 +1,54 @@
+package tomcom.licenceplatechecker;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import tomcom.licenceplatechecker.domain.licenceplate.LicencePlate;
+import tomcom.licenceplatechecker.domain.licenceplate.ValidationResult;
+import tomcom.licenceplatechecker.domain.licenceplate.exception.AmbiguousLicencePlateException;
+import tomcom.licenceplatechecker.domain.licenceplate.exception.InvalidLicencePlateException;
+import tomcom.licenceplatechecker.domain.licenceplate.validator.LicencePlateValidationService;
+
+/**
+ * End-to-end benchmark of {@link LicencePlateValidationService} against the full
+ * {@code kennzeichen.csv} data set, per input mix.
+ */
+@State(Scope.Thread)
+public class LicencePlateValidationBenchmark {
+
+    @Param({"separator", "compact", "special", "invalid", "ambiguous", "mixed"})
+    public String mix;
+
+    private LicencePlateValidationService validationService;
+    private String[] inputs;
+    private int next;
+
+    @Setup
+    public void setUp() {
+        validationService = BenchmarkData.validationService();
+        inputs = BenchmarkData.inputs(mix);
+    }
+
+    @Benchmark
+    public ValidationResult validate() {
+        return validationService.validate(nextInput());
+    }
+
+    @Benchmark
+    public Object validateLicencePlate() {
+        try {
+            LicencePlate licencePlate = validationService.validateLicencePlate(nextInput());
+            return licencePlate;
+        } catch (InvalidLicencePlateException | AmbiguousLicencePlateException ex) {
+            return ex;
+        }
+    }
+
+    private String nextInput() {
+        String input = inputs[next];
+        next = next + 1 == inputs.length ? 0 : next + 1;
+        return input;
+    }
+}
@@ -0,0 +1,97 @@
+package tomcom.licenceplatechecker;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import tomcom.licenceplatechecker.domain.licenceplate.Distinguisher;
+import tomcom.licenceplatechecker.domain.licenceplate.LicencePlate;
+import tomcom.licenceplatechecker.domain.licenceplate.validator.BundeswehrValidator;
+import tomcom.licenceplatechecker.domain.licenceplate.validator.CivilianPlateValidator;
+import tomcom.licenceplatechecker.domain.licenceplate.validator.FederalPoliceValidator;
+import tomcom.licenceplatechecker.domain.licenceplate.validator.NatoValidator;
+import tomcom.licenceplatechecker.domain.licenceplate.validator.RedPlateValidator;
+import tomcom.licenceplatechecker.domain.licenceplate.validator.SpecialPlateValidator;
+import tomcom.licenceplatechecker.domain.licenceplate.validator.ThwValidator;
+
+import java.util.Optional;
+
+/**
+ * Benchmarks each validator on its own with a mix of valid and invalid remaining parts.
+ */
+@State(Scope.Thread)
+public class ValidatorBenchmark {
+
+    private static final String[] CIVILIAN_PARTS = {"AB1234", "X1", "SS88", "06123", "AB12345", "ÄB1"};
+    private static final String[] RED_PARTS = {"06123", "071234", "051", "08123", "0612345"};
+    private static final String[] MILITARY_PARTS = {"1", "123456", "1234567", "12A"};
+    private static final String[] FEDERAL_POLICE_PARTS = {"151", "1599", "0650", "09123", "153456", "15AB1"};
+    private static final String[] THW_PARTS = {"8234", "85000", "0650", "7000", "800"};
+    private static final String[] SPECIAL_PARTS = {"123", "123456", "1234567", "12A"};
+
+    private final CivilianPlateValidator civilianPlateValidator = new CivilianPlateValidator();
+    private final RedPlateValidator redPlateValidator = new RedPlateValidator();
+    private final BundeswehrValidator bundeswehrValidator = new BundeswehrValidator();
+    private final NatoValidator natoValidator = new NatoValidator();
+    private final FederalPoliceValidator federalPoliceValidator = new FederalPoliceValidator();
+    private final ThwValidator thwValidator = new ThwValidator();
+    private final SpecialPlateValidator specialPlateValidator = new SpecialPlateValidator();
+
+    private Distinguisher civilian;
+    private Distinguisher bundeswehr;
+    private Distinguisher nato;
+    private Distinguisher federalPolice;
+    private Distinguisher thw;
+    private Distinguisher genericSpecial;
+    private int next;
+
+    @Setup
+    public void setUp() {
+        civilian = BenchmarkData.distinguisher("KA", false);
+        bundeswehr = BenchmarkData.distinguisher("Y", true);
+        nato = BenchmarkData.distinguisher("X", true);
+        federalPolice = BenchmarkData.distinguisher("BP", true);
+        thw = BenchmarkData.distinguisher("THW", true);
+        genericSpecial = BenchmarkData.distinguisher("NRW", true);
+    }
+
+    @Benchmark
+    public Optional<LicencePlate> civilian() {
+        return civilianPlateValidator.validate(civilian, next(CIVILIAN_PARTS), "");
+    }
+
+    @Benchmark
+    public Optional<LicencePlate> redPlate() {
+        return redPlateValidator.validate(civilian, next(RED_PARTS), "");
+    }
+
+    @Benchmark
+    public Optional<LicencePlate> bundeswehr() {
+        return bundeswehrValidator.validate(bundeswehr, next(MILITARY_PARTS), "");
+    }
+
+    @Benchmark
+    public Optional<LicencePlate> nato() {
+        return natoValidator.validate(nato, next(MILITARY_PARTS), "");
+    }
+
+    @Benchmark
+    public Optional<LicencePlate> federalPolice() {
+        return federalPoliceValidator.validate(federalPolice, next(FEDERAL_POLICE_PARTS), "");
+    }
+
+    @Benchmark
+    public Optional<LicencePlate> thw() {
+        return thwValidator.validate(thw, next(THW_PARTS), "");
+    }
+
+    @Benchmark
+    public Optional<LicencePlate> genericSpecial() {
+        return specialPlateValidator.validate(genericSpecial, next(SPECIAL_PARTS), "");
+    }
+
+    private String next(String[] parts) {
+        next++;
+        return parts[(next & Integer.MAX_VALUE) % parts.length];
+    }
+}
@@ -0,0 +1,129 @@
+package tomcom.licenceplatechecker;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import tomcom.licenceplatechecker.application.BatchValidationResult;
+import tomcom.licenceplatechecker.application.LicencePlatePresenter;
+import tomcom.licenceplatechecker.domain.licenceplate.ValidationResult;
+import tomcom.licenceplatechecker.domain.licenceplate.validator.LicencePlateValidationService;
+import tomcom.licenceplatechecker.rest.ValidationRequest;
+import tomcom.licenceplatechecker.rest.util.ApiResponse;
+import tomcom.licenceplatechecker.wire.WireClient;
+import tomcom.licenceplatechecker.wire.WireProtocol;
+import tomcom.licenceplatechecker.wire.WireResponse;
+import tomcom.licenceplatechecker.wire.WireServer;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Compares the per-plate codec cost of the REST path with the binary wire protocol.
+ * <p>
+ * Only {@code restCodec} and {@code wireCodec} are comparable: both decode the request, validate,
+ * encode the response and decode it on the client, all in process. Neither includes the network,
+ * and the REST side leaves out HTTP handling, so the gap they show is a lower bound.
+ * {@code wireRoundTrip} sends pipelined windows of requests to a {@link WireServer} over loopback;
+ * it has no REST counterpart here and is not to be compared with the codec benchmarks.
+ * </p>
+ */
+@State(Scope.Thread)
+public class WireProtocolBenchmark {
+
+    private static final int PIPELINE_DEPTH = 256;
+
+    @Param({"separator", "mixed"})
+    public String mix;
+
+    private LicencePlateValidationService validationService;
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private byte[][] jsonRequests;
+    private String[] inputs;
+    private final ByteBuffer requestBuffer = ByteBuffer.allocateDirect(64 * 1024);
+    private final ByteBuffer responseBuffer = ByteBuffer.allocateDirect(64 * 1024);
+    private final byte[] scratch = new byte[WireProtocol.MAX_REQUEST_LENGTH];
+    private WireServer server;
+    private WireClient client;
+    private List<String> window;
+    private int next;
+
+    @Setup
+    public void setUp() throws IOException {
+        validationService = BenchmarkData.validationService();
+        inputs = BenchmarkData.inputs(mix);
+        jsonRequests = new byte[inputs.length][];
+        for (int i = 0; i < inputs.length; i++) {
+            ValidationRequest request = new ValidationRequest();
+            request.licencePlate = inputs[i];
+            jsonRequests[i] = objectMapper.writeValueAsBytes(request);
+        }
+
+        List<String> window = new ArrayList<>(PIPELINE_DEPTH);
+        for (int i = 0; i < PIPELINE_DEPTH; i++)
+            window.add(inputs[i % inputs.length]);
+        this.window = window;
+
+        server = new WireServer(validationService, 0, 1);
+        server.start();
+        client = WireClient.connect("localhost", server.port());
+    }
+
+    @TearDown
+    public void tearDown() throws IOException {
+        client.close();
+        server.shutdown();
+    }
+
+    @Benchmark
+    public Object restCodec() throws IOException {
+        ValidationRequest request = objectMapper.readValue(jsonRequests[nextIndex()], ValidationRequest.class);
+        ValidationResult result = validationService.validate(request.licencePlate);
+        ApiResponse<?> response;
+        if (result instanceof ValidationResult.Valid valid)
+            response = ApiResponse.success(LicencePlatePresenter.present(valid.licencePlate()));
+        else if (result instanceof ValidationResult.Ambiguous ambiguous)
+            response = ApiResponse.error(ambiguous.errorCode().name(), ambiguous.message());
+        else
+            response = ApiResponse.error(((ValidationResult.Invalid) result).errorCode().name(), ((ValidationResult.Invalid) result).message());
+        byte[] body = objectMapper.writeValueAsBytes(response);
+        return objectMapper.readTree(body);
+    }
+
+    @Benchmark
+    public WireResponse wireCodec() {
+        int index = nextIndex();
+        WireProtocol.writeRequest(requestBuffer.clear(), index, inputs[index]);
+        requestBuffer.flip();
+
+        // What the server does per request
+        int length = Short.toUnsignedInt(requestBuffer.getShort());
+        int id = requestBuffer.getInt();
+        requestBuffer.get();
+        int inputLength = length - WireProtocol.HEADER_SIZE;
+        requestBuffer.get(scratch, 0, inputLength);
+        ValidationResult result = validationService.validate(new String(scratch, 0, inputLength, StandardCharsets.UTF_8));
+        WireProtocol.writeResult(responseBuffer.clear(), id, result);
+
+        return WireProtocol.readResponse(responseBuffer.flip());
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(PIPELINE_DEPTH)
+    public List<BatchValidationResult> wireRoundTrip() throws IOException {
+        return client.validateAll(window);
+    }
+
+    private int nextIndex() {
+        int index = next;
+        next = next + 1 == inputs.length ? 0 : next + 1;
+        return index;
+    }
+}
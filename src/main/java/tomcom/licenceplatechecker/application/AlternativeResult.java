@@ -0,0 +1,17 @@
+package tomcom.licenceplatechecker.application;
+
+import tomcom.licenceplatechecker.domain.licenceplate.ParsingAlternative;
+
+import java.util.List;
+
+/**
+ * A presented interpretation of an ambiguous licence plate.
+ */
+public record AlternativeResult(String licencePlate, double confidence) {
+
+    public static List<AlternativeResult> of(List<ParsingAlternative> alternatives) {
+        return alternatives.stream()
+            .map(alternative -> new AlternativeResult(LicencePlatePresenter.present(alternative.licencePlate()), alternative.confidence()))
+            .toList();
+    }
+}
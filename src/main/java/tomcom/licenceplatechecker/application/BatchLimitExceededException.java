@@ -0,0 +1,7 @@
+package tomcom.licenceplatechecker.application;
+
+public class BatchLimitExceededException extends RuntimeException {
+    public BatchLimitExceededException(String message) {
+        super(message);
+    }
+}
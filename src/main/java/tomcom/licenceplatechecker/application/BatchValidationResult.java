@@ -0,0 +1,35 @@
+package tomcom.licenceplatechecker.application;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import tomcom.licenceplatechecker.domain.licenceplate.ValidationErrorCode;
+import tomcom.licenceplatechecker.domain.licenceplate.ValidationResult;
+
+import java.util.List;
+
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public record BatchValidationResult(Status status, String result, ValidationErrorCode errorCode, String error,
+                                    List<AlternativeResult> alternatives) {
+
+    public static BatchValidationResult of(ValidationResult validationResult) {
+        if (validationResult instanceof ValidationResult.Valid valid)
+            return new BatchValidationResult(Status.VALID, LicencePlatePresenter.present(valid.licencePlate()), null, null, null);
+        if (validationResult instanceof ValidationResult.Ambiguous ambiguous)
+            return new BatchValidationResult(Status.AMBIGUOUS, null, ambiguous.errorCode(), ambiguous.message(), AlternativeResult.of(ambiguous.alternatives()));
+        ValidationResult.Invalid invalid = (ValidationResult.Invalid) validationResult;
+        return new BatchValidationResult(Status.INVALID, null, invalid.errorCode(), invalid.message(), null);
+    }
+
+    /**
+     * The input could not be validated because validation itself failed, not because of the input.
+     */
+    public static BatchValidationResult error(String message) {
+        return new BatchValidationResult(Status.ERROR, null, null, message, null);
+    }
+
+    public enum Status {
+        VALID,
+        AMBIGUOUS,
+        INVALID,
+        ERROR
+    }
+}
@@ -0,0 +1,58 @@
+package tomcom.licenceplatechecker.application;
+
+import tomcom.licenceplatechecker.domain.licenceplate.Distinguisher;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.util.function.Consumer;
+
+/**
+ * Streams the rows of a distinguisher CSV ({@code code;label;deprecated;special}) one by one,
+ * without reading the whole file into memory.
+ */
+public final class DistinguisherCsvReader {
+
+    private DistinguisherCsvReader() {}
+
+    /**
+     * Reads all rows and hands each parsed distinguisher to the consumer.
+     * An optional header line is skipped, as are blank and incomplete lines.
+     *
+     * @return the number of distinguishers read
+     */
+    public static int read(InputStream input, Consumer<Distinguisher> consumer) throws IOException {
+        try (BufferedReader reader = new BufferedReader(new InputStreamReader(input, StandardCharsets.UTF_8))) {
+            int count = 0;
+            boolean firstLine = true;
+            String line;
+            while ((line = reader.readLine()) != null) {
+                if (line.trim().isEmpty()) {
+                    continue;
+                }
+
+                String[] parts = line.split(";", -1);
+                boolean header = firstLine && (parts.length < 4 || !isBoolean(parts[2].trim()));
+                firstLine = false;
+                if (header || parts.length < 4) {
+                    continue;
+                }
+
+                Distinguisher distinguisher = new Distinguisher();
+                distinguisher.code = parts[0].trim();
+                distinguisher.label = parts[1].trim().replace("\"", "");
+                distinguisher.deprecated = Boolean.parseBoolean(parts[2].trim());
+                distinguisher.special = Boolean.parseBoolean(parts[3].trim());
+                consumer.accept(distinguisher);
+                count++;
+            }
+            return count;
+        }
+    }
+
+    private static boolean isBoolean(String value) {
+        return value.equalsIgnoreCase("true") || value.equalsIgnoreCase("false");
+    }
+}
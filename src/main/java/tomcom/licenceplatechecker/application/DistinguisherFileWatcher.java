@@ -0,0 +1,86 @@
+package tomcom.licenceplatechecker.application;
+
+import jakarta.annotation.PreDestroy;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import tomcom.licenceplatechecker.domain.licenceplate.DistinguisherDataset;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.FileTime;
+import java.time.Duration;
+import java.util.Objects;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Watches a distinguisher CSV on disk and reloads it through the {@link DistinguisherReloader}
+ * whenever it changes.
+ * <p>
+ * The file is polled, which also works on network and container mounts where file system
+ * events are unreliable. Watching starts once the application is ready, so an existing file
+ * takes precedence over the data loaded at startup.
+ * </p>
+ */
+@Component
+@ConditionalOnProperty(name = "licence-plate.distinguishers.watch-file")
+public class DistinguisherFileWatcher {
+
+    private final DistinguisherReloader distinguisherReloader;
+    private final Path file;
+    private final Duration interval;
+    private final ScheduledExecutorService scheduler;
+
+    private FileTime lastModified;
+    private long lastSize = -1;
+
+    public DistinguisherFileWatcher(DistinguisherReloader distinguisherReloader,
+                                    @Value("${licence-plate.distinguishers.watch-file}") Path file,
+                                    @Value("${licence-plate.distinguishers.watch-interval:10s}") Duration interval) {
+        this.distinguisherReloader = distinguisherReloader;
+        this.file = file;
+        this.interval = interval;
+        this.scheduler = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "distinguisher-file-watcher");
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void start() {
+        scheduler.scheduleWithFixedDelay(this::checkForChanges, 0, interval.toMillis(), TimeUnit.MILLISECONDS);
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        scheduler.shutdownNow();
+    }
+
+    private void checkForChanges() {
+        try {
+            if (!Files.isRegularFile(file))
+                return;
+
+            FileTime modified = Files.getLastModifiedTime(file);
+            long size = Files.size(file);
+            if (Objects.equals(modified, lastModified) && size == lastSize)
+                return;
+
+            lastModified = modified;
+            lastSize = size;
+            try (InputStream input = Files.newInputStream(file)) {
+                DistinguisherDataset dataset = distinguisherReloader.reload(input, file.toString());
+                System.out.println("Reloaded distinguishers: " + dataset.size() + " records from " + file + ", version " + dataset.version());
+            }
+        } catch (IOException | InvalidDistinguisherDataException ex) {
+            System.err.println("Reloading distinguishers from " + file + " failed: " + ex.getMessage());
+        }
+    }
+}
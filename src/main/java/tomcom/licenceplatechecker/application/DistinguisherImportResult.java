@@ -0,0 +1,6 @@
+package tomcom.licenceplatechecker.application;
+
+/**
+ * Outcome of a {@link DistinguisherImporter} run; rows that already existed count as read but not inserted.
+ */
+public record DistinguisherImportResult(int read, int inserted, long durationMillis) { }
@@ -0,0 +1,74 @@
+package tomcom.licenceplatechecker.application;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+import tomcom.licenceplatechecker.domain.licenceplate.Distinguisher;
+import tomcom.licenceplatechecker.domain.licenceplate.DistinguisherRepository;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Bulk import of distinguishers from CSV.
+ * <p>
+ * Rows are streamed and saved in chunks of {@code licence-plate.import.batch-size}, each chunk
+ * in one transaction, so Hibernate can send them as JDBC batches and take ids from the pooled
+ * sequence. Rows whose code, deprecated and special flags already exist are skipped, which makes
+ * the import safe to run again.
+ * </p>
+ */
+@Component
+@ConditionalOnProperty(name = "licence-plate.distinguishers.source", havingValue = "database")
+public class DistinguisherImporter {
+
+    private final DistinguisherRepository distinguisherRepository;
+    private final int batchSize;
+
+    public DistinguisherImporter(DistinguisherRepository distinguisherRepository,
+                                 @Value("${licence-plate.import.batch-size:100}") int batchSize) {
+        if (batchSize < 1)
+            throw new IllegalArgumentException("licence-plate.import.batch-size muss mindestens 1 sein");
+        this.distinguisherRepository = distinguisherRepository;
+        this.batchSize = batchSize;
+    }
+
+    public DistinguisherImportResult importDistinguishers(InputStream csv) throws IOException {
+        long start = System.nanoTime();
+
+        Set<String> existingKeys = new HashSet<>();
+        for (Distinguisher distinguisher : distinguisherRepository.findAll())
+            existingKeys.add(key(distinguisher));
+
+        List<Distinguisher> batch = new ArrayList<>(batchSize);
+        int[] inserted = new int[1];
+        int read = DistinguisherCsvReader.read(csv, distinguisher -> {
+            if (!existingKeys.add(key(distinguisher)))
+                return;
+            batch.add(distinguisher);
+            if (batch.size() == batchSize) {
+                inserted[0] += saveBatch(batch);
+            }
+        });
+        inserted[0] += saveBatch(batch);
+
+        return new DistinguisherImportResult(read, inserted[0], (System.nanoTime() - start) / 1_000_000);
+    }
+
+    private int saveBatch(List<Distinguisher> batch) {
+        if (batch.isEmpty())
+            return 0;
+        distinguisherRepository.saveAll(batch);
+        int saved = batch.size();
+        batch.clear();
+        return saved;
+    }
+
+    private static String key(Distinguisher distinguisher) {
+        return distinguisher.code + ';' + Boolean.TRUE.equals(distinguisher.deprecated) + ';' + Boolean.TRUE.equals(distinguisher.special);
+    }
+}
@@ -0,0 +1,74 @@
+package tomcom.licenceplatechecker.application;
+
+import org.springframework.stereotype.Component;
+import tomcom.licenceplatechecker.domain.licenceplate.Distinguisher;
+import tomcom.licenceplatechecker.domain.licenceplate.DistinguisherCatalog;
+import tomcom.licenceplatechecker.domain.licenceplate.DistinguisherDataset;
+import tomcom.licenceplatechecker.domain.licenceplate.DistinguisherIndex;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Replaces the distinguisher data set at runtime from a new CSV version.
+ * <p>
+ * The CSV is parsed and validated and the new index is built on the calling thread; only the
+ * finished index is swapped into the {@link DistinguisherCatalog}. Validations in flight keep
+ * the index they started with, so a reload neither pauses nor fails requests. Invalid data
+ * leaves the current data set untouched. The reloaded data is not written to the database.
+ * </p>
+ */
+@Component
+public class DistinguisherReloader {
+
+    private final DistinguisherCatalog distinguisherCatalog;
+    private final ReentrantLock reloadLock = new ReentrantLock();
+
+    public DistinguisherReloader(DistinguisherCatalog distinguisherCatalog) {
+        this.distinguisherCatalog = distinguisherCatalog;
+    }
+
+    /**
+     * @throws InvalidDistinguisherDataException if the CSV is empty or contains invalid or conflicting rows
+     */
+    public DistinguisherDataset reload(InputStream csv, String source) throws IOException {
+        // A lock instead of synchronized, so a virtual thread reading the upload does not pin its carrier
+        reloadLock.lock();
+        try {
+            List<Distinguisher> distinguishers = new ArrayList<>();
+            DistinguisherCsvReader.read(csv, distinguishers::add);
+            validate(distinguishers);
+
+            DistinguisherIndex index;
+            try {
+                index = DistinguisherIndex.of(distinguishers);
+            } catch (IllegalArgumentException ex) {
+                throw new InvalidDistinguisherDataException(ex.getMessage());
+            }
+            return distinguisherCatalog.replace(index, source);
+        } finally {
+            reloadLock.unlock();
+        }
+    }
+
+    private void validate(List<Distinguisher> distinguishers) {
+        if (distinguishers.isEmpty())
+            throw new InvalidDistinguisherDataException("Keine Unterscheidungszeichen gefunden");
+
+        Map<String, String> labelsByKey = new HashMap<>();
+        for (Distinguisher distinguisher : distinguishers) {
+            if (distinguisher.label.isEmpty())
+                throw new InvalidDistinguisherDataException(String.format("Unterscheidungszeichen %s hat keine Bezeichnung", distinguisher.code));
+
+            String key = distinguisher.code + ';' + distinguisher.deprecated + ';' + distinguisher.special;
+            String previousLabel = labelsByKey.putIfAbsent(key, distinguisher.label);
+            if (previousLabel != null && !previousLabel.equals(distinguisher.label))
+                throw new InvalidDistinguisherDataException(String.format("Unterscheidungszeichen %s ist mehrfach vorhanden", distinguisher.code));
+        }
+    }
+}
@@ -0,0 +1,41 @@
+package tomcom.licenceplatechecker.application;
+
+import tomcom.licenceplatechecker.domain.licenceplate.Distinguisher;
+import tomcom.licenceplatechecker.domain.licenceplate.DistinguisherIndex;
+import tomcom.licenceplatechecker.domain.licenceplate.DistinguisherSnapshot;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Build-time tool that compiles {@code kennzeichen.csv} into a {@link DistinguisherSnapshot}.
+ * Run by the {@code distinguisherSnapshot} Gradle task; usage: {@code <csv> <snapshot>}.
+ */
+public final class DistinguisherSnapshotCompiler {
+
+    private DistinguisherSnapshotCompiler() {}
+
+    public static void main(String[] args) throws IOException {
+        if (args.length != 2)
+            throw new IllegalArgumentException("Usage: DistinguisherSnapshotCompiler <csv> <snapshot>");
+
+        List<Distinguisher> distinguishers = new ArrayList<>();
+        try (InputStream input = Files.newInputStream(Path.of(args[0]))) {
+            DistinguisherCsvReader.read(input, distinguishers::add);
+        }
+        // Fail the build on codes the index would reject at startup
+        DistinguisherIndex.of(distinguishers);
+
+        Path snapshot = Path.of(args[1]);
+        Files.createDirectories(snapshot.toAbsolutePath().getParent());
+        try (OutputStream output = Files.newOutputStream(snapshot)) {
+            DistinguisherSnapshot.write(distinguishers, output);
+        }
+        System.out.println("Compiled " + distinguishers.size() + " distinguishers into " + snapshot + " (" + Files.size(snapshot) + " bytes)");
+    }
+}
@@ -0,0 +1,61 @@
+package tomcom.licenceplatechecker.application;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.core.io.Resource;
+import org.springframework.stereotype.Component;
+import tomcom.licenceplatechecker.domain.licenceplate.DistinguisherCatalog;
+import tomcom.licenceplatechecker.domain.licenceplate.DistinguisherIndex;
+import tomcom.licenceplatechecker.domain.licenceplate.DistinguisherSnapshot;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * Loads the distinguishers from the precompiled binary snapshot straight into the
+ * {@link DistinguisherCatalog}, without touching the database.
+ * <p>
+ * Snapshot files on disk are memory-mapped; the snapshot bundled in the jar is read in one go.
+ * </p>
+ */
+@Component
+@ConditionalOnProperty(name = "licence-plate.distinguishers.source", havingValue = "snapshot", matchIfMissing = true)
+public class DistinguisherSnapshotLoader implements ApplicationRunner {
+
+    private final DistinguisherCatalog distinguisherCatalog;
+    private final Resource snapshot;
+
+    public DistinguisherSnapshotLoader(DistinguisherCatalog distinguisherCatalog,
+                                       @Value("${licence-plate.distinguishers.snapshot:classpath:distinguishers.bin}") Resource snapshot) {
+        this.distinguisherCatalog = distinguisherCatalog;
+        this.snapshot = snapshot;
+    }
+
+    @Override
+    public void run(ApplicationArguments args) throws Exception {
+        long start = System.nanoTime();
+        DistinguisherIndex index = DistinguisherIndex.of(DistinguisherSnapshot.read(readSnapshot()));
+        distinguisherCatalog.replace(index, "snapshot");
+        System.out.println("Loading distinguishers: " + index.size() + " records from snapshot in "
+            + (System.nanoTime() - start) / 1_000_000 + " ms - Complete!");
+    }
+
+    private ByteBuffer readSnapshot() throws IOException {
+        if (!snapshot.exists())
+            throw new IllegalStateException("Unterscheidungszeichen-Snapshot " + snapshot.getDescription() + " nicht gefunden");
+
+        if (snapshot.isFile()) {
+            try (FileChannel channel = FileChannel.open(snapshot.getFile().toPath(), StandardOpenOption.READ)) {
+                return channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+            }
+        }
+        try (InputStream input = snapshot.getInputStream()) {
+            return ByteBuffer.wrap(input.readAllBytes());
+        }
+    }
+}
@@ -0,0 +1,17 @@
+package tomcom.licenceplatechecker.application;
+
+import tomcom.licenceplatechecker.domain.licenceplate.FuzzyMatch;
+
+import java.util.List;
+
+/**
+ * A presented plate found by fuzzy validation.
+ */
+public record FuzzyMatchResult(String licencePlate, int substitutions) {
+
+    public static List<FuzzyMatchResult> of(List<FuzzyMatch> matches) {
+        return matches.stream()
+            .map(match -> new FuzzyMatchResult(LicencePlatePresenter.present(match.licencePlate()), match.substitutions()))
+            .toList();
+    }
+}
@@ -0,0 +1,7 @@
+package tomcom.licenceplatechecker.application;
+
+public class InvalidDistinguisherDataException extends RuntimeException {
+    public InvalidDistinguisherDataException(String message) {
+        super(message);
+    }
+}
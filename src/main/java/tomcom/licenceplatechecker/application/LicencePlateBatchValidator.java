@@ -0,0 +1,49 @@
+package tomcom.licenceplatechecker.application;
+
+import jakarta.annotation.PreDestroy;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import tomcom.licenceplatechecker.domain.licenceplate.validator.LicencePlateValidationService;
+
+import java.util.List;
+
+/**
+ * Validates many licence plates in one call.
+ * <p>
+ * Plates are validated in parallel by an {@link OrderedParallelMapper}; results are
+ * returned in input order, one {@link BatchValidationResult} per plate.
+ * </p>
+ */
+@Component
+public class LicencePlateBatchValidator {
+
+    private final LicencePlateValidationService licencePlateValidationService;
+    private final int maxBatchSize;
+    private final OrderedParallelMapper validationMapper;
+
+    public LicencePlateBatchValidator(LicencePlateValidationService licencePlateValidationService,
+                                      @Value("${licence-plate.batch.max-size:10000}") int maxBatchSize,
+                                      @Value("${licence-plate.batch.parallelism:0}") int parallelism) {
+        this.licencePlateValidationService = licencePlateValidationService;
+        this.maxBatchSize = maxBatchSize;
+        this.validationMapper = new OrderedParallelMapper(parallelism);
+    }
+
+    public List<BatchValidationResult> validate(List<String> licencePlates) {
+        if (licencePlates == null || licencePlates.isEmpty())
+            return List.of();
+        if (licencePlates.size() > maxBatchSize)
+            throw new BatchLimitExceededException(String.format("Maximal %d Kennzeichen pro Anfrage erlaubt", maxBatchSize));
+
+        return validationMapper.map(licencePlates, this::validateSingle);
+    }
+
+    private BatchValidationResult validateSingle(String licencePlate) {
+        return BatchValidationResult.of(licencePlateValidationService.validate(licencePlate));
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        validationMapper.shutdown();
+    }
+}
@@ -0,0 +1,18 @@
+package tomcom.licenceplatechecker.application;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import tomcom.licenceplatechecker.domain.licenceplate.PlateCategory;
+import tomcom.licenceplatechecker.domain.licenceplate.validator.FederalPoliceValidator;
+
+/**
+ * A validated licence plate broken down into its parts, with the distinguisher data clients
+ * would otherwise look up separately. Parts a plate does not have are omitted.
+ *
+ * @param licencePlate   the presented plate, as {@link LicencePlatePresenter#present} returns it
+ * @param redPlatePrefix "05", "06" or "07" for red plates
+ * @param vehicleType    vehicle type encoded in Federal Police (BP) numbers
+ */
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public record LicencePlateDetails(String licencePlate, String code, String label, String identifier, String number,
+                                  String modifier, PlateCategory category, String redPlatePrefix,
+                                  FederalPoliceValidator.VehicleType vehicleType, boolean deprecated) { }
@@ -1,9 +1,42 @@
 package tomcom.licenceplatechecker.application;
 
 import tomcom.licenceplatechecker.domain.licenceplate.LicencePlate;
+import tomcom.licenceplatechecker.domain.licenceplate.PackedLicencePlate;
+import tomcom.licenceplatechecker.domain.licenceplate.PlateCategory;
+import tomcom.licenceplatechecker.domain.licenceplate.validator.FederalPoliceValidator;
 
 public class LicencePlatePresenter {
+    private static final FederalPoliceValidator FEDERAL_POLICE_VALIDATOR = new FederalPoliceValidator();
+    private static final int RED_PLATE_PREFIX_LENGTH = 2;
+
     public static String present(LicencePlate validLicencePlate) {
         return validLicencePlate.toString();
     }
+
+    public static String present(long packedLicencePlate) {
+        return PackedLicencePlate.toString(packedLicencePlate);
+    }
+
+    /**
+     * Breaks the plate down into its parts, together with the data of its distinguisher.
+     */
+    public static LicencePlateDetails details(LicencePlate validLicencePlate) {
+        PlateCategory category = PlateCategory.of(validLicencePlate);
+        String number = validLicencePlate.number;
+        return new LicencePlateDetails(
+            present(validLicencePlate),
+            validLicencePlate.distinguisher.code,
+            validLicencePlate.distinguisher.label,
+            emptyToNull(validLicencePlate.identifier),
+            emptyToNull(number),
+            emptyToNull(validLicencePlate.modifier),
+            category,
+            category == PlateCategory.RED ? number.substring(0, RED_PLATE_PREFIX_LENGTH) : null,
+            category == PlateCategory.FEDERAL_POLICE ? FEDERAL_POLICE_VALIDATOR.getVehicleType(number).orElse(null) : null,
+            Boolean.TRUE.equals(validLicencePlate.distinguisher.deprecated));
+    }
+
+    private static String emptyToNull(String part) {
+        return part.isEmpty() ? null : part;
+    }
 }
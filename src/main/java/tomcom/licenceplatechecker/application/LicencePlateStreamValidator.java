@@ -0,0 +1,132 @@
+package tomcom.licenceplatechecker.application;
+
+import com.fasterxml.jackson.core.JsonEncoding;
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.stereotype.Component;
+import tomcom.licenceplatechecker.domain.licenceplate.ParsingAlternative;
+import tomcom.licenceplatechecker.domain.licenceplate.ValidationErrorCode;
+import tomcom.licenceplatechecker.domain.licenceplate.ValidationResult;
+import tomcom.licenceplatechecker.domain.licenceplate.validator.LicencePlateValidationService;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.util.List;
+
+/**
+ * Validates an unbounded newline-delimited JSON feed of licence plates.
+ * <p>
+ * Each input line is either a JSON string or an object with a {@code licencePlate} field.
+ * For every entry one result line is written as soon as it is validated. Input and output
+ * are processed with Jackson's streaming API, so memory use does not grow with the size
+ * of the feed; blocking reads and writes provide backpressure towards the client.
+ * </p>
+ */
+@Component
+public class LicencePlateStreamValidator {
+
+    private static final String LICENCE_PLATE_FIELD = "licencePlate";
+    private static final int FLUSH_INTERVAL = 64;
+
+    private final LicencePlateValidationService licencePlateValidationService;
+    private final JsonFactory jsonFactory;
+
+    public LicencePlateStreamValidator(LicencePlateValidationService licencePlateValidationService, ObjectMapper objectMapper) {
+        this.licencePlateValidationService = licencePlateValidationService;
+        this.jsonFactory = objectMapper.getFactory();
+    }
+
+    public void validate(InputStream input, OutputStream output) throws IOException {
+        try (JsonParser parser = jsonFactory.createParser(input);
+             JsonGenerator generator = jsonFactory.createGenerator(output, JsonEncoding.UTF8)) {
+            generator.setRootValueSeparator(null);
+
+            int unflushed = 0;
+            while (true) {
+                String licencePlate;
+                try {
+                    JsonToken token = parser.nextToken();
+                    if (token == null)
+                        break;
+                    licencePlate = readLicencePlate(parser, token);
+                } catch (JsonProcessingException ex) {
+                    // The feed cannot be resynchronised after malformed JSON, so report and stop
+                    writeResult(generator, null, BatchValidationResult.Status.INVALID, null, ValidationErrorCode.INVALID_FORMAT, "Ungültige Eingabe", List.of());
+                    break;
+                }
+
+                validateAndWrite(generator, licencePlate);
+                if (++unflushed >= FLUSH_INTERVAL || input.available() == 0) {
+                    generator.flush();
+                    unflushed = 0;
+                }
+            }
+            generator.flush();
+        }
+    }
+
+    private String readLicencePlate(JsonParser parser, JsonToken token) throws IOException {
+        if (token == JsonToken.VALUE_STRING)
+            return parser.getText();
+        if (token != JsonToken.START_OBJECT) {
+            parser.skipChildren();
+            return null;
+        }
+
+        String licencePlate = null;
+        while (parser.nextToken() == JsonToken.FIELD_NAME) {
+            String fieldName = parser.currentName();
+            JsonToken valueToken = parser.nextToken();
+            if (LICENCE_PLATE_FIELD.equals(fieldName) && valueToken == JsonToken.VALUE_STRING)
+                licencePlate = parser.getText();
+            else
+                parser.skipChildren();
+        }
+        return licencePlate;
+    }
+
+    private void validateAndWrite(JsonGenerator generator, String licencePlate) throws IOException {
+        ValidationResult validationResult = licencePlateValidationService.validate(licencePlate);
+        if (validationResult instanceof ValidationResult.Valid valid) {
+            String presentedPlate = LicencePlatePresenter.present(valid.licencePlate());
+            writeResult(generator, licencePlate, BatchValidationResult.Status.VALID, presentedPlate, null, null, List.of());
+        } else if (validationResult instanceof ValidationResult.Ambiguous ambiguous) {
+            writeResult(generator, licencePlate, BatchValidationResult.Status.AMBIGUOUS, null, ambiguous.errorCode(), ambiguous.message(), ambiguous.alternatives());
+        } else {
+            ValidationResult.Invalid invalid = (ValidationResult.Invalid) validationResult;
+            writeResult(generator, licencePlate, BatchValidationResult.Status.INVALID, null, invalid.errorCode(), invalid.message(), List.of());
+        }
+    }
+
+    private void writeResult(JsonGenerator generator, String licencePlate, BatchValidationResult.Status status,
+                             String result, ValidationErrorCode errorCode, String error,
+                             List<ParsingAlternative> alternatives) throws IOException {
+        generator.writeStartObject();
+        if (licencePlate != null)
+            generator.writeStringField(LICENCE_PLATE_FIELD, licencePlate);
+        generator.writeStringField("status", status.name());
+        if (result != null)
+            generator.writeStringField("result", result);
+        if (errorCode != null)
+            generator.writeStringField("errorCode", errorCode.name());
+        if (error != null)
+            generator.writeStringField("error", error);
+        if (!alternatives.isEmpty()) {
+            generator.writeArrayFieldStart("alternatives");
+            for (ParsingAlternative alternative : alternatives) {
+                generator.writeStartObject();
+                generator.writeStringField(LICENCE_PLATE_FIELD, LicencePlatePresenter.present(alternative.licencePlate()));
+                generator.writeNumberField("confidence", alternative.confidence());
+                generator.writeEndObject();
+            }
+            generator.writeEndArray();
+        }
+        generator.writeEndObject();
+        generator.writeRaw('\n');
+    }
+}
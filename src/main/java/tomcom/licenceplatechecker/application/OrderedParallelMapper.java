@@ -0,0 +1,48 @@
+package tomcom.licenceplatechecker.application;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.function.Function;
+import java.util.stream.IntStream;
+
+/**
+ * Maps a list in parallel on a dedicated {@link ForkJoinPool} of fixed size, keeping the input
+ * order. Short lists are mapped on the calling thread, as splitting them costs more than it saves.
+ */
+public class OrderedParallelMapper {
+
+    static final int SEQUENTIAL_THRESHOLD = 64;
+
+    private final ForkJoinPool pool;
+
+    /**
+     * @param parallelism worker threads, 0 for the number of available processors
+     */
+    public OrderedParallelMapper(int parallelism) {
+        this.pool = new ForkJoinPool(parallelism > 0 ? parallelism : Runtime.getRuntime().availableProcessors());
+    }
+
+    /**
+     * Applies the function to every element; a failure of any element is rethrown to the caller.
+     */
+    public <T, R> List<R> map(List<T> items, Function<? super T, ? extends R> function) {
+        Object[] results = new Object[items.size()];
+        if (results.length < SEQUENTIAL_THRESHOLD) {
+            for (int i = 0; i < results.length; i++)
+                results[i] = function.apply(items.get(i));
+        } else {
+            pool.submit(() -> IntStream.range(0, results.length)
+                .parallel()
+                .forEach(i -> results[i] = function.apply(items.get(i))))
+                .join();
+        }
+        @SuppressWarnings("unchecked")
+        List<R> mapped = (List<R>) Arrays.asList(results);
+        return mapped;
+    }
+
+    public void shutdown() {
+        pool.shutdown();
+    }
+}
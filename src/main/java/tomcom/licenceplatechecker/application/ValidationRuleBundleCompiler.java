@@ -0,0 +1,44 @@
+package tomcom.licenceplatechecker.application;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import tomcom.licenceplatechecker.domain.licenceplate.Distinguisher;
+import tomcom.licenceplatechecker.domain.licenceplate.DistinguisherIndex;
+import tomcom.licenceplatechecker.domain.licenceplate.validator.ForbiddenCombinations;
+import tomcom.licenceplatechecker.domain.licenceplate.validator.ValidationRuleBundle;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Build-time tool that writes the {@link ValidationRuleBundle} for the frontend, from
+ * {@code kennzeichen.csv}, the forbidden combinations and the validators.
+ * Run by the {@code validationRuleBundle} Gradle task; usage: {@code <csv> <forbidden-combinations> <bundle>}.
+ */
+public final class ValidationRuleBundleCompiler {
+
+    private ValidationRuleBundleCompiler() {}
+
+    public static void main(String[] args) throws IOException {
+        if (args.length != 3)
+            throw new IllegalArgumentException("Usage: ValidationRuleBundleCompiler <csv> <forbidden-combinations> <bundle>");
+
+        List<Distinguisher> distinguishers = new ArrayList<>();
+        try (InputStream input = Files.newInputStream(Path.of(args[0]))) {
+            DistinguisherCsvReader.read(input, distinguishers::add);
+        }
+        ForbiddenCombinations forbiddenCombinations;
+        try (InputStream input = Files.newInputStream(Path.of(args[1]))) {
+            forbiddenCombinations = ForbiddenCombinations.read(input);
+        }
+
+        ValidationRuleBundle bundle = ValidationRuleBundle.of(DistinguisherIndex.of(distinguishers), forbiddenCombinations);
+        Path output = Path.of(args[2]);
+        Files.createDirectories(output.toAbsolutePath().getParent());
+        Files.write(output, new ObjectMapper().writeValueAsBytes(bundle));
+        System.out.println("Compiled " + distinguishers.size() + " distinguishers into " + output + " (" + Files.size(output) + " bytes)");
+    }
+}
@@ -0,0 +1,193 @@
+package tomcom.licenceplatechecker.application.pipeline;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Reads plates from a newline-delimited file that other processes append to, like a topic
+ * partition on disk.
+ * <p>
+ * The offset of a read is its line number. Committed offsets are stored next to the input in
+ * {@code <input>.offset} together with the byte position of the line, so a restarted pipeline
+ * continues after the last committed line without rescanning the file. Only complete lines are
+ * read; a line still being written is picked up on a later poll.
+ * </p>
+ */
+@Component
+@ConditionalOnProperty(name = "licence-plate.pipeline.transport", havingValue = "file")
+public class FilePlateReadSource implements PlateReadSource {
+
+    private static final int CHUNK_SIZE = 64 * 1024;
+    private static final long IDLE_WAIT_MILLIS = 20;
+
+    private final Path file;
+    private final Path offsetFile;
+    private final PlateEventCodec codec;
+
+    private FileChannel channel;
+    private ByteBuffer buffer = ByteBuffer.allocate(CHUNK_SIZE);
+    private long position;
+    private long nextOffset;
+    private long committedOffset;
+    private long committedPosition;
+    // End positions of the lines read since the last commit, indexed from committedOffset
+    private long[] pendingPositions = new long[256];
+    private long countedPosition;
+    private long countedLines;
+
+    public FilePlateReadSource(ObjectMapper objectMapper, @Value("${licence-plate.pipeline.input}") Path file) {
+        this.file = file;
+        this.offsetFile = file.resolveSibling(file.getFileName() + ".offset");
+        this.codec = new PlateEventCodec(objectMapper.getFactory());
+        try {
+            readCommittedOffset();
+        } catch (IOException ex) {
+            throw new UncheckedIOException(ex);
+        }
+    }
+
+    @Override
+    public List<PlateRead> poll(int maxReads, Duration timeout) throws IOException, InterruptedException {
+        long deadline = System.nanoTime() + timeout.toNanos();
+        List<PlateRead> reads = new ArrayList<>();
+        while (true) {
+            readLines(maxReads, reads);
+            long remaining = deadline - System.nanoTime();
+            if (!reads.isEmpty() || remaining <= 0)
+                return reads;
+            Thread.sleep(Math.min(IDLE_WAIT_MILLIS, Math.max(1, remaining / 1_000_000)));
+        }
+    }
+
+    @Override
+    public synchronized void commit(long nextOffset) throws IOException {
+        if (nextOffset <= committedOffset)
+            return;
+        int committed = (int) (nextOffset - committedOffset);
+        if (nextOffset > this.nextOffset)
+            throw new IllegalArgumentException(String.format("Offset %d wurde noch nicht gelesen", nextOffset));
+
+        long committedPosition = pendingPositions[committed - 1];
+        Path temporary = offsetFile.resolveSibling(offsetFile.getFileName() + ".tmp");
+        Files.writeString(temporary, nextOffset + " " + committedPosition + "\n", StandardCharsets.US_ASCII);
+        Files.move(temporary, offsetFile, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+
+        int pending = (int) (this.nextOffset - nextOffset);
+        System.arraycopy(pendingPositions, committed, pendingPositions, 0, pending);
+        committedOffset = nextOffset;
+        this.committedPosition = committedPosition;
+    }
+
+    @Override
+    public synchronized void rewind() {
+        position = committedPosition;
+        nextOffset = committedOffset;
+    }
+
+    /**
+     * Lines in the file that are not committed yet. Only the part of the file appended since the
+     * last call is scanned.
+     */
+    @Override
+    public synchronized long lag() {
+        try {
+            if (!ensureOpen())
+                return 0;
+            ByteBuffer scan = ByteBuffer.allocate(CHUNK_SIZE);
+            int read;
+            while ((read = channel.read(scan.clear(), countedPosition)) > 0) {
+                for (int i = 0; i < read; i++) {
+                    if (scan.get(i) == '\n')
+                        countedLines++;
+                }
+                countedPosition += read;
+            }
+            return Math.max(0, countedLines - committedOffset);
+        } catch (IOException ex) {
+            return 0;
+        }
+    }
+
+    @Override
+    public synchronized void close() throws IOException {
+        if (channel != null)
+            channel.close();
+    }
+
+    private synchronized void readLines(int maxReads, List<PlateRead> reads) throws IOException {
+        if (!ensureOpen())
+            return;
+        while (reads.size() < maxReads) {
+            int read = channel.read(buffer.clear(), position);
+            if (read <= 0)
+                return;
+
+            int lineStart = 0;
+            for (int i = 0; i < read && reads.size() < maxReads; i++) {
+                if (buffer.get(i) != '\n')
+                    continue;
+                int lineEnd = i > lineStart && buffer.get(i - 1) == '\r' ? i - 1 : i;
+                String line = new String(buffer.array(), lineStart, lineEnd - lineStart, StandardCharsets.UTF_8).strip();
+                addPending(position + i + 1);
+                if (!line.isEmpty())
+                    reads.add(codec.readLine(nextOffset - 1, line));
+                lineStart = i + 1;
+            }
+
+            if (lineStart == 0) {
+                // Either a line longer than the buffer or an incomplete last line
+                if (read < buffer.capacity())
+                    return;
+                buffer = ByteBuffer.allocate(buffer.capacity() * 2);
+                continue;
+            }
+            position += lineStart;
+        }
+    }
+
+    private void addPending(long endPosition) {
+        int index = (int) (nextOffset - committedOffset);
+        if (index == pendingPositions.length)
+            pendingPositions = Arrays.copyOf(pendingPositions, index * 2);
+        pendingPositions[index] = endPosition;
+        nextOffset++;
+    }
+
+    private boolean ensureOpen() throws IOException {
+        if (channel == null && Files.isRegularFile(file))
+            channel = FileChannel.open(file, StandardOpenOption.READ);
+        return channel != null;
+    }
+
+    private void readCommittedOffset() throws IOException {
+        if (!Files.isRegularFile(offsetFile))
+            return;
+        String[] parts = Files.readString(offsetFile, StandardCharsets.US_ASCII).strip().split(" ");
+        try {
+            committedOffset = Long.parseLong(parts[0]);
+            committedPosition = Long.parseLong(parts[1]);
+        } catch (NumberFormatException | ArrayIndexOutOfBoundsException ex) {
+            throw new IllegalStateException(String.format("Ungültige Offset-Datei %s", offsetFile), ex);
+        }
+        position = committedPosition;
+        nextOffset = committedOffset;
+        countedPosition = position;
+        countedLines = committedOffset;
+    }
+}
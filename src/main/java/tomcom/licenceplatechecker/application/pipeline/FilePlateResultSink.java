@@ -0,0 +1,76 @@
+package tomcom.licenceplatechecker.application.pipeline;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.List;
+
+/**
+ * Appends validated reads as newline-delimited JSON to a file.
+ * <p>
+ * Every batch is written with a single write and forced to disk before {@link #publish(List)}
+ * returns. A failed write is cut off again where possible, so a retry does not follow a partial line.
+ * Each result carries the offset of its read, so consumers can drop the duplicates that
+ * at-least-once delivery produces after a crash.
+ * </p>
+ */
+@Component
+@ConditionalOnProperty(name = "licence-plate.pipeline.transport", havingValue = "file")
+public class FilePlateResultSink implements PlateResultSink {
+
+    private final Path file;
+    private final PlateEventCodec codec;
+    private FileChannel channel;
+
+    public FilePlateResultSink(ObjectMapper objectMapper, @Value("${licence-plate.pipeline.output}") Path file) {
+        this.file = file;
+        this.codec = new PlateEventCodec(objectMapper.getFactory());
+    }
+
+    @Override
+    public synchronized void publish(List<PlateValidationEvent> events) throws IOException {
+        ByteArrayOutputStream output = new ByteArrayOutputStream(events.size() * 128);
+        codec.write(events, output);
+
+        if (channel == null)
+            channel = FileChannel.open(file, StandardOpenOption.CREATE, StandardOpenOption.WRITE, StandardOpenOption.APPEND);
+        long size = channel.size();
+        try {
+            ByteBuffer bytes = ByteBuffer.wrap(output.toByteArray());
+            while (bytes.hasRemaining())
+                channel.write(bytes);
+            channel.force(false);
+        } catch (IOException ex) {
+            truncate(size);
+            throw ex;
+        }
+    }
+
+    @Override
+    public synchronized void close() throws IOException {
+        if (channel != null)
+            channel.close();
+    }
+
+    private void truncate(long size) {
+        try {
+            channel.truncate(size);
+        } catch (IOException ex) {
+            // The channel is unusable; reopen it on the next attempt
+            try {
+                channel.close();
+            } catch (IOException ignored) {
+                // already reported by the failed write
+            }
+            channel = null;
+        }
+    }
+}
@@ -0,0 +1,169 @@
+package tomcom.licenceplatechecker.application.pipeline;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.time.Duration;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Stand-in for a message broker when running locally or in tests: reads are sent to an
+ * in-memory log and results are collected in an in-memory queue.
+ * <p>
+ * The log keeps every read until it is committed and holds at most {@code capacity} of them;
+ * {@link #send(String, String, long)} blocks while it is full, and publishing fails after a while
+ * when nobody takes the results, which gives producers the backpressure a broker would.
+ * {@link #rewind()} delivers all uncommitted reads again, as a broker does for a new consumer.
+ * </p>
+ */
+@Component
+@ConditionalOnProperty(name = "licence-plate.pipeline.transport", havingValue = "queue")
+public class InProcessPlateBroker implements PlateReadSource, PlateResultSink {
+
+    private static final long PUBLISH_TIMEOUT_SECONDS = 1;
+
+    private final ReentrantLock lock = new ReentrantLock();
+    private final Condition readsAvailable = lock.newCondition();
+    private final Condition logNotFull = lock.newCondition();
+    private final Condition resultsAvailable = lock.newCondition();
+    private final Condition resultsNotFull = lock.newCondition();
+
+    private final PlateRead[] log;
+    private final ArrayDeque<PlateValidationEvent> results = new ArrayDeque<>();
+    private long committedOffset;
+    private long deliveredOffset;
+    private long nextOffset;
+
+    public InProcessPlateBroker(@Value("${licence-plate.pipeline.queue-capacity:10000}") int capacity) {
+        this.log = new PlateRead[capacity];
+    }
+
+    /**
+     * Appends a read to the log, waiting while the log is full.
+     *
+     * @return the offset of the read
+     */
+    public long send(String camera, String licencePlate, long capturedAt) throws InterruptedException {
+        lock.lockInterruptibly();
+        try {
+            while (nextOffset - committedOffset == log.length)
+                logNotFull.await();
+            long offset = nextOffset++;
+            log[slot(offset)] = new PlateRead(offset, camera, licencePlate, capturedAt);
+            readsAvailable.signal();
+            return offset;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Takes up to {@code maxResults} published results, waiting at most {@code timeout} for the first.
+     */
+    public List<PlateValidationEvent> receive(int maxResults, Duration timeout) throws InterruptedException {
+        long nanos = timeout.toNanos();
+        lock.lockInterruptibly();
+        try {
+            while (results.isEmpty()) {
+                if (nanos <= 0)
+                    return List.of();
+                nanos = resultsAvailable.awaitNanos(nanos);
+            }
+            List<PlateValidationEvent> received = new ArrayList<>(Math.min(maxResults, results.size()));
+            while (received.size() < maxResults && !results.isEmpty())
+                received.add(results.poll());
+            resultsNotFull.signalAll();
+            return received;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    @Override
+    public void rewind() {
+        lock.lock();
+        try {
+            deliveredOffset = committedOffset;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    @Override
+    public List<PlateRead> poll(int maxReads, Duration timeout) throws InterruptedException {
+        long nanos = timeout.toNanos();
+        lock.lockInterruptibly();
+        try {
+            while (deliveredOffset == nextOffset) {
+                if (nanos <= 0)
+                    return List.of();
+                nanos = readsAvailable.awaitNanos(nanos);
+            }
+            int count = (int) Math.min(maxReads, nextOffset - deliveredOffset);
+            List<PlateRead> reads = new ArrayList<>(count);
+            for (int i = 0; i < count; i++)
+                reads.add(log[slot(deliveredOffset++)]);
+            return reads;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    @Override
+    public void commit(long nextOffset) {
+        lock.lock();
+        try {
+            if (nextOffset > deliveredOffset)
+                throw new IllegalArgumentException(String.format("Offset %d wurde noch nicht gelesen", nextOffset));
+            for (; committedOffset < nextOffset; committedOffset++)
+                log[slot(committedOffset)] = null;
+            logNotFull.signalAll();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    @Override
+    public long lag() {
+        lock.lock();
+        try {
+            return nextOffset - committedOffset;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    @Override
+    public void publish(List<PlateValidationEvent> events) throws IOException {
+        lock.lock();
+        try {
+            // A batch is added as a whole, so a failed attempt never leaves part of it behind
+            while (results.size() >= log.length) {
+                if (!resultsNotFull.await(PUBLISH_TIMEOUT_SECONDS, TimeUnit.SECONDS) && results.size() >= log.length)
+                    throw new IOException("Ergebnisse werden nicht abgeholt");
+            }
+            results.addAll(events);
+            resultsAvailable.signalAll();
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+            throw new InterruptedIOException("Veröffentlichen unterbrochen");
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    @Override
+    public void close() { }
+
+    private int slot(long offset) {
+        return (int) (offset % log.length);
+    }
+}
@@ -0,0 +1,89 @@
+package tomcom.licenceplatechecker.application.pipeline;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import tomcom.licenceplatechecker.application.BatchValidationResult;
+
+import java.util.List;
+import java.util.Locale;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Micrometer instrumentation of {@link PlateEventPipeline}: throughput as published reads by
+ * status, batch latency, publish failures, the end-to-end age of reads and the lag of the source.
+ */
+final class PipelineMetrics {
+
+    static final PipelineMetrics DISABLED = new PipelineMetrics();
+
+    private static final String RECORDS = "licence_plate.pipeline.records";
+    private static final String BATCH = "licence_plate.pipeline.batch";
+    private static final String PUBLISH_FAILURES = "licence_plate.pipeline.publish.failures";
+    private static final String AGE = "licence_plate.pipeline.age";
+    private static final String LAG = "licence_plate.pipeline.lag";
+
+    private final boolean enabled;
+    private final Counter[] recordsByStatus;
+    private final Timer batchTimer;
+    private final Counter publishFailures;
+    private final Timer age;
+
+    private PipelineMetrics() {
+        this.enabled = false;
+        this.recordsByStatus = null;
+        this.batchTimer = null;
+        this.publishFailures = null;
+        this.age = null;
+    }
+
+    PipelineMetrics(MeterRegistry registry, PlateReadSource source) {
+        this.enabled = true;
+        BatchValidationResult.Status[] statuses = BatchValidationResult.Status.values();
+        this.recordsByStatus = new Counter[statuses.length];
+        for (BatchValidationResult.Status status : statuses) {
+            recordsByStatus[status.ordinal()] = Counter.builder(RECORDS)
+                .description("Plate reads validated and published by the pipeline")
+                .tag("status", status.name().toLowerCase(Locale.ROOT))
+                .register(registry);
+        }
+        this.batchTimer = Timer.builder(BATCH)
+            .description("Time from polling a batch of reads to committing it")
+            .publishPercentileHistogram()
+            .register(registry);
+        this.publishFailures = Counter.builder(PUBLISH_FAILURES)
+            .description("Failed attempts to publish a batch; the batch is retried")
+            .register(registry);
+        this.age = Timer.builder(AGE)
+            .description("Time from capturing a plate to publishing its result, for reads with a capture time")
+            .publishPercentileHistogram()
+            .register(registry);
+        Gauge.builder(LAG, source, PlateReadSource::lag)
+            .description("Reads available in the source that are not yet committed")
+            .register(registry);
+    }
+
+    long start() {
+        return enabled ? System.nanoTime() : 0L;
+    }
+
+    void recordBatch(long start, List<PlateValidationEvent> events) {
+        if (!enabled)
+            return;
+
+        batchTimer.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+        long now = System.currentTimeMillis();
+        for (PlateValidationEvent event : events) {
+            recordsByStatus[event.validation().status().ordinal()].increment();
+            long capturedAt = event.read().capturedAt();
+            if (capturedAt > 0)
+                age.record(Math.max(0, now - capturedAt), TimeUnit.MILLISECONDS);
+        }
+    }
+
+    void recordPublishFailure() {
+        if (enabled)
+            publishFailures.increment();
+    }
+}
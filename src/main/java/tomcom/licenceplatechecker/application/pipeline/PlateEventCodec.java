@@ -0,0 +1,113 @@
+package tomcom.licenceplatechecker.application.pipeline;
+
+import com.fasterxml.jackson.core.JsonEncoding;
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.core.JsonToken;
+import tomcom.licenceplatechecker.application.AlternativeResult;
+import tomcom.licenceplatechecker.application.BatchValidationResult;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.List;
+
+/**
+ * Newline-delimited JSON format of the file transport.
+ * <p>
+ * An input line is either an object with {@code licencePlate} and optional {@code camera} and
+ * {@code capturedAt} fields, or the plate as plain text. A line that is not valid JSON is passed
+ * on as it is, so it ends up as an invalid result instead of stalling the pipeline.
+ * </p>
+ */
+final class PlateEventCodec {
+
+    private static final String LICENCE_PLATE_FIELD = "licencePlate";
+    private static final String CAMERA_FIELD = "camera";
+    private static final String CAPTURED_AT_FIELD = "capturedAt";
+
+    private final JsonFactory jsonFactory;
+
+    PlateEventCodec(JsonFactory jsonFactory) {
+        this.jsonFactory = jsonFactory;
+    }
+
+    PlateRead readLine(long offset, String line) {
+        if (!line.startsWith("{"))
+            return new PlateRead(offset, null, line, 0);
+
+        String camera = null;
+        String licencePlate = null;
+        long capturedAt = 0;
+        try (JsonParser parser = jsonFactory.createParser(line)) {
+            parser.nextToken();
+            while (parser.nextToken() == JsonToken.FIELD_NAME) {
+                String fieldName = parser.currentName();
+                JsonToken valueToken = parser.nextToken();
+                if (LICENCE_PLATE_FIELD.equals(fieldName) && valueToken == JsonToken.VALUE_STRING)
+                    licencePlate = parser.getText();
+                else if (CAMERA_FIELD.equals(fieldName) && valueToken == JsonToken.VALUE_STRING)
+                    camera = parser.getText();
+                else if (CAPTURED_AT_FIELD.equals(fieldName) && valueToken == JsonToken.VALUE_NUMBER_INT)
+                    capturedAt = parser.getLongValue();
+                else
+                    parser.skipChildren();
+            }
+        } catch (JsonProcessingException ex) {
+            return new PlateRead(offset, null, line, 0);
+        } catch (IOException ex) {
+            throw new IllegalStateException(ex);
+        }
+        return new PlateRead(offset, camera, licencePlate, capturedAt);
+    }
+
+    void write(List<PlateValidationEvent> events, OutputStream output) throws IOException {
+        try (JsonGenerator generator = jsonFactory.createGenerator(output, JsonEncoding.UTF8)) {
+            generator.setRootValueSeparator(null);
+            for (PlateValidationEvent event : events) {
+                write(generator, event);
+                generator.writeRaw('\n');
+            }
+        }
+    }
+
+    private void write(JsonGenerator generator, PlateValidationEvent event) throws IOException {
+        PlateRead read = event.read();
+        BatchValidationResult validation = event.validation();
+        generator.writeStartObject();
+        generator.writeNumberField("offset", read.offset());
+        if (read.camera() != null)
+            generator.writeStringField(CAMERA_FIELD, read.camera());
+        if (read.capturedAt() != 0)
+            generator.writeNumberField(CAPTURED_AT_FIELD, read.capturedAt());
+        if (read.licencePlate() != null)
+            generator.writeStringField(LICENCE_PLATE_FIELD, read.licencePlate());
+        generator.writeStringField("status", validation.status().name());
+        if (validation.result() != null)
+            generator.writeStringField("result", validation.result());
+        if (event.category() != null)
+            generator.writeStringField("category", event.category().name());
+        if (validation.errorCode() != null)
+            generator.writeStringField("errorCode", validation.errorCode().name());
+        if (validation.error() != null)
+            generator.writeStringField("error", validation.error());
+        if (validation.alternatives() != null) {
+            generator.writeArrayFieldStart("alternatives");
+            for (AlternativeResult alternative : validation.alternatives()) {
+                generator.writeStartObject();
+                generator.writeStringField(LICENCE_PLATE_FIELD, alternative.licencePlate());
+                generator.writeNumberField("confidence", alternative.confidence());
+                generator.writeEndObject();
+            }
+            generator.writeEndArray();
+        }
+        if (!event.watchlists().isEmpty()) {
+            generator.writeArrayFieldStart("watchlists");
+            for (String watchlist : event.watchlists())
+                generator.writeString(watchlist);
+            generator.writeEndArray();
+        }
+        generator.writeEndObject();
+    }
+}
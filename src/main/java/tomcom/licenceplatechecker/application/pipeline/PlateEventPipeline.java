@@ -0,0 +1,185 @@
+package tomcom.licenceplatechecker.application.pipeline;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import tomcom.licenceplatechecker.application.BatchValidationResult;
+import tomcom.licenceplatechecker.application.OrderedParallelMapper;
+import tomcom.licenceplatechecker.domain.licenceplate.PlateCategory;
+import tomcom.licenceplatechecker.domain.licenceplate.ValidationResult;
+import tomcom.licenceplatechecker.domain.licenceplate.validator.LicencePlateValidationService;
+import tomcom.licenceplatechecker.domain.licenceplate.watchlist.WatchlistService;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Validates a stream of camera plate reads: pulls batches from a {@link PlateReadSource},
+ * validates them and publishes the enriched results to a {@link PlateResultSink}.
+ * <p>
+ * A batch is validated in parallel by an {@link OrderedParallelMapper} of fixed size, and only
+ * one batch is in flight, so memory and threads stay bounded however far the source is ahead.
+ * Results keep the order of the reads. A read whose validation throws gets an {@code ERROR}
+ * result, so it cannot hold up the reads behind it. The reads of a batch are committed only after
+ * the sink has accepted all of its results; a failed publish is retried until it succeeds or the
+ * pipeline stops. A batch whose publish or commit fails in any other way is rewound and its reads
+ * are delivered again by the next poll, so no read is committed without its result being
+ * published (at-least-once).
+ * </p>
+ * <p>
+ * Runs with {@code licence-plate.pipeline.transport} set to {@code file} or {@code queue}.
+ * </p>
+ */
+@Component
+@ConditionalOnProperty(name = "licence-plate.pipeline.transport")
+public class PlateEventPipeline {
+
+    private static final Logger log = LoggerFactory.getLogger(PlateEventPipeline.class);
+
+    private static final long STOP_TIMEOUT_SECONDS = 10;
+
+    private final LicencePlateValidationService licencePlateValidationService;
+    private final PlateReadSource source;
+    private final PlateResultSink sink;
+    private final WatchlistService watchlistService;
+    private final PipelineMetrics metrics;
+    private final int batchSize;
+    private final Duration pollTimeout;
+    private final Duration retryBackoff;
+    private final OrderedParallelMapper validationMapper;
+    private final Thread thread;
+
+    private volatile boolean running;
+
+    public PlateEventPipeline(LicencePlateValidationService licencePlateValidationService,
+                              PlateReadSource source,
+                              PlateResultSink sink,
+                              Optional<WatchlistService> watchlistService,
+                              Optional<MeterRegistry> meterRegistry,
+                              @Value("${licence-plate.pipeline.batch-size:1000}") int batchSize,
+                              @Value("${licence-plate.pipeline.workers:0}") int workers,
+                              @Value("${licence-plate.pipeline.poll-timeout:500ms}") Duration pollTimeout,
+                              @Value("${licence-plate.pipeline.retry-backoff:1s}") Duration retryBackoff) {
+        this.licencePlateValidationService = licencePlateValidationService;
+        this.source = source;
+        this.sink = sink;
+        this.watchlistService = watchlistService.orElse(null);
+        this.metrics = meterRegistry.map(registry -> new PipelineMetrics(registry, source)).orElse(PipelineMetrics.DISABLED);
+        this.batchSize = batchSize;
+        this.pollTimeout = pollTimeout;
+        this.retryBackoff = retryBackoff;
+        this.validationMapper = new OrderedParallelMapper(workers);
+        this.thread = new Thread(this::run, "plate-pipeline");
+        this.thread.setDaemon(true);
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void start() {
+        running = true;
+        thread.start();
+    }
+
+    /**
+     * Stops after the current batch. The thread is not interrupted, as that would close the
+     * file channels of the transport underneath it.
+     */
+    @PreDestroy
+    public void shutdown() throws IOException, InterruptedException {
+        running = false;
+        thread.join(TimeUnit.SECONDS.toMillis(STOP_TIMEOUT_SECONDS));
+        validationMapper.shutdown();
+        source.close();
+        sink.close();
+    }
+
+    /**
+     * Processes a single batch: poll, validate, publish, commit. If publishing or committing fails,
+     * the source is rewound to the last commit before the exception is rethrown.
+     *
+     * @return the number of reads processed, 0 if none arrived within the poll timeout
+     * @throws IOException if publishing failed and the pipeline was stopped before a retry succeeded
+     */
+    public int process() throws IOException, InterruptedException {
+        List<PlateRead> reads = source.poll(batchSize, pollTimeout);
+        if (reads.isEmpty())
+            return 0;
+
+        long start = metrics.start();
+        try {
+            List<PlateValidationEvent> events = validationMapper.map(reads, this::validate);
+            publish(events);
+            source.commit(reads.get(reads.size() - 1).offset() + 1);
+            metrics.recordBatch(start, events);
+        } catch (IOException | RuntimeException ex) {
+            source.rewind();
+            throw ex;
+        }
+        return reads.size();
+    }
+
+    private void run() {
+        while (running) {
+            try {
+                process();
+            } catch (InterruptedException ex) {
+                Thread.currentThread().interrupt();
+                return;
+            } catch (IOException | RuntimeException ex) {
+                log.error("Plate pipeline batch failed", ex);
+                if (!pause())
+                    return;
+            }
+        }
+    }
+
+    private PlateValidationEvent validate(PlateRead read) {
+        try {
+            ValidationResult result = licencePlateValidationService.validate(read.licencePlate());
+            if (result instanceof ValidationResult.Valid valid) {
+                List<String> watchlists = watchlistService != null ? watchlistService.matches(valid.licencePlate()) : List.of();
+                return new PlateValidationEvent(read, BatchValidationResult.of(result), PlateCategory.of(valid.licencePlate()), watchlists);
+            }
+            return new PlateValidationEvent(read, BatchValidationResult.of(result), null, List.of());
+        } catch (RuntimeException ex) {
+            // Rewinding would deliver the same read again and fail forever
+            log.error("Validating plate read {} failed", read.offset(), ex);
+            return new PlateValidationEvent(read, BatchValidationResult.error("Interner Fehler"), null, List.of());
+        }
+    }
+
+    private void publish(List<PlateValidationEvent> events) throws IOException {
+        while (true) {
+            try {
+                sink.publish(events);
+                return;
+            } catch (IOException ex) {
+                metrics.recordPublishFailure();
+                log.warn("Publishing plate results failed, retrying", ex);
+                if (!pause())
+                    throw ex;
+            }
+        }
+    }
+
+    /**
+     * Waits for the retry backoff; false if the pipeline is stopping or interrupted meanwhile.
+     */
+    private boolean pause() {
+        try {
+            Thread.sleep(retryBackoff.toMillis());
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+            return false;
+        }
+        return running || Thread.currentThread() != thread;
+    }
+}
@@ -0,0 +1,11 @@
+package tomcom.licenceplatechecker.application.pipeline;
+
+/**
+ * A plate read taken from a {@link PlateReadSource}.
+ *
+ * @param offset       position in the source; offsets grow by one per read and identify it for deduplication
+ * @param camera       reporting camera, or {@code null} if the source does not know it
+ * @param licencePlate the raw input as read by the camera
+ * @param capturedAt   capture time in epoch milliseconds, or 0 if unknown
+ */
+public record PlateRead(long offset, String camera, String licencePlate, long capturedAt) { }
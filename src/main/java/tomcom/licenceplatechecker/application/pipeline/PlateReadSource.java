@@ -0,0 +1,38 @@
+package tomcom.licenceplatechecker.application.pipeline;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.time.Duration;
+import java.util.List;
+
+/**
+ * Where the {@link PlateEventPipeline} pulls plate reads from.
+ * <p>
+ * Reads are delivered in offset order. A read counts as processed only once its offset has been
+ * committed; after a restart the source delivers again everything after the last commit, which
+ * gives the pipeline its at-least-once semantics.
+ * </p>
+ */
+public interface PlateReadSource extends Closeable {
+
+    /**
+     * Returns up to {@code maxReads} reads following the previously returned ones, waiting at
+     * most {@code timeout} for the first one; an empty list if none arrived in time.
+     */
+    List<PlateRead> poll(int maxReads, Duration timeout) throws IOException, InterruptedException;
+
+    /**
+     * Marks every read with an offset below {@code nextOffset} as processed.
+     */
+    void commit(long nextOffset) throws IOException;
+
+    /**
+     * Delivers every uncommitted read again on the following polls, e.g. after a batch failed.
+     */
+    void rewind();
+
+    /**
+     * Number of reads available in the source that are not yet committed.
+     */
+    long lag();
+}
@@ -0,0 +1,17 @@
+package tomcom.licenceplatechecker.application.pipeline;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.util.List;
+
+/**
+ * Where the {@link PlateEventPipeline} publishes validated reads.
+ * <p>
+ * A successful {@link #publish(List)} must leave the events durably stored, as the pipeline
+ * commits the reads right afterwards. A failed one may be retried with the same events.
+ * </p>
+ */
+public interface PlateResultSink extends Closeable {
+
+    void publish(List<PlateValidationEvent> events) throws IOException;
+}
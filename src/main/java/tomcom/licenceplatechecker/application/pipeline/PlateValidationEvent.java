@@ -0,0 +1,15 @@
+package tomcom.licenceplatechecker.application.pipeline;
+
+import tomcom.licenceplatechecker.application.BatchValidationResult;
+import tomcom.licenceplatechecker.domain.licenceplate.PlateCategory;
+
+import java.util.List;
+
+/**
+ * A plate read enriched with its validation result.
+ *
+ * @param category   kind of the plate, or {@code null} unless it is valid
+ * @param watchlists names of the watchlists containing the plate; empty unless watchlists are enabled
+ */
+public record PlateValidationEvent(PlateRead read, BatchValidationResult validation, PlateCategory category,
+                                   List<String> watchlists) { }
@@ -7,7 +7,8 @@ import jakarta.transaction.Transactional;
 @Entity
 public class Distinguisher {
     @Id
-    @GeneratedValue(strategy = GenerationType.SEQUENCE)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "distinguisher_seq")
+    @SequenceGenerator(name = "distinguisher_seq", sequenceName = "distinguisher_seq", allocationSize = 50)
     public Long id;
 
     @Column(nullable = false)
@@ -0,0 +1,57 @@
+package tomcom.licenceplatechecker.domain.licenceplate;
+
+import org.springframework.lang.Nullable;
+import org.springframework.stereotype.Component;
+
+import java.time.Instant;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * Holds the {@link DistinguisherIndex} currently used for validation.
+ * <p>
+ * The index is built off the request path, from the {@link DistinguisherRepository}, the
+ * binary {@link DistinguisherSnapshot} or a reloaded CSV, and published with a single atomic
+ * swap, so readers always see a complete index and never take a lock. Without a database the
+ * repository is absent and the index can only be replaced.
+ * </p>
+ */
+@Component
+public class DistinguisherCatalog {
+
+    private static final String DATABASE_SOURCE = "database";
+    private static final String IN_MEMORY_SOURCE = "in-memory";
+
+    private final DistinguisherRepository distinguisherRepository;
+    private final AtomicReference<DistinguisherDataset> dataset =
+        new AtomicReference<>(new DistinguisherDataset(DistinguisherIndex.empty(), IN_MEMORY_SOURCE, Instant.now()));
+
+    public DistinguisherCatalog(@Nullable DistinguisherRepository distinguisherRepository) {
+        this.distinguisherRepository = distinguisherRepository;
+    }
+
+    public DistinguisherIndex current() {
+        return dataset.get().index();
+    }
+
+    public DistinguisherDataset dataset() {
+        return dataset.get();
+    }
+
+    public DistinguisherIndex reload() {
+        if (distinguisherRepository == null)
+            throw new IllegalStateException("Keine Datenbank für Unterscheidungszeichen konfiguriert");
+        DistinguisherIndex rebuilt = DistinguisherIndex.of(distinguisherRepository.findAll());
+        replace(rebuilt, DATABASE_SOURCE);
+        return rebuilt;
+    }
+
+    public void replace(DistinguisherIndex newIndex) {
+        replace(newIndex, IN_MEMORY_SOURCE);
+    }
+
+    public DistinguisherDataset replace(DistinguisherIndex newIndex, String source) {
+        DistinguisherDataset newDataset = new DistinguisherDataset(newIndex, source, Instant.now());
+        dataset.set(newDataset);
+        return newDataset;
+    }
+}
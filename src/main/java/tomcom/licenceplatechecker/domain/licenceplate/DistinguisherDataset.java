@@ -0,0 +1,17 @@
+package tomcom.licenceplatechecker.domain.licenceplate;
+
+import java.time.Instant;
+
+/**
+ * The distinguisher data currently in use: the lookup index plus where and when it was loaded.
+ */
+public record DistinguisherDataset(DistinguisherIndex index, String source, Instant loadedAt) {
+
+    public String version() {
+        return index.version();
+    }
+
+    public int size() {
+        return index.size();
+    }
+}
@@ -0,0 +1,296 @@
+package tomcom.licenceplatechecker.domain.licenceplate;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HexFormat;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+/**
+ * Immutable in-memory lookup of all known {@link Distinguisher}s.
+ * <p>
+ * Codes are stored in a prefix trie over the alphabet A-Z, Ä, Ö, Ü. Every node keeps the
+ * distinguishers whose code ends there, keyed by their deprecated/special flags, plus a
+ * precomputed list of all distinguishers whose code is a prefix of the path to that node.
+ * A single walk over the input therefore yields every matching civilian, special and
+ * deprecated distinguisher without allocating.
+ * </p>
+ * <p>
+ * An index is never modified after construction; when the data changes a new index is
+ * built and swapped in via {@link DistinguisherCatalog}.
+ * </p>
+ */
+public final class DistinguisherIndex {
+
+    private static final int ALPHABET_SIZE = 29;
+    private static final int SLOTS = 4;
+    private static final int DEPRECATED_FLAG = 1;
+    private static final int SPECIAL_FLAG = 2;
+
+    private static final int VERSION_BYTES = 16;
+
+    private static final int ROOT = 0;
+    private static final int NO_NODE = 0; // the root is never a child, so 0 marks a missing edge
+
+    private static final DistinguisherIndex EMPTY = of(List.of());
+
+    private final int[] children;                          // node * ALPHABET_SIZE + symbol -> child node
+    private final Distinguisher[] entries;                 // node * SLOTS + slot -> distinguisher with exactly that code
+    private final List<List<Distinguisher>> prefixMatches; // node -> all distinguishers on the path, shortest code first
+    private final int size;
+    private final String version;
+
+    private DistinguisherIndex(int[] children, Distinguisher[] entries, List<List<Distinguisher>> prefixMatches, int size, String version) {
+        this.children = children;
+        this.entries = entries;
+        this.prefixMatches = prefixMatches;
+        this.size = size;
+        this.version = version;
+    }
+
+    public static DistinguisherIndex empty() {
+        return EMPTY;
+    }
+
+    public static DistinguisherIndex of(Iterable<Distinguisher> distinguishers) {
+        Map<String, Distinguisher[]> entriesByCode = new LinkedHashMap<>();
+        int size = 0;
+        for (Distinguisher distinguisher : distinguishers) {
+            Distinguisher[] slots = entriesByCode.computeIfAbsent(distinguisher.code, code -> new Distinguisher[SLOTS]);
+            int slot = slot(Boolean.TRUE.equals(distinguisher.deprecated), Boolean.TRUE.equals(distinguisher.special));
+            if (slots[slot] == null) {
+                slots[slot] = distinguisher;
+                size++;
+            }
+        }
+
+        int[] children = new int[ALPHABET_SIZE * 64];
+        int[] parents = new int[64];
+        Distinguisher[] entries = new Distinguisher[SLOTS * 64];
+        int nodeCount = 1;
+
+        for (Map.Entry<String, Distinguisher[]> codeEntries : entriesByCode.entrySet()) {
+            String code = codeEntries.getKey();
+            if (code.isEmpty())
+                throw new IllegalArgumentException("Unterscheidungszeichen darf nicht leer sein");
+
+            int node = ROOT;
+            for (int i = 0; i < code.length(); i++) {
+                int symbol = symbol(code.charAt(i));
+                if (symbol < 0)
+                    throw new IllegalArgumentException(String.format("Unterscheidungszeichen %s enthält ungültige Zeichen", code));
+
+                int edge = node * ALPHABET_SIZE + symbol;
+                if (children[edge] == NO_NODE) {
+                    if (nodeCount == parents.length) {
+                        parents = Arrays.copyOf(parents, nodeCount * 2);
+                        children = Arrays.copyOf(children, nodeCount * 2 * ALPHABET_SIZE);
+                        entries = Arrays.copyOf(entries, nodeCount * 2 * SLOTS);
+                    }
+                    parents[nodeCount] = node;
+                    children[edge] = nodeCount++;
+                }
+                node = children[edge];
+            }
+            System.arraycopy(codeEntries.getValue(), 0, entries, node * SLOTS, SLOTS);
+        }
+
+        // Children always get a higher node id than their parent, so one pass in id order suffices
+        List<List<Distinguisher>> prefixMatches = new ArrayList<>(nodeCount);
+        prefixMatches.add(List.of());
+        for (int node = 1; node < nodeCount; node++) {
+            List<Distinguisher> inherited = prefixMatches.get(parents[node]);
+            List<Distinguisher> own = new ArrayList<>(inherited);
+            for (int slot = 0; slot < SLOTS; slot++) {
+                Distinguisher distinguisher = entries[node * SLOTS + slot];
+                if (distinguisher != null)
+                    own.add(distinguisher);
+            }
+            prefixMatches.add(own.size() == inherited.size() ? inherited : List.copyOf(own));
+        }
+
+        return new DistinguisherIndex(
+            Arrays.copyOf(children, nodeCount * ALPHABET_SIZE),
+            Arrays.copyOf(entries, nodeCount * SLOTS),
+            List.copyOf(prefixMatches),
+            size,
+            version(entriesByCode.values())
+        );
+    }
+
+    /**
+     * Content hash over all entries, independent of the order they were supplied in.
+     */
+    private static String version(Iterable<Distinguisher[]> entriesByCode) {
+        List<String> lines = new ArrayList<>();
+        for (Distinguisher[] slots : entriesByCode) {
+            for (Distinguisher distinguisher : slots) {
+                if (distinguisher != null)
+                    lines.add(distinguisher.code + ';' + distinguisher.label + ';' + Boolean.TRUE.equals(distinguisher.deprecated) + ';' + Boolean.TRUE.equals(distinguisher.special));
+            }
+        }
+        Collections.sort(lines);
+
+        MessageDigest digest;
+        try {
+            digest = MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException ex) {
+            throw new IllegalStateException(ex);
+        }
+        for (String line : lines) {
+            digest.update(line.getBytes(StandardCharsets.UTF_8));
+            digest.update((byte) '\n');
+        }
+        return HexFormat.of().formatHex(digest.digest(), 0, VERSION_BYTES);
+    }
+
+    public Optional<Distinguisher> find(String code, boolean deprecated, boolean special) {
+        return find(code, code.length(), deprecated, special);
+    }
+
+    /**
+     * Looks up the distinguisher whose code is the first {@code codeLength} characters of the input.
+     */
+    public Optional<Distinguisher> find(CharSequence input, int codeLength, boolean deprecated, boolean special) {
+        int node = walk(input, codeLength);
+        if (node == NO_NODE)
+            return Optional.empty();
+        return Optional.ofNullable(entries[node * SLOTS + slot(deprecated, special)]);
+    }
+
+    /**
+     * Returns every distinguisher whose code is a prefix of the given input, ordered by code
+     * length and, for equal codes, civilian before special and active before deprecated.
+     * The returned list is shared and immutable.
+     */
+    public List<Distinguisher> prefixMatches(CharSequence input) {
+        int node = ROOT;
+        for (int i = 0; i < input.length(); i++) {
+            int symbol = symbol(input.charAt(i));
+            if (symbol < 0)
+                break;
+            int child = children[node * ALPHABET_SIZE + symbol];
+            if (child == NO_NODE)
+                break;
+            node = child;
+        }
+        return prefixMatches.get(node);
+    }
+
+    /**
+     * Node id of the trie root, the starting point for {@link #step(int, char)}.
+     */
+    public int root() {
+        return ROOT;
+    }
+
+    /**
+     * Follows one character from the given node, for callers that walk the trie incrementally.
+     *
+     * @return the child node, or -1 if no code continues with that character
+     */
+    public int step(int node, char c) {
+        int symbol = symbol(c);
+        if (symbol < 0)
+            return -1;
+        int child = children[node * ALPHABET_SIZE + symbol];
+        return child == NO_NODE ? -1 : child;
+    }
+
+    /**
+     * Whether any distinguisher has exactly the code spelled by the path to the given node.
+     */
+    public boolean isCode(int node) {
+        for (int slot = 0; slot < SLOTS; slot++) {
+            if (entries[node * SLOTS + slot] != null)
+                return true;
+        }
+        return false;
+    }
+
+    /**
+     * Returns every distinguisher, ordered by code in the code alphabet and, for equal codes,
+     * like {@link #prefixMatches(CharSequence)}. Equal data always yields the same order.
+     */
+    public List<Distinguisher> all() {
+        List<Distinguisher> all = new ArrayList<>(size);
+        collect(ROOT, all);
+        return all;
+    }
+
+    private void collect(int node, List<Distinguisher> all) {
+        for (int slot = 0; slot < SLOTS; slot++) {
+            Distinguisher distinguisher = entries[node * SLOTS + slot];
+            if (distinguisher != null)
+                all.add(distinguisher);
+        }
+        for (int symbol = 0; symbol < ALPHABET_SIZE; symbol++) {
+            int child = children[node * ALPHABET_SIZE + symbol];
+            if (child != NO_NODE)
+                collect(child, all);
+        }
+    }
+
+    public int size() {
+        return size;
+    }
+
+    /**
+     * Identifies the content of this index; equal data always yields the same version.
+     */
+    public String version() {
+        return version;
+    }
+
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    private int walk(CharSequence code, int length) {
+        if (length == 0)
+            return NO_NODE;
+        int node = ROOT;
+        for (int i = 0; i < length; i++) {
+            int symbol = symbol(code.charAt(i));
+            if (symbol < 0)
+                return NO_NODE;
+            node = children[node * ALPHABET_SIZE + symbol];
+            if (node == NO_NODE)
+                return NO_NODE;
+        }
+        return node;
+    }
+
+    /**
+     * Position of the character in the code alphabet A-Z, Ä, Ö, Ü, or -1.
+     */
+    static int symbol(char c) {
+        if (c >= 'A' && c <= 'Z')
+            return c - 'A';
+        return switch (c) {
+            case 'Ä' -> 26;
+            case 'Ö' -> 27;
+            case 'Ü' -> 28;
+            default -> -1;
+        };
+    }
+
+    static char character(int symbol) {
+        return switch (symbol) {
+            case 26 -> 'Ä';
+            case 27 -> 'Ö';
+            case 28 -> 'Ü';
+            default -> (char) ('A' + symbol);
+        };
+    }
+
+    private static int slot(boolean deprecated, boolean special) {
+        return (deprecated ? DEPRECATED_FLAG : 0) | (special ? SPECIAL_FLAG : 0);
+    }
+}
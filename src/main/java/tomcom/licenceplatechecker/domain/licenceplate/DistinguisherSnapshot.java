@@ -0,0 +1,144 @@
+package tomcom.licenceplatechecker.domain.licenceplate;
+
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Compact binary form of the distinguisher data set, compiled from {@code kennzeichen.csv}
+ * at build time so startup needs neither CSV parsing nor a database.
+ * <p>
+ * Layout (big endian):
+ * <pre>
+ * int    magic "DSNP", short version
+ * int    entry count
+ * int    label count, then per label: short byte length + UTF-8 bytes (each label stored once)
+ * per entry: byte code length + ISO-8859-1 code bytes (A-Z, Ä, Ö, Ü fit in one byte)
+ * per entry: char label index
+ * long[] flags bitset, two bits per entry: deprecated, special
+ * </pre>
+ * </p>
+ */
+public final class DistinguisherSnapshot {
+
+    private static final int MAGIC = 0x44534E50; // "DSNP"
+    private static final short VERSION = 1;
+    private static final int MAX_LABELS = Character.MAX_VALUE + 1;
+    private static final int MAX_LABEL_BYTES = 0xFFFF;
+
+    private DistinguisherSnapshot() {}
+
+    public static void write(List<Distinguisher> distinguishers, OutputStream output) throws IOException {
+        Map<String, Integer> labelIndexes = new HashMap<>();
+        List<String> labels = new ArrayList<>();
+        for (Distinguisher distinguisher : distinguishers) {
+            labelIndexes.computeIfAbsent(distinguisher.label, label -> {
+                labels.add(label);
+                return labels.size() - 1;
+            });
+        }
+        if (labels.size() > MAX_LABELS)
+            throw new IllegalArgumentException("Zu viele Bezeichnungen für den Snapshot: " + labels.size());
+
+        DataOutputStream out = new DataOutputStream(output);
+        out.writeInt(MAGIC);
+        out.writeShort(VERSION);
+        out.writeInt(distinguishers.size());
+
+        out.writeInt(labels.size());
+        for (String label : labels) {
+            byte[] bytes = label.getBytes(StandardCharsets.UTF_8);
+            if (bytes.length > MAX_LABEL_BYTES)
+                throw new IllegalArgumentException(String.format("Bezeichnung %.20s... ist zu lang für den Snapshot: %d Bytes", label, bytes.length));
+            out.writeShort(bytes.length);
+            out.write(bytes);
+        }
+
+        for (Distinguisher distinguisher : distinguishers) {
+            byte[] code = distinguisher.code.getBytes(StandardCharsets.ISO_8859_1);
+            if (code.length == 0 || code.length > Byte.MAX_VALUE || !new String(code, StandardCharsets.ISO_8859_1).equals(distinguisher.code))
+                throw new IllegalArgumentException(String.format("Unterscheidungszeichen %s kann nicht gespeichert werden", distinguisher.code));
+            out.writeByte(code.length);
+            out.write(code);
+        }
+
+        for (Distinguisher distinguisher : distinguishers)
+            out.writeChar(labelIndexes.get(distinguisher.label));
+
+        long[] flags = new long[(distinguishers.size() * 2 + Long.SIZE - 1) / Long.SIZE];
+        for (int i = 0; i < distinguishers.size(); i++) {
+            Distinguisher distinguisher = distinguishers.get(i);
+            if (Boolean.TRUE.equals(distinguisher.deprecated))
+                flags[(2 * i) / Long.SIZE] |= 1L << ((2 * i) % Long.SIZE);
+            if (Boolean.TRUE.equals(distinguisher.special))
+                flags[(2 * i + 1) / Long.SIZE] |= 1L << ((2 * i + 1) % Long.SIZE);
+        }
+        for (long word : flags)
+            out.writeLong(word);
+        out.flush();
+    }
+
+    /**
+     * Decodes a snapshot, e.g. from a memory-mapped file.
+     *
+     * @throws IllegalArgumentException if the buffer does not hold a valid snapshot
+     */
+    public static List<Distinguisher> read(ByteBuffer buffer) {
+        try {
+            if (buffer.getInt() != MAGIC)
+                throw new IllegalArgumentException("Keine Unterscheidungszeichen-Snapshot-Datei");
+            short version = buffer.getShort();
+            if (version != VERSION)
+                throw new IllegalArgumentException("Nicht unterstützte Snapshot-Version " + version);
+
+            int count = buffer.getInt();
+            int labelCount = buffer.getInt();
+            // Checked before allocating, so a corrupt count cannot exhaust the heap
+            if (count < 0 || count > buffer.remaining() || labelCount < 0 || labelCount > MAX_LABELS)
+                throw new IllegalArgumentException("Unterscheidungszeichen-Snapshot ist beschädigt");
+            String[] labels = new String[labelCount];
+            byte[] bytes = new byte[256];
+            for (int i = 0; i < labels.length; i++) {
+                int length = Short.toUnsignedInt(buffer.getShort());
+                if (length > bytes.length)
+                    bytes = new byte[length];
+                buffer.get(bytes, 0, length);
+                labels[i] = new String(bytes, 0, length, StandardCharsets.UTF_8);
+            }
+
+            List<Distinguisher> distinguishers = new ArrayList<>(count);
+            for (int i = 0; i < count; i++) {
+                int length = buffer.get();
+                buffer.get(bytes, 0, length);
+                Distinguisher distinguisher = new Distinguisher();
+                distinguisher.code = new String(bytes, 0, length, StandardCharsets.ISO_8859_1);
+                distinguishers.add(distinguisher);
+            }
+
+            for (Distinguisher distinguisher : distinguishers)
+                distinguisher.label = labels[buffer.getChar()];
+
+            long word = 0;
+            for (int bit = 0; bit < count * 2; bit++) {
+                if (bit % Long.SIZE == 0)
+                    word = buffer.getLong();
+                boolean set = (word & (1L << (bit % Long.SIZE))) != 0;
+                Distinguisher distinguisher = distinguishers.get(bit / 2);
+                if (bit % 2 == 0)
+                    distinguisher.deprecated = set;
+                else
+                    distinguisher.special = set;
+            }
+            return distinguishers;
+        } catch (BufferUnderflowException | IndexOutOfBoundsException ex) {
+            throw new IllegalArgumentException("Unterscheidungszeichen-Snapshot ist beschädigt", ex);
+        }
+    }
+}
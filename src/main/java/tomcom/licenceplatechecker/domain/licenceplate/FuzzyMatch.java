@@ -0,0 +1,7 @@
+package tomcom.licenceplatechecker.domain.licenceplate;
+
+/**
+ * A valid licence plate reachable from the input by replacing {@code substitutions} characters
+ * that OCR commonly confuses.
+ */
+public record FuzzyMatch(LicencePlate licencePlate, int substitutions) { }
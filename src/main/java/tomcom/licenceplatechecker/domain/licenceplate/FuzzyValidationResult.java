@@ -0,0 +1,9 @@
+package tomcom.licenceplatechecker.domain.licenceplate;
+
+import java.util.List;
+
+/**
+ * Outcome of a fuzzy validation: all matches found, fewest substitutions first. {@code complete}
+ * is false if the latency budget ran out before every variant was explored.
+ */
+public record FuzzyValidationResult(List<FuzzyMatch> matches, boolean complete) { }
@@ -18,6 +18,13 @@ public class LicencePlate {
         return new LicencePlate(distinguisher, identifier, number, modifier);
     }
 
+    /**
+     * This plate in the {@link PackedLicencePlate} encoding.
+     */
+    public long pack() {
+        return PackedLicencePlate.encode(this);
+    }
+
     @Override
     public String toString() {
         if (distinguisher.special != null && distinguisher.special) {
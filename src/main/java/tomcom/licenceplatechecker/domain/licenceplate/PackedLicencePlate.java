@@ -0,0 +1,263 @@
+package tomcom.licenceplatechecker.domain.licenceplate;
+
+/**
+ * Canonical encoding of a {@link LicencePlate} in a single {@code long}, for caches, batch
+ * results and bulk storage where millions of plate objects would cost too much heap.
+ * <p>
+ * Layout, from the most significant used bit down (52 bits, the value is never negative):
+ * <pre>
+ *   code       15 bits  distinguisher code, three base-30 symbols (A-Z, Ä, Ö, Ü; 0 pads short codes)
+ *   flags       2 bits  deprecated, special
+ *   identifier 10 bits  two letters of 5 bits (1-26; 0 pads short identifiers)
+ *   digits      3 bits  length of the number, so leading zeros survive
+ *   number     20 bits  value of the number (at most six digits)
+ *   modifier    2 bits  0 = none, 1 = E, 2 = H
+ * </pre>
+ * Comparing the longs therefore orders plates by code and identifier lexically, then by number
+ * length and value, then by modifier; {@code Arrays.sort(long[])} needs no comparator.
+ * </p>
+ * <p>
+ * The distinguisher is identified by its code and flags only. {@link #decode(long, DistinguisherIndex)}
+ * resolves it against an index, so packed values stay valid across dataset reloads as long as the
+ * distinguisher still exists.
+ * </p>
+ */
+public final class PackedLicencePlate {
+
+    /**
+     * Upper bound of the characters written by {@link #format(long, char[], int)}.
+     */
+    public static final int MAX_FORMATTED_LENGTH = 3 + 1 + 2 + 6 + 1;
+
+    /**
+     * Returned by {@link #tryEncode(LicencePlate)} for plates that do not fit the encoding; never a packed plate.
+     */
+    public static final long NOT_ENCODABLE = -1;
+
+    private static final int MODIFIER_SHIFT = 0;
+    private static final int NUMBER_SHIFT = 2;
+    private static final int DIGITS_SHIFT = 22;
+    private static final int IDENTIFIER_SHIFT = 25;
+    private static final int FLAGS_SHIFT = 35;
+    private static final int CODE_SHIFT = 37;
+
+    private static final long MODIFIER_MASK = 0x3;
+    private static final long NUMBER_MASK = 0xFFFFF;
+    private static final long DIGITS_MASK = 0x7;
+    private static final long IDENTIFIER_MASK = 0x3FF;
+    private static final long LETTER_MASK = 0x1F;
+    private static final int LETTER_BITS = 5;
+    private static final long CODE_MASK = 0x7FFF;
+
+    private static final int DEPRECATED_FLAG = 1;
+    private static final int SPECIAL_FLAG = 2;
+    private static final int CODE_RADIX = 30;
+    private static final int MAX_CODE_LENGTH = 3;
+    private static final int MAX_IDENTIFIER_LENGTH = 2;
+    private static final int MAX_DIGITS = 6;
+    private static final char[] MODIFIERS = {0, 'E', 'H'};
+    private static final String[] MODIFIER_STRINGS = {"", "E", "H"};
+
+    private PackedLicencePlate() {}
+
+    /**
+     * Packs the given plate.
+     *
+     * @throws IllegalArgumentException if a part does not fit the encoding
+     */
+    public static long encode(LicencePlate licencePlate) {
+        Distinguisher distinguisher = licencePlate.distinguisher;
+        int code = encodeCode(distinguisher.code, 0, distinguisher.code.length());
+        if (code < 0)
+            throw new IllegalArgumentException(String.format("Unterscheidungszeichen %s nicht kodierbar", distinguisher.code));
+        int flags = (Boolean.TRUE.equals(distinguisher.deprecated) ? DEPRECATED_FLAG : 0)
+            | (Boolean.TRUE.equals(distinguisher.special) ? SPECIAL_FLAG : 0);
+
+        int identifier = encodeIdentifier(licencePlate.identifier);
+        String number = licencePlate.number;
+        int modifier = encodeModifier(licencePlate.modifier);
+        if (identifier < 0 || number.length() > MAX_DIGITS || modifier < 0)
+            throw new IllegalArgumentException(String.format("Kennzeichen %s nicht kodierbar", licencePlate));
+
+        int value = 0;
+        for (int i = 0; i < number.length(); i++) {
+            char c = number.charAt(i);
+            if (c < '0' || c > '9')
+                throw new IllegalArgumentException(String.format("Kennzeichen %s nicht kodierbar", licencePlate));
+            value = value * 10 + (c - '0');
+        }
+
+        return (long) code << CODE_SHIFT
+            | (long) flags << FLAGS_SHIFT
+            | (long) identifier << IDENTIFIER_SHIFT
+            | (long) number.length() << DIGITS_SHIFT
+            | (long) value << NUMBER_SHIFT
+            | (long) modifier << MODIFIER_SHIFT;
+    }
+
+    /**
+     * Like {@link #encode(LicencePlate)}, but returns {@link #NOT_ENCODABLE} instead of throwing.
+     */
+    public static long tryEncode(LicencePlate licencePlate) {
+        try {
+            return encode(licencePlate);
+        } catch (IllegalArgumentException ex) {
+            return NOT_ENCODABLE;
+        }
+    }
+
+    /**
+     * Unpacks the plate, resolving its distinguisher in the given index.
+     *
+     * @throws IllegalArgumentException if the index has no such distinguisher
+     */
+    public static LicencePlate decode(long packed, DistinguisherIndex index) {
+        String code = distinguisherCode(packed);
+        Distinguisher distinguisher = index.find(code, isDeprecated(packed), isSpecial(packed))
+            .orElseThrow(() -> new IllegalArgumentException(String.format("Kein Unterscheidungszeichen %s gefunden", code)));
+        return LicencePlate.of(distinguisher, identifier(packed), number(packed), modifier(packed));
+    }
+
+    /**
+     * Encodes a distinguisher code of 1-3 symbols so that numeric order is lexical order.
+     *
+     * @return the code in 15 bits, or -1 if it is not a valid distinguisher code
+     */
+    public static int encodeCode(CharSequence code, int start, int end) {
+        int length = end - start;
+        if (length < 1 || length > MAX_CODE_LENGTH)
+            return -1;
+        int key = 0;
+        for (int i = 0; i < MAX_CODE_LENGTH; i++) {
+            int symbol = 0;
+            if (i < length) {
+                symbol = DistinguisherIndex.symbol(code.charAt(start + i)) + 1;
+                if (symbol == 0)
+                    return -1;
+            }
+            key = key * CODE_RADIX + symbol;
+        }
+        return key;
+    }
+
+    public static int compare(long a, long b) {
+        return Long.compare(a, b);
+    }
+
+    /**
+     * A well mixed hash; neighbouring plates differ mostly in their low bits, which
+     * {@link Long#hashCode(long)} would keep as they are.
+     */
+    public static int hash(long packed) {
+        long h = packed * 0x9E3779B97F4A7C15L;
+        return (int) (h ^ (h >>> 32));
+    }
+
+    /**
+     * Writes the plate as {@link LicencePlate#toString()} would into {@code buffer}, starting at
+     * {@code offset}, which needs room for {@link #MAX_FORMATTED_LENGTH} characters.
+     *
+     * @return the number of characters written
+     */
+    public static int format(long packed, char[] buffer, int offset) {
+        int position = writeCode(packed, buffer, offset);
+        // Special plates carry neither separator, identifier nor modifier in their presentation
+        boolean special = isSpecial(packed);
+        if (!special) {
+            buffer[position++] = '-';
+            position = writeIdentifier(packed, buffer, position);
+        }
+        position = writeNumber(packed, buffer, position);
+        int modifier = (int) ((packed >>> MODIFIER_SHIFT) & MODIFIER_MASK);
+        if (!special && modifier > 0)
+            buffer[position++] = MODIFIERS[modifier];
+        return position - offset;
+    }
+
+    public static String toString(long packed) {
+        char[] buffer = new char[MAX_FORMATTED_LENGTH];
+        return new String(buffer, 0, format(packed, buffer, 0));
+    }
+
+    public static String distinguisherCode(long packed) {
+        char[] buffer = new char[MAX_CODE_LENGTH];
+        return new String(buffer, 0, writeCode(packed, buffer, 0));
+    }
+
+    public static boolean isDeprecated(long packed) {
+        return ((packed >>> FLAGS_SHIFT) & DEPRECATED_FLAG) != 0;
+    }
+
+    public static boolean isSpecial(long packed) {
+        return ((packed >>> FLAGS_SHIFT) & SPECIAL_FLAG) != 0;
+    }
+
+    public static String identifier(long packed) {
+        char[] buffer = new char[MAX_IDENTIFIER_LENGTH];
+        return new String(buffer, 0, writeIdentifier(packed, buffer, 0));
+    }
+
+    public static String number(long packed) {
+        char[] buffer = new char[MAX_DIGITS];
+        return new String(buffer, 0, writeNumber(packed, buffer, 0));
+    }
+
+    public static String modifier(long packed) {
+        return MODIFIER_STRINGS[(int) ((packed >>> MODIFIER_SHIFT) & MODIFIER_MASK)];
+    }
+
+    private static int writeCode(long packed, char[] buffer, int position) {
+        int code = (int) ((packed >>> CODE_SHIFT) & CODE_MASK);
+        for (int divisor = CODE_RADIX * CODE_RADIX; divisor > 0; divisor /= CODE_RADIX) {
+            int symbol = code / divisor % CODE_RADIX;
+            if (symbol > 0)
+                buffer[position++] = DistinguisherIndex.character(symbol - 1);
+        }
+        return position;
+    }
+
+    private static int writeIdentifier(long packed, char[] buffer, int position) {
+        int identifier = (int) ((packed >>> IDENTIFIER_SHIFT) & IDENTIFIER_MASK);
+        for (int shift = LETTER_BITS; shift >= 0; shift -= LETTER_BITS) {
+            int letter = (int) ((identifier >>> shift) & LETTER_MASK);
+            if (letter > 0)
+                buffer[position++] = (char) ('A' + letter - 1);
+        }
+        return position;
+    }
+
+    private static int writeNumber(long packed, char[] buffer, int position) {
+        int digits = (int) ((packed >>> DIGITS_SHIFT) & DIGITS_MASK);
+        int value = (int) ((packed >>> NUMBER_SHIFT) & NUMBER_MASK);
+        for (int i = position + digits - 1; i >= position; i--) {
+            buffer[i] = (char) ('0' + value % 10);
+            value /= 10;
+        }
+        return position + digits;
+    }
+
+    private static int encodeIdentifier(String identifier) {
+        if (identifier.length() > MAX_IDENTIFIER_LENGTH)
+            return -1;
+        int key = 0;
+        for (int i = 0; i < MAX_IDENTIFIER_LENGTH; i++) {
+            int letter = 0;
+            if (i < identifier.length()) {
+                char c = identifier.charAt(i);
+                if (c < 'A' || c > 'Z')
+                    return -1;
+                letter = c - 'A' + 1;
+            }
+            key = key << LETTER_BITS | letter;
+        }
+        return key;
+    }
+
+    private static int encodeModifier(String modifier) {
+        for (int i = 0; i < MODIFIER_STRINGS.length; i++) {
+            if (MODIFIER_STRINGS[i].equals(modifier))
+                return i;
+        }
+        return -1;
+    }
+}
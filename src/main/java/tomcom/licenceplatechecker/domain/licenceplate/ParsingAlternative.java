@@ -0,0 +1,7 @@
+package tomcom.licenceplatechecker.domain.licenceplate;
+
+/**
+ * One possible interpretation of an ambiguous input, with a confidence between 0 and 1 in
+ * thousandths. The confidences of all alternatives of an input add up to 1.
+ */
+public record ParsingAlternative(LicencePlate licencePlate, double confidence) { }
@@ -0,0 +1,27 @@
+package tomcom.licenceplatechecker.domain.licenceplate;
+
+/**
+ * Kind of a parsed {@link LicencePlate}, derived from its distinguisher and identifier.
+ */
+public enum PlateCategory {
+    CIVILIAN,
+    RED,
+    BUNDESWEHR,
+    NATO,
+    FEDERAL_POLICE,
+    THW,
+    SPECIAL;
+
+    public static PlateCategory of(LicencePlate licencePlate) {
+        if (!Boolean.TRUE.equals(licencePlate.distinguisher.special))
+            return licencePlate.identifier.isEmpty() ? RED : CIVILIAN;
+
+        return switch (licencePlate.distinguisher.code) {
+            case "Y" -> BUNDESWEHR;
+            case "X" -> NATO;
+            case "BP" -> FEDERAL_POLICE;
+            case "THW" -> THW;
+            default -> SPECIAL;
+        };
+    }
+}
@@ -0,0 +1,15 @@
+package tomcom.licenceplatechecker.domain.licenceplate;
+
+/**
+ * Machine-readable reason why a licence plate was rejected.
+ */
+public enum ValidationErrorCode {
+    EMPTY_INPUT,
+    INVALID_DISTINGUISHER,
+    UNKNOWN_DISTINGUISHER,
+    INVALID_CHARACTERS,
+    INVALID_FORMAT,
+    FORBIDDEN_IDENTIFIER,
+    FORBIDDEN_COMBINATION,
+    AMBIGUOUS
+}
@@ -0,0 +1,62 @@
+package tomcom.licenceplatechecker.domain.licenceplate;
+
+import tomcom.licenceplatechecker.domain.licenceplate.exception.AmbiguousLicencePlateException;
+import tomcom.licenceplatechecker.domain.licenceplate.exception.InvalidLicencePlateException;
+
+import java.util.List;
+
+/**
+ * Outcome of a licence plate validation.
+ * <p>
+ * Invalid and ambiguous input is reported as a value instead of an exception, so rejecting
+ * a plate costs no stack trace. {@link #orElseThrow()} converts the outcome back into the
+ * exception based API where that is more convenient.
+ * </p>
+ */
+public sealed interface ValidationResult {
+
+    /**
+     * Returns the valid licence plate or throws the exception matching the failure.
+     */
+    LicencePlate orElseThrow();
+
+    static ValidationResult valid(LicencePlate licencePlate) {
+        return new Valid(licencePlate);
+    }
+
+    static ValidationResult invalid(ValidationErrorCode errorCode, String message) {
+        return new Invalid(errorCode, message);
+    }
+
+    static ValidationResult ambiguous(String message, List<ParsingAlternative> alternatives) {
+        return new Ambiguous(message, alternatives);
+    }
+
+    record Valid(LicencePlate licencePlate) implements ValidationResult {
+        @Override
+        public LicencePlate orElseThrow() {
+            return licencePlate;
+        }
+    }
+
+    record Invalid(ValidationErrorCode errorCode, String message) implements ValidationResult {
+        @Override
+        public LicencePlate orElseThrow() {
+            throw new InvalidLicencePlateException(message);
+        }
+    }
+
+    /**
+     * More than one interpretation is valid; the alternatives are ranked by confidence, highest first.
+     */
+    record Ambiguous(String message, List<ParsingAlternative> alternatives) implements ValidationResult {
+        public ValidationErrorCode errorCode() {
+            return ValidationErrorCode.AMBIGUOUS;
+        }
+
+        @Override
+        public LicencePlate orElseThrow() {
+            throw new AmbiguousLicencePlateException(message);
+        }
+    }
+}
@@ -0,0 +1,82 @@
+package tomcom.licenceplatechecker.domain.licenceplate.validator;
+
+import tomcom.licenceplatechecker.domain.licenceplate.LicencePlate;
+import tomcom.licenceplatechecker.domain.licenceplate.ParsingAlternative;
+import tomcom.licenceplatechecker.domain.licenceplate.PlateCategory;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+
+/**
+ * Ranks the interpretations of an ambiguous input.
+ * <p>
+ * Each interpretation is weighted by how common its distinguisher is and by its category.
+ * Registration numbers per district are not part of the data set, so the code length stands
+ * in for frequency: one-letter codes belong to the largest cities, three-letter codes mostly
+ * to small districts. Civilian plates are preferred over red and special plates, which are
+ * far less common on the road.
+ * </p>
+ */
+final class AlternativeRanking {
+
+    private static final int MAX_CODE_LENGTH = 3;
+    private static final int CONFIDENCE_SCALE = 1000;
+
+    private static final Comparator<ParsingAlternative> BY_CONFIDENCE =
+        Comparator.comparingDouble(ParsingAlternative::confidence).reversed()
+            .thenComparingInt(alternative -> alternative.licencePlate().distinguisher.code.length());
+
+    private AlternativeRanking() {}
+
+    /**
+     * Confidences are rounded to thousandths by the largest remainder method, so the rounded
+     * values still add up to exactly 1000 thousandths.
+     */
+    static List<ParsingAlternative> rank(List<LicencePlate> licencePlates) {
+        double[] weights = new double[licencePlates.size()];
+        double total = 0;
+        for (int i = 0; i < weights.length; i++) {
+            weights[i] = weight(licencePlates.get(i));
+            total += weights[i];
+        }
+
+        int[] thousandths = new int[weights.length];
+        double[] remainders = new double[weights.length];
+        int residue = CONFIDENCE_SCALE;
+        for (int i = 0; i < weights.length; i++) {
+            double scaled = weights[i] / total * CONFIDENCE_SCALE;
+            thousandths[i] = (int) scaled;
+            remainders[i] = scaled - thousandths[i];
+            residue -= thousandths[i];
+        }
+        for (; residue > 0; residue--) {
+            int largest = 0;
+            for (int i = 1; i < remainders.length; i++) {
+                if (remainders[i] > remainders[largest])
+                    largest = i;
+            }
+            thousandths[largest]++;
+            remainders[largest] = -1;
+        }
+
+        List<ParsingAlternative> alternatives = new ArrayList<>(weights.length);
+        for (int i = 0; i < weights.length; i++)
+            alternatives.add(new ParsingAlternative(licencePlates.get(i), thousandths[i] / (double) CONFIDENCE_SCALE));
+        alternatives.sort(BY_CONFIDENCE);
+        return List.copyOf(alternatives);
+    }
+
+    private static double weight(LicencePlate licencePlate) {
+        int frequency = Math.max(1, MAX_CODE_LENGTH + 1 - licencePlate.distinguisher.code.length());
+        return frequency * categoryWeight(PlateCategory.of(licencePlate));
+    }
+
+    private static double categoryWeight(PlateCategory category) {
+        return switch (category) {
+            case CIVILIAN -> 1.0;
+            case RED -> 0.5;
+            default -> 0.25;
+        };
+    }
+}
@@ -7,19 +7,28 @@ import java.util.Optional;
 
 public class BundeswehrValidator {
 
+    static final String CODE = "Y";
+
     private static final int MIN_NUMBER_LENGTH = 1;
     private static final int MAX_NUMBER_LENGTH = 6;
-    private static final String VALID_NUMBER_REGEX = "[0-9]{" + MIN_NUMBER_LENGTH + "," + MAX_NUMBER_LENGTH + "}";
 
     public Optional<LicencePlate> validate(Distinguisher distinguisher, String remainingPart, String modifier) {
+        return validate(distinguisher, remainingPart, 0, remainingPart.length(), modifier);
+    }
+
+    public Optional<LicencePlate> validate(Distinguisher distinguisher, CharSequence plate, int start, int end, String modifier) {
         if (!modifier.isEmpty()) {
             return Optional.empty();
         }
 
-        if (!remainingPart.matches(VALID_NUMBER_REGEX)) {
+        if (!PlateCharacters.isDigits(plate, start, end, MIN_NUMBER_LENGTH, MAX_NUMBER_LENGTH)) {
             return Optional.empty();
         }
 
-        return Optional.of(LicencePlate.of(distinguisher, "", remainingPart, ""));
+        return Optional.of(LicencePlate.of(distinguisher, "", plate.subSequence(start, end).toString(), ""));
+    }
+
+    static ValidationRuleBundle.NumberRules rules() {
+        return new ValidationRuleBundle.NumberRules(CODE, MIN_NUMBER_LENGTH, MAX_NUMBER_LENGTH);
     }
 }
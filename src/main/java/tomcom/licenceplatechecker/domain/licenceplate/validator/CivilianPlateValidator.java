@@ -2,10 +2,8 @@ package tomcom.licenceplatechecker.domain.licenceplate.validator;
 
 import tomcom.licenceplatechecker.domain.licenceplate.Distinguisher;
 import tomcom.licenceplatechecker.domain.licenceplate.LicencePlate;
-import tomcom.licenceplatechecker.domain.licenceplate.exception.InvalidLicencePlateException;
 
 import java.util.Optional;
-import java.util.Set;
 
 /**
  * Validator for German civilian licence plates.
@@ -14,7 +12,7 @@ import java.util.Set;
  * Format: [Distinguisher Code]-[Identifier][Number][Modifier]
  * <ul>
  *   <li>Distinguisher: 1-3 letters (validated separately)</li>
- *   <li>Identifier: 0-2 letters (no umlauts, no forbidden combinations)</li>
+ *   <li>Identifier: 0-2 letters A-Z (no umlauts, no forbidden combinations)</li>
  *   <li>Number: 1-4 digits</li>
  *   <li>Modifier: Optional 'H' (historical) or 'E' (electric)</li>
  * </ul>
@@ -22,12 +20,9 @@ import java.util.Set;
  */
 public class CivilianPlateValidator {
 
-    private static final int MAX_TOTAL_LENGTH = 8;
-    private static final int MAX_IDENTIFIER_LENGTH = 2;
-    private static final int MAX_NUMBER_LENGTH = 4;
-    private static final String DIGITS_ONLY_REGEX = "[0-9]+";
-    
-    private static final Set<Character> FORBIDDEN_UMLAUT_CHARS = Set.of('Ä', 'Ö', 'Ü');
+    static final int MAX_TOTAL_LENGTH = 8;
+    static final int MAX_IDENTIFIER_LENGTH = 2;
+    static final int MAX_NUMBER_LENGTH = 4;
 
     private final RedPlateValidator dealerPlateValidator;
 
@@ -35,64 +30,89 @@ public class CivilianPlateValidator {
         this.dealerPlateValidator = new RedPlateValidator();
     }
 
-
     public Optional<LicencePlate> validate(Distinguisher distinguisher, String remainingPart, String modifier) {
-        if (remainingPart.isEmpty()) {
+        return validate(distinguisher, remainingPart, 0, remainingPart.length(), modifier);
+    }
+
+    /**
+     * Validates {@code plate[start, end)} as identifier and number, without copying the input.
+     */
+    public Optional<LicencePlate> validate(Distinguisher distinguisher, CharSequence plate, int start, int end, String modifier) {
+        if (start == end) {
             return Optional.empty();
         }
 
-        IdentifierExtractionResult identifierResult = extractIdentifier(remainingPart);
-        String identifier = identifierResult.identifier();
-        String number = identifierResult.remainingString();
+        int identifierEnd = findIdentifierEnd(plate, start, end);
+        if (identifierEnd < 0) {
+            return Optional.empty();
+        }
 
         // Handle dealer plate: no identifier, number starts with "06"
-        if (identifier.isEmpty()) {
-            return dealerPlateValidator.validate(distinguisher, number, modifier);
+        if (identifierEnd == start) {
+            return dealerPlateValidator.validate(distinguisher, plate, start, end, modifier);
         }
 
-        return validateStandardPlate(distinguisher, identifier, number, modifier);
+        return validateStandardPlate(distinguisher, plate, start, identifierEnd, end, modifier);
     }
 
-    private IdentifierExtractionResult extractIdentifier(String input) {
-        StringBuilder identifier = new StringBuilder();
-        int position = 0;
-
-        while (position < input.length() 
-               && Character.isAlphabetic(input.charAt(position)) 
-               && identifier.length() < MAX_IDENTIFIER_LENGTH) {
-            
-            char currentChar = input.charAt(position);
-            
-            if (FORBIDDEN_UMLAUT_CHARS.contains(currentChar)) {
-                throw new InvalidLicencePlateException(
-                    "Nur Buchstaben A-Z, Ziffern 0-9 sowie '-' und Leerzeichen erlaubt"
-                );
+    /**
+     * Checks whether the identifier at the start of the given part contains a letter outside A-Z,
+     * e.g. an umlaut or an accented or Greek look-alike. Umlauts are allowed in distinguisher codes
+     * but never in the identifier.
+     */
+    public boolean hasInvalidIdentifierLetter(String remainingPart) {
+        return hasInvalidIdentifierLetter(remainingPart, 0, remainingPart.length());
+    }
+
+    public boolean hasInvalidIdentifierLetter(CharSequence plate, int start, int end) {
+        for (int position = start; position < end && position < start + MAX_IDENTIFIER_LENGTH; position++) {
+            char currentChar = plate.charAt(position);
+            if (!Character.isAlphabetic(currentChar)) {
+                return false;
+            }
+            if (!PlateCharacters.isLetter(currentChar)) {
+                return true;
             }
-            
-            identifier.append(currentChar);
-            position++;
         }
+        return false;
+    }
 
-        String remaining = input.substring(position);
-        return new IdentifierExtractionResult(identifier.toString(), remaining);
+    static ValidationRuleBundle.CivilianRules rules() {
+        return new ValidationRuleBundle.CivilianRules(MAX_TOTAL_LENGTH, MAX_IDENTIFIER_LENGTH, MAX_NUMBER_LENGTH);
     }
 
-    private Optional<LicencePlate> validateStandardPlate(Distinguisher distinguisher, String identifier, String number, String modifier) {
-        if (identifier.length() > MAX_IDENTIFIER_LENGTH) {
-            return Optional.empty();
+    /**
+     * Finds the end of the leading identifier letters, or returns -1 if they contain a letter outside A-Z.
+     */
+    private int findIdentifierEnd(CharSequence plate, int start, int end) {
+        int position = start;
+
+        while (position < end
+               && Character.isAlphabetic(plate.charAt(position))
+               && position < start + MAX_IDENTIFIER_LENGTH) {
+
+            if (!PlateCharacters.isLetter(plate.charAt(position))) {
+                return -1;
+            }
+            position++;
         }
 
-        if (!number.matches(DIGITS_ONLY_REGEX) || number.length() > MAX_NUMBER_LENGTH) {
+        return position;
+    }
+
+    private Optional<LicencePlate> validateStandardPlate(Distinguisher distinguisher, CharSequence plate, int start,
+                                                         int identifierEnd, int end, String modifier) {
+        if (!PlateCharacters.isDigits(plate, identifierEnd, end, 1, MAX_NUMBER_LENGTH)) {
             return Optional.empty();
         }
 
-        int totalLength = distinguisher.code.length() + identifier.length() + number.length() + modifier.length();
+        int totalLength = distinguisher.code.length() + (end - start) + modifier.length();
         if (totalLength > MAX_TOTAL_LENGTH) {
             return Optional.empty();
         }
 
+        String identifier = plate.subSequence(start, identifierEnd).toString();
+        String number = plate.subSequence(identifierEnd, end).toString();
         return Optional.of(LicencePlate.of(distinguisher, identifier, number, modifier));
     }
-
-    private record IdentifierExtractionResult(String identifier, String remainingString) {}
 }
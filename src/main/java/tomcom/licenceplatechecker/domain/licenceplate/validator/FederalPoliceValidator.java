@@ -3,8 +3,8 @@ package tomcom.licenceplatechecker.domain.licenceplate.validator;
 import tomcom.licenceplatechecker.domain.licenceplate.Distinguisher;
 import tomcom.licenceplatechecker.domain.licenceplate.LicencePlate;
 
+import java.util.List;
 import java.util.Optional;
-import java.util.Set;
 
 /**
  * Validator for German Federal Police (BP - Bundespolizei) licence plates.
@@ -41,14 +41,21 @@ import java.util.Set;
  */
 public class FederalPoliceValidator {
 
+    static final String CODE = "BP";
+    private static final String ELECTRIC_MODIFIER = "E";
+
     private static final int RED_PLATE_MIN = 600;
     private static final int RED_PLATE_MAX = 699;
+    private static final int RED_PLATE_LENGTH = 4;
 
     private static final int MIN_SEQUENTIAL_LENGTH = 1;
     private static final int MAX_SEQUENTIAL_LENGTH = 3;
+    private static final int VEHICLE_TYPE_CODE_LENGTH = 2;
+    private static final int MIN_NUMBER_LENGTH = VEHICLE_TYPE_CODE_LENGTH + MIN_SEQUENTIAL_LENGTH;
+    private static final int MAX_NUMBER_LENGTH = VEHICLE_TYPE_CODE_LENGTH + MAX_SEQUENTIAL_LENGTH;
 
     // Valid vehicle type code ranges
-    private static final Set<VehicleTypeRange> VEHICLE_TYPE_RANGES = Set.of(
+    private static final List<VehicleTypeRange> VEHICLE_TYPE_RANGES = List.of(
         new VehicleTypeRange(10, 12, VehicleType.MOTORCYCLES),
         new VehicleTypeRange(15, 19, VehicleType.PASSENGER_CARS),
         new VehicleTypeRange(20, 24, VehicleType.OFFROAD_PASSENGER_CARS),
@@ -62,78 +69,87 @@ public class FederalPoliceValidator {
         new VehicleTypeRange(60, 61, VehicleType.ELECTRIC_VEHICLES)
     );
 
+    // Vehicle type for every two-digit code, null where the code is not assigned
+    private static final VehicleType[] VEHICLE_TYPES_BY_CODE = vehicleTypeTable();
+
     public Optional<LicencePlate> validate(Distinguisher distinguisher, String remainingPart, String modifier) {
+        return validate(distinguisher, remainingPart, 0, remainingPart.length(), modifier);
+    }
+
+    public Optional<LicencePlate> validate(Distinguisher distinguisher, CharSequence plate, int start, int end, String modifier) {
         // Must be only digits
-        if (!remainingPart.matches("[0-9]+")) {
+        if (!PlateCharacters.isDigits(plate, start, end, 1, Integer.MAX_VALUE)) {
             return Optional.empty();
         }
 
         // Check if it's a red test drive plate (BP-0600 to BP-0699)
-        if (isRedPlate(remainingPart)) {
+        if (isRedPlate(plate, start, end)) {
             // Red plates do not allow modifiers
             if (!modifier.isEmpty()) {
                 return Optional.empty();
             }
-            return Optional.of(LicencePlate.of(distinguisher, "", remainingPart, ""));
+            return Optional.of(LicencePlate.of(distinguisher, "", plate.subSequence(start, end).toString(), ""));
         }
 
         // Regular BP plates: must be 3-5 digits (2 digits vehicle type + 1-3 digits sequential)
-        int length = remainingPart.length();
-        if (length < 3 || length > 5) {
+        int length = end - start;
+        if (length < MIN_NUMBER_LENGTH || length > MAX_NUMBER_LENGTH) {
             return Optional.empty();
         }
 
-        String vehicleTypeCode = remainingPart.substring(0, 2);
-        int vehicleType = Integer.parseInt(vehicleTypeCode);
-
-        VehicleTypeRange vehicleTypeRange = getVehicleTypeRange(vehicleType);
-        if (vehicleTypeRange == null) {
+        VehicleType vehicleType = VEHICLE_TYPES_BY_CODE[PlateCharacters.parseDigits(plate, start, start + VEHICLE_TYPE_CODE_LENGTH)];
+        if (vehicleType == null) {
             return Optional.empty();
         }
 
-        // Extract sequential number (remaining 1-3 digits)
-        String sequentialNumber = remainingPart.substring(2);
-        if (sequentialNumber.length() < MIN_SEQUENTIAL_LENGTH ||
-            sequentialNumber.length() > MAX_SEQUENTIAL_LENGTH) {
+        // Sequential number (remaining 1-3 digits)
+        int sequentialLength = length - VEHICLE_TYPE_CODE_LENGTH;
+        if (sequentialLength < MIN_SEQUENTIAL_LENGTH ||
+            sequentialLength > MAX_SEQUENTIAL_LENGTH) {
             return Optional.empty();
         }
 
         if (!modifier.isEmpty()) {
             // Only electric vehicles (60-61) can have E modifier
-            if (vehicleTypeRange.type() != VehicleType.ELECTRIC_VEHICLES || !modifier.equals("E")) {
+            if (vehicleType != VehicleType.ELECTRIC_VEHICLES || !modifier.equals(ELECTRIC_MODIFIER)) {
                 return Optional.empty();
             }
         } else {
             // Electric vehicles must have E modifier
-            if (vehicleTypeRange.type() == VehicleType.ELECTRIC_VEHICLES) {
+            if (vehicleType == VehicleType.ELECTRIC_VEHICLES) {
                 return Optional.empty();
             }
         }
 
-        return Optional.of(LicencePlate.of(distinguisher, "", remainingPart, modifier));
+        return Optional.of(LicencePlate.of(distinguisher, "", plate.subSequence(start, end).toString(), modifier));
     }
 
     /**
      * Checks if the number is a BP red test drive plate.
      * BP has special red plates in the range 0600-0699 for test drives.
      *
-     * @param number the number to check
+     * @param plate the plate containing the number
+     * @param start start of the number (inclusive)
+     * @param end end of the number (exclusive)
      * @return true if it's a valid BP red plate number
      */
-    private boolean isRedPlate(String number) {
-        if (!number.matches("[0-9]{4}")) {
+    private boolean isRedPlate(CharSequence plate, int start, int end) {
+        if (!PlateCharacters.isDigits(plate, start, end, RED_PLATE_LENGTH, RED_PLATE_LENGTH)) {
             return false;
         }
 
-        int value = Integer.parseInt(number);
+        int value = PlateCharacters.parseDigits(plate, start, end);
         return value >= RED_PLATE_MIN && value <= RED_PLATE_MAX;
     }
 
-    private VehicleTypeRange getVehicleTypeRange(int vehicleTypeCode) {
-        return VEHICLE_TYPE_RANGES.stream()
-            .filter(range -> vehicleTypeCode >= range.min() && vehicleTypeCode <= range.max())
-            .findFirst()
-            .orElse(null);
+    private static VehicleType[] vehicleTypeTable() {
+        VehicleType[] table = new VehicleType[100];
+        for (VehicleTypeRange range : VEHICLE_TYPE_RANGES) {
+            for (int code = range.min(); code <= range.max(); code++) {
+                table[code] = range.type();
+            }
+        }
+        return table;
     }
 
     public Optional<VehicleType> getVehicleType(String number) {
@@ -142,17 +158,26 @@ public class FederalPoliceValidator {
         }
 
         // Check if it's a red plate
-        if (isRedPlate(number)) {
+        if (isRedPlate(number, 0, number.length())) {
             return Optional.of(VehicleType.TEST_DRIVE);
         }
 
         // Extract vehicle type code
-        String vehicleTypeCode = number.substring(0, 2);
-        int code = Integer.parseInt(vehicleTypeCode);
+        if (!PlateCharacters.isDigit(number.charAt(0)) || !PlateCharacters.isDigit(number.charAt(1))) {
+            return Optional.empty();
+        }
 
-        VehicleTypeRange range = getVehicleTypeRange(code);
-        return range != null ? Optional.of(range.type()) : Optional.empty();
+        return Optional.ofNullable(VEHICLE_TYPES_BY_CODE[PlateCharacters.parseDigits(number, 0, VEHICLE_TYPE_CODE_LENGTH)]);
     }
+
+    static ValidationRuleBundle.FederalPoliceRules rules() {
+        List<ValidationRuleBundle.VehicleTypeRange> vehicleTypes = VEHICLE_TYPE_RANGES.stream()
+            .map(range -> new ValidationRuleBundle.VehicleTypeRange(range.min(), range.max(), range.type().name()))
+            .toList();
+        return new ValidationRuleBundle.FederalPoliceRules(CODE, VEHICLE_TYPE_CODE_LENGTH, vehicleTypes, VehicleType.ELECTRIC_VEHICLES.name(), ELECTRIC_MODIFIER,
+            RED_PLATE_LENGTH, RED_PLATE_MIN, RED_PLATE_MAX, MIN_NUMBER_LENGTH, MAX_NUMBER_LENGTH);
+    }
+
     private record VehicleTypeRange(int min, int max, VehicleType type) {}
 
     public enum VehicleType {
@@ -1,26 +1,240 @@
 package tomcom.licenceplatechecker.domain.licenceplate.validator;
 
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.io.Resource;
+import org.springframework.stereotype.Component;
+import tomcom.licenceplatechecker.domain.licenceplate.PackedLicencePlate;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashSet;
+import java.util.List;
 import java.util.Set;
 
+/**
+ * Identifiers that must not be issued, either with any distinguisher or with a specific one.
+ * <p>
+ * The bans are read from a data file with one entry per line: {@code XY} bans the identifier
+ * everywhere, {@code AB-XY} only together with distinguisher {@code AB}. Lines starting with
+ * '#' are comments. The entries are compiled into a few packed tables, so a lookup allocates
+ * nothing and costs a bit test in the common case:
+ * <ul>
+ *   <li>identifiers (1-2 letters A-Z) are numbered densely; one bitset holds the identifiers
+ *   banned everywhere, a second one those that occur in any banned pair</li>
+ *   <li>banned pairs are encoded as {@code code * IDENTIFIERS + identifier}, with the code as in
+ *   {@link PackedLicencePlate}, in a sorted array that is only searched if the second bitset
+ *   has the identifier</li>
+ * </ul>
+ * </p>
+ */
+@Component
 public final class ForbiddenCombinations {
-    private ForbiddenCombinations() {}
 
-    static final Set<String> FORBIDDEN_IDENTIFIERS = Set.of("HJ", "KZ", "NS", "SA", "SS");
-    static final Set<String> FORBIDDEN_PAIRS = Set.of(
-        "D-IS", "SU-IS", "MR-IS", "DA-IS",
-        "S-A", "S-S", "S-D", "K-Z", "S-ED",
-        "N-PD", "N-SU", "N-S",
-        "WAF-FE", "SK-IN", "IZ-AN", "HEI-L",
-        "SU-FF", "R-NS", "BUL-LE", "MO-RD"
-    );
+    public static final String DEFAULT_RESOURCE = "forbidden-combinations.txt";
+
+    private static final int LETTERS = 26;
+    private static final int IDENTIFIERS = 1 + LETTERS + LETTERS * LETTERS; // 0 is never used
+    static final char PAIR_SEPARATOR = '-';
+    private static final char COMMENT = '#';
+
+    private final long[] identifiers = new long[(IDENTIFIERS + 63) / 64];
+    private final long[] pairIdentifiers = new long[(IDENTIFIERS + 63) / 64];
+    private final int[] pairs;
+    private final List<String> entries;
+
+    @Autowired
+    public ForbiddenCombinations(@Value("${licence-plate.forbidden-combinations:classpath:" + DEFAULT_RESOURCE + "}") Resource location) {
+        this(entries(location));
+    }
+
+    private ForbiddenCombinations(List<String> entries) {
+        List<Integer> pairKeys = new ArrayList<>();
+        for (String entry : entries) {
+            int separator = entry.indexOf(PAIR_SEPARATOR);
+            String identifier = entry.substring(separator + 1);
+            int identifierId = identifierId(identifier, 0, identifier.length());
+            if (identifierId < 0)
+                throw new IllegalArgumentException(String.format("Erkennungsnummer %s in verbotener Kombination %s ungültig", identifier, entry));
+            if (separator < 0) {
+                set(identifiers, identifierId);
+                continue;
+            }
+
+            int codeKey = PackedLicencePlate.encodeCode(entry, 0, separator);
+            if (codeKey < 0)
+                throw new IllegalArgumentException(String.format("Unterscheidungszeichen in verbotener Kombination %s ungültig", entry));
+            set(pairIdentifiers, identifierId);
+            pairKeys.add(codeKey * IDENTIFIERS + identifierId);
+        }
+        this.pairs = pairKeys.stream().mapToInt(Integer::intValue).sorted().distinct().toArray();
+        this.entries = List.copyOf(entries);
+    }
+
+    /**
+     * The bans shipped with the application.
+     */
+    public static ForbiddenCombinations defaults() {
+        return Defaults.INSTANCE;
+    }
+
+    /**
+     * Compiles the given entries, in the notation of the data file.
+     */
+    public static ForbiddenCombinations of(Iterable<String> entries) {
+        List<String> list = new ArrayList<>();
+        entries.forEach(list::add);
+        return new ForbiddenCombinations(list);
+    }
+
+    /**
+     * Reads entries in the notation of the data file.
+     *
+     * @throws IllegalArgumentException if an entry is malformed
+     */
+    public static ForbiddenCombinations read(InputStream input) throws IOException {
+        return new ForbiddenCombinations(entries(input));
+    }
+
+    private static List<String> entries(Resource location) {
+        try (InputStream input = location.getInputStream()) {
+            return entries(input);
+        } catch (IOException ex) {
+            throw new UncheckedIOException("Verbotene Kombinationen " + location.getDescription() + " konnten nicht gelesen werden", ex);
+        }
+    }
+
+    private static List<String> entries(InputStream input) throws IOException {
+        BufferedReader reader = new BufferedReader(new InputStreamReader(input, StandardCharsets.UTF_8));
+        Set<String> entries = new LinkedHashSet<>();
+        String line;
+        while ((line = reader.readLine()) != null) {
+            line = line.trim();
+            if (!line.isEmpty() && line.charAt(0) != COMMENT)
+                entries.add(line);
+        }
+        return new ArrayList<>(entries);
+    }
+
+    public boolean isForbiddenIdentifier(CharSequence identifier) {
+        return isForbiddenIdentifier(identifier, 0, identifier.length());
+    }
+
+    /**
+     * Whether {@code plate[start, end)} is an identifier that is banned with every distinguisher.
+     */
+    public boolean isForbiddenIdentifier(CharSequence plate, int start, int end) {
+        return isForbiddenIdentifier(identifierId(plate, start, end));
+    }
+
+    public boolean isForbiddenPair(CharSequence distinguisherCode, CharSequence identifier) {
+        return isForbiddenPair(distinguisherCode, identifier, 0, identifier.length());
+    }
 
-    public static boolean isForbiddenIdentifier(String identifier) {
-        if (identifier == null) return false;
-        return FORBIDDEN_IDENTIFIERS.contains(identifier);
+    /**
+     * Whether {@code plate[start, end)} is an identifier that is banned with the given distinguisher.
+     */
+    public boolean isForbiddenPair(CharSequence distinguisherCode, CharSequence plate, int start, int end) {
+        return isForbiddenPair(distinguisherCode, identifierId(plate, start, end));
     }
 
-    public static boolean isForbiddenPair(String pair) {
-        if (pair == null) return false;
-        return FORBIDDEN_PAIRS.contains(pair);
+    /**
+     * Whether {@code plate[start, end)} must not be issued with the given distinguisher, for either reason.
+     */
+    public boolean isForbidden(CharSequence distinguisherCode, CharSequence plate, int start, int end) {
+        int identifierId = identifierId(plate, start, end);
+        return isForbiddenIdentifier(identifierId) || isForbiddenPair(distinguisherCode, identifierId);
+    }
+
+    /**
+     * Variant of {@link #isForbidden(CharSequence, CharSequence, int, int)} for the first
+     * {@code length} characters of a buffer, as used by the enumeration.
+     */
+    boolean isForbidden(CharSequence distinguisherCode, char[] identifier, int length) {
+        int identifierId = identifierId(identifier[0], length > 1 ? identifier[1] : 0, length);
+        return isForbiddenIdentifier(identifierId) || isForbiddenPair(distinguisherCode, identifierId);
+    }
+
+    private boolean isForbiddenIdentifier(int identifierId) {
+        return identifierId > 0 && get(identifiers, identifierId);
+    }
+
+    private boolean isForbiddenPair(CharSequence distinguisherCode, int identifierId) {
+        if (identifierId < 0 || !get(pairIdentifiers, identifierId))
+            return false;
+        int codeKey = PackedLicencePlate.encodeCode(distinguisherCode, 0, distinguisherCode.length());
+        return codeKey >= 0 && Arrays.binarySearch(pairs, codeKey * IDENTIFIERS + identifierId) >= 0;
+    }
+
+    /**
+     * The entries in the notation of the data file, without duplicates and comments.
+     */
+    List<String> entries() {
+        return entries;
+    }
+
+    /**
+     * All identifiers that must not be issued together with the given distinguisher code.
+     */
+    Set<String> forbiddenIdentifiers(String distinguisherCode) {
+        Set<String> forbidden = new LinkedHashSet<>();
+        String pairPrefix = distinguisherCode + PAIR_SEPARATOR;
+        for (String entry : entries) {
+            if (entry.indexOf(PAIR_SEPARATOR) < 0)
+                forbidden.add(entry);
+            else if (entry.startsWith(pairPrefix))
+                forbidden.add(entry.substring(pairPrefix.length()));
+        }
+        return forbidden;
+    }
+
+    /**
+     * Numbers identifiers of 1-2 letters A-Z from 1; returns -1 for anything else.
+     */
+    private static int identifierId(CharSequence plate, int start, int end) {
+        int length = end - start;
+        if (length < 1 || length > 2)
+            return -1;
+        return identifierId(plate.charAt(start), length > 1 ? plate.charAt(start + 1) : 0, length);
+    }
+
+    private static int identifierId(char firstChar, char secondChar, int length) {
+        int first = letter(firstChar);
+        if (length == 1)
+            return first < 0 ? -1 : 1 + first;
+        int second = letter(secondChar);
+        return length != 2 || first < 0 || second < 0 ? -1 : 1 + LETTERS + first * LETTERS + second;
+    }
+
+    private static int letter(char c) {
+        return c >= 'A' && c <= 'Z' ? c - 'A' : -1;
+    }
+
+    private static void set(long[] bits, int index) {
+        bits[index >>> 6] |= 1L << index;
+    }
+
+    private static boolean get(long[] bits, int index) {
+        return (bits[index >>> 6] & (1L << index)) != 0;
+    }
+
+    private static final class Defaults {
+        private static final ForbiddenCombinations INSTANCE = load();
+
+        private static ForbiddenCombinations load() {
+            try (InputStream input = ForbiddenCombinations.class.getClassLoader().getResourceAsStream(DEFAULT_RESOURCE)) {
+                if (input == null)
+                    throw new IllegalStateException("Verbotene Kombinationen " + DEFAULT_RESOURCE + " nicht gefunden");
+                return read(input);
+            } catch (IOException ex) {
+                throw new UncheckedIOException(ex);
+            }
+        }
     }
 }
@@ -0,0 +1,176 @@
+package tomcom.licenceplatechecker.domain.licenceplate.validator;
+
+import tomcom.licenceplatechecker.domain.licenceplate.DistinguisherIndex;
+import tomcom.licenceplatechecker.domain.licenceplate.FuzzyMatch;
+import tomcom.licenceplatechecker.domain.licenceplate.FuzzyValidationResult;
+import tomcom.licenceplatechecker.domain.licenceplate.LicencePlate;
+import tomcom.licenceplatechecker.domain.licenceplate.ParsingAlternative;
+import tomcom.licenceplatechecker.domain.licenceplate.ValidationResult;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.BiFunction;
+
+/**
+ * Finds the valid plates within k OCR substitutions (O/0, I/1, B/8, S/5) of an input.
+ * <p>
+ * Instead of enumerating all variants and validating each, a depth-first search substitutes
+ * one position at a time and abandons a branch as soon as the prefix can no longer form a
+ * plate: the leading letters must follow the distinguisher trie with at most two identifier
+ * letters after the longest code, followed by at most six digits and an optional trailing H or
+ * E. Only complete variants that pass this shape are run through the regular validation.
+ * The search stops when the latency budget is used up.
+ * </p>
+ */
+final class FuzzyPlateMatcher {
+
+    private static final int MAX_IDENTIFIER_LENGTH = 2;
+    private static final int MAX_DIGITS = 6;
+    private static final int DEADLINE_CHECK_INTERVAL = 64;
+
+    private static final Comparator<FuzzyMatch> BY_SUBSTITUTIONS =
+        Comparator.comparingInt(FuzzyMatch::substitutions).thenComparing(match -> match.licencePlate().toString());
+
+    private final DistinguisherIndex index;
+    private final BiFunction<DistinguisherIndex, PlateTokens, ValidationResult> validation;
+    private final char[] buffer;
+    private final int length;
+    private final int separatedEnd;
+    private final PlateTokens tokens;
+    private final int maxSubstitutions;
+    private final long deadline;
+    private final Map<String, FuzzyMatch> matches = new LinkedHashMap<>();
+
+    private int steps;
+    private boolean timedOut;
+
+    private FuzzyPlateMatcher(DistinguisherIndex index, PlateTokens input, int maxSubstitutions, long budgetNanos,
+                              BiFunction<DistinguisherIndex, PlateTokens, ValidationResult> validation) {
+        this.index = index;
+        this.validation = validation;
+        this.length = input.length();
+        this.buffer = new char[length];
+        for (int i = 0; i < length; i++)
+            buffer[i] = input.charAt(i);
+        this.separatedEnd = input.distinguisherEnd();
+        this.tokens = PlateTokens.wrap(buffer, length, separatedEnd);
+        this.maxSubstitutions = maxSubstitutions;
+        this.deadline = System.nanoTime() + budgetNanos;
+    }
+
+    static FuzzyValidationResult match(DistinguisherIndex index, PlateTokens input, int maxSubstitutions, long budgetNanos,
+                                       BiFunction<DistinguisherIndex, PlateTokens, ValidationResult> validation) {
+        FuzzyPlateMatcher matcher = new FuzzyPlateMatcher(index, input, maxSubstitutions, budgetNanos, validation);
+        matcher.search(0, index.root(), 0, 0, 0);
+
+        List<FuzzyMatch> found = new ArrayList<>(matcher.matches.values());
+        found.sort(BY_SUBSTITUTIONS);
+        return new FuzzyValidationResult(List.copyOf(found), !matcher.timedOut);
+    }
+
+    /**
+     * @param node         trie node of the leading letters, or -1 once they left the trie
+     * @param codeEnd      end of the longest distinguisher code seen so far, 0 if none
+     * @param digits       digits read so far; 0 while still in the leading letters
+     */
+    private void search(int position, int node, int codeEnd, int digits, int substitutions) {
+        if (timedOut || isPastDeadline())
+            return;
+
+        if (position == length) {
+            if (digits > 0)
+                evaluate(substitutions);
+            return;
+        }
+
+        char original = buffer[position];
+        advance(position, original, node, codeEnd, digits, substitutions);
+
+        char confusable = confusable(original);
+        if (confusable != 0 && substitutions < maxSubstitutions) {
+            buffer[position] = confusable;
+            advance(position, confusable, node, codeEnd, digits, substitutions + 1);
+            buffer[position] = original;
+        }
+    }
+
+    private void advance(int position, char c, int node, int codeEnd, int digits, int substitutions) {
+        if (digits > 0) {
+            if (PlateCharacters.isDigit(c)) {
+                if (digits < MAX_DIGITS)
+                    search(position + 1, -1, codeEnd, digits + 1, substitutions);
+            } else if ((c == 'H' || c == 'E') && position == length - 1) {
+                search(position + 1, -1, codeEnd, digits, substitutions);
+            }
+            return;
+        }
+
+        if (PlateCharacters.isDigit(c)) {
+            // The leading letters end here: they need a code and at most two identifier letters
+            if (codeEnd > 0 && position - codeEnd <= MAX_IDENTIFIER_LENGTH && position >= separatedEnd)
+                search(position + 1, -1, codeEnd, 1, substitutions);
+            return;
+        }
+
+        if (!Character.isLetter(c))
+            return;
+
+        int next = node >= 0 ? index.step(node, c) : -1;
+        int nextCodeEnd = next >= 0 && index.isCode(next) ? position + 1 : codeEnd;
+
+        if (separatedEnd >= 0) {
+            // The separator fixes the code: [0, separatedEnd) must be exactly one distinguisher
+            if (position < separatedEnd && next < 0)
+                return;
+            if (position + 1 == separatedEnd && nextCodeEnd != separatedEnd)
+                return;
+            if (position >= separatedEnd) {
+                next = -1;
+                nextCodeEnd = separatedEnd;
+            }
+        }
+
+        if (next < 0 && (nextCodeEnd == 0 || position + 1 - nextCodeEnd > MAX_IDENTIFIER_LENGTH))
+            return;
+        search(position + 1, next, nextCodeEnd, 0, substitutions);
+    }
+
+    private void evaluate(int substitutions) {
+        ValidationResult result = validation.apply(index, tokens);
+        if (result instanceof ValidationResult.Valid valid) {
+            addMatch(valid.licencePlate(), substitutions);
+        } else if (result instanceof ValidationResult.Ambiguous ambiguous) {
+            for (ParsingAlternative alternative : ambiguous.alternatives())
+                addMatch(alternative.licencePlate(), substitutions);
+        }
+    }
+
+    private void addMatch(LicencePlate licencePlate, int substitutions) {
+        matches.merge(licencePlate.toString(), new FuzzyMatch(licencePlate, substitutions),
+            (existing, candidate) -> candidate.substitutions() < existing.substitutions() ? candidate : existing);
+    }
+
+    private boolean isPastDeadline() {
+        if (++steps % DEADLINE_CHECK_INTERVAL != 0)
+            return false;
+        timedOut = System.nanoTime() - deadline > 0;
+        return timedOut;
+    }
+
+    private static char confusable(char c) {
+        return switch (c) {
+            case 'O' -> '0';
+            case '0' -> 'O';
+            case 'I' -> '1';
+            case '1' -> 'I';
+            case 'B' -> '8';
+            case '8' -> 'B';
+            case 'S' -> '5';
+            case '5' -> 'S';
+            default -> 0;
+        };
+    }
+}
@@ -1,168 +1,260 @@
 package tomcom.licenceplatechecker.domain.licenceplate.validator;
 
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
 import tomcom.licenceplatechecker.domain.licenceplate.Distinguisher;
-import tomcom.licenceplatechecker.domain.licenceplate.DistinguisherRepository;
+import tomcom.licenceplatechecker.domain.licenceplate.DistinguisherCatalog;
+import tomcom.licenceplatechecker.domain.licenceplate.DistinguisherIndex;
+import tomcom.licenceplatechecker.domain.licenceplate.FuzzyValidationResult;
 import tomcom.licenceplatechecker.domain.licenceplate.LicencePlate;
+import tomcom.licenceplatechecker.domain.licenceplate.ValidationErrorCode;
+import tomcom.licenceplatechecker.domain.licenceplate.ValidationResult;
 import tomcom.licenceplatechecker.domain.licenceplate.exception.AmbiguousLicencePlateException;
 import tomcom.licenceplatechecker.domain.licenceplate.exception.InvalidLicencePlateException;
 
+import java.time.Duration;
 import java.util.ArrayList;
 import java.util.List;
-import java.util.Locale;
 import java.util.Optional;
-import java.util.Set;
 
 @Service
 public class LicencePlateValidationService {
 
-    private static final String DISTINGUISHER_CODE_REGEX = "[A-ZÄÖÜ]{1,3}";
-
-    private static final int MAX_DISTINGUISHER_CODE_LENGTH = 3;
-    private static final Set<Character> VALID_MODIFIERS = Set.of('H', 'E');
-
-    private final DistinguisherRepository distinguisherRepository;
+    private static final ValidationResult EMPTY_INPUT =
+        ValidationResult.invalid(ValidationErrorCode.EMPTY_INPUT, "Kennzeichen darf nicht leer sein");
+    private static final ValidationResult UNKNOWN_DISTINGUISHER =
+        ValidationResult.invalid(ValidationErrorCode.UNKNOWN_DISTINGUISHER, "Unbekanntes Unterscheidungszeichen");
+    private static final ValidationResult INVALID_CHARACTERS =
+        ValidationResult.invalid(ValidationErrorCode.INVALID_CHARACTERS, "Nur Buchstaben A-Z, Ziffern 0-9 sowie '-' und Leerzeichen erlaubt");
+    private static final ValidationResult INVALID_FORMAT =
+        ValidationResult.invalid(ValidationErrorCode.INVALID_FORMAT, "Ungültiges Kennzeichen");
+    private static final String AMBIGUOUS_MESSAGE = "Kennzeichen mehrdeutig";
+    private static final FuzzyValidationResult NO_FUZZY_MATCHES = new FuzzyValidationResult(List.of(), true);
+
+    private final DistinguisherCatalog distinguisherCatalog;
     private final SpecialPlateValidator specialPlateValidator;
     private final CivilianPlateValidator civilianPlateValidator;
+    private final ForbiddenCombinations forbiddenCombinations;
+    private final ValidationResultCache validationResultCache;
+    private final ValidationMetrics validationMetrics;
+
+    public LicencePlateValidationService(DistinguisherCatalog distinguisherCatalog) {
+        this(distinguisherCatalog, Optional.empty(), Optional.empty(), Optional.empty());
+    }
 
-    public LicencePlateValidationService(DistinguisherRepository distinguisherRepository) {
-        this.distinguisherRepository = distinguisherRepository;
+    @Autowired
+    public LicencePlateValidationService(DistinguisherCatalog distinguisherCatalog,
+                                         Optional<ForbiddenCombinations> forbiddenCombinations,
+                                         Optional<ValidationResultCache> validationResultCache,
+                                         Optional<MeterRegistry> meterRegistry) {
+        this.distinguisherCatalog = distinguisherCatalog;
         this.specialPlateValidator = new SpecialPlateValidator();
         this.civilianPlateValidator = new CivilianPlateValidator();
+        this.forbiddenCombinations = forbiddenCombinations.orElseGet(ForbiddenCombinations::defaults);
+        this.validationResultCache = validationResultCache.orElse(null);
+        this.validationMetrics = meterRegistry.map(ValidationMetrics::new).orElse(ValidationMetrics.DISABLED);
     }
 
+    /**
+     * Validates the given input and returns the parsed licence plate.
+     *
+     * @throws InvalidLicencePlateException if the input is not a valid licence plate
+     * @throws AmbiguousLicencePlateException if the input can be parsed in more than one way
+     */
     public LicencePlate validateLicencePlate(String input) {
-        validateInput(input);
-        String normalizedInput = normalizeCase(input);
-        Distinguisher distinguisher = null;
-        if (containsSeparators(normalizedInput))
-            distinguisher = getDistinguisher(normalizedInput);
-        return validateAndParseLicencePlate(normalizedInput, distinguisher);
+        return validate(input).orElseThrow();
     }
 
-    private void validateInput(String input) {
-        if (input == null || input.isBlank()) {
-            throw new InvalidLicencePlateException("Kennzeichen darf nicht leer sein");
-        }
+    /**
+     * Validates the given input without throwing for invalid or ambiguous plates.
+     */
+    public ValidationResult validate(String input) {
+        long start = validationMetrics.start();
+        ValidationResult result = validateInput(input);
+        validationMetrics.recordValidation(start, result);
+        return result;
+    }
+
+    /**
+     * Opt-in OCR-tolerant validation: returns every valid plate reachable from the input by at
+     * most {@code maxSubstitutions} replacements of commonly confused characters (O/0, I/1, B/8,
+     * S/5), including the input itself if it is valid. The search gives up once {@code budget}
+     * is spent and then reports an incomplete result.
+     */
+    public FuzzyValidationResult validateFuzzy(String input, int maxSubstitutions, Duration budget) {
+        if (input == null)
+            return NO_FUZZY_MATCHES;
+
+        PlateTokens tokens = PlateTokens.tokenize(input);
+        if (tokens.isBlank())
+            return NO_FUZZY_MATCHES;
+
+        return FuzzyPlateMatcher.match(distinguisherCatalog.current(), tokens, maxSubstitutions, budget.toNanos(), this::validate);
     }
 
-    private String normalizeCase(String input) {
-        return input.toUpperCase(Locale.ROOT).trim();
+    /**
+     * Returns the counters of the result cache, if caching is enabled.
+     */
+    public Optional<ValidationCacheStatistics> cacheStatistics() {
+        return Optional.ofNullable(validationResultCache).map(ValidationResultCache::statistics);
     }
 
-    private boolean containsSeparators(String input) {
-        return input.contains("-") || input.contains(" ");
+    private ValidationResult validateInput(String input) {
+        if (input == null)
+            return EMPTY_INPUT;
+
+        PlateTokens tokens = PlateTokens.tokenize(input);
+        if (tokens.isBlank())
+            return EMPTY_INPUT;
+
+        DistinguisherIndex index = distinguisherCatalog.current();
+        if (validationResultCache != null)
+            return validationResultCache.get(tokens, index, () -> validate(index, tokens));
+        return validate(index, tokens);
     }
 
-    private String removeSeparators(String input) {
-        return input.replace("-", "").replace(" ", "");
+    private ValidationResult validate(DistinguisherIndex index, PlateTokens tokens) {
+        if (tokens.hasSeparatedDistinguisher())
+            return validateSeparatedInput(index, tokens);
+        return validateCompactInput(index, tokens);
     }
 
     //TODO: Improve detection of distinguisher when a code exists as a civilian and special case, eg. B
-    private Distinguisher getDistinguisher(String input) {
-        int separatorIndex = findFirstSeparatorIndex(input);
+    private ValidationResult validateSeparatedInput(DistinguisherIndex index, PlateTokens tokens) {
+        int codeLength = tokens.distinguisherEnd();
+        if (!PlateCharacters.isDistinguisherCode(tokens, 0, codeLength))
+            return ValidationResult.invalid(ValidationErrorCode.INVALID_DISTINGUISHER, String.format("Unterscheidungszeichen %s ungültig", tokens.substring(0, codeLength)));
 
-        String distinguisherCode = input.substring(0, separatorIndex).trim();
-        if (!distinguisherCode.matches(DISTINGUISHER_CODE_REGEX))
-            throw new InvalidLicencePlateException(String.format("Unterscheidungszeichen %s ungültig", distinguisherCode));
-
-        Optional<Distinguisher> distinguisherOpt = distinguisherRepository.findByCodeAndDeprecatedAndSpecial(distinguisherCode, false, false);
+        long lookupStart = validationMetrics.start();
+        Optional<Distinguisher> distinguisherOpt = index.find(tokens, codeLength, false, false);
         if (distinguisherOpt.isEmpty())
-            distinguisherOpt = distinguisherRepository.findByCodeAndDeprecatedAndSpecial(distinguisherCode, true, false);
+            distinguisherOpt = index.find(tokens, codeLength, true, false);
         if (distinguisherOpt.isEmpty())
-            distinguisherOpt = distinguisherRepository.findByCodeAndDeprecatedAndSpecial(distinguisherCode, false, true);
+            distinguisherOpt = index.find(tokens, codeLength, false, true);
+        validationMetrics.recordLookup(lookupStart);
+        validationMetrics.recordCandidates(distinguisherOpt.isPresent() ? 1 : 0);
         if (distinguisherOpt.isEmpty())
-            throw new InvalidLicencePlateException(String.format("Kein Unterscheidungszeichen %s gefunden", distinguisherCode));
+            return ValidationResult.invalid(ValidationErrorCode.UNKNOWN_DISTINGUISHER, String.format("Kein Unterscheidungszeichen %s gefunden", tokens.substring(0, codeLength)));
 
-        return distinguisherOpt.get();
+        Parsings parsings = new Parsings();
+        parseRemainingPart(distinguisherOpt.get(), tokens, parsings);
+        return selectUniqueParsing(parsings);
     }
 
-    private LicencePlate validateAndParseLicencePlate(String input, Distinguisher distinguisher) {
-        List<LicencePlate> validParsings = new ArrayList<>();
-        if (distinguisher == null) {
-            List<Distinguisher> distinguisherCandidates = findDistinguisherCandidates(input);
-            if (distinguisherCandidates.isEmpty())
-                throw new InvalidLicencePlateException("Unbekanntes Unterscheidungszeichen");
-
-            for (Distinguisher distinguisherCandidate : distinguisherCandidates) {
-                String remaining = input.substring(distinguisherCandidate.code.length());
-                parseRemainingPart(distinguisherCandidate, remaining).ifPresent(validParsings::add);
-            }
-        } else {
-            String remaining = input.substring(distinguisher.code.length());
-            parseRemainingPart(distinguisher, remaining).ifPresent(validParsings::add);
+    private ValidationResult validateCompactInput(DistinguisherIndex index, PlateTokens tokens) {
+        long lookupStart = validationMetrics.start();
+        List<Distinguisher> prefixMatches = index.prefixMatches(tokens);
+        validationMetrics.recordLookup(lookupStart);
+        Parsings parsings = new Parsings();
+        int candidateCount = 0;
+        int previousCodeLength = 0;
+
+        for (int i = 0; i < prefixMatches.size(); i++) {
+            Distinguisher distinguisherCandidate = prefixMatches.get(i);
+            if (!isCompactCandidate(distinguisherCandidate, previousCodeLength))
+                continue;
+            previousCodeLength = distinguisherCandidate.code.length();
+            candidateCount++;
+
+            parseRemainingPart(distinguisherCandidate, tokens, parsings);
         }
 
-        return selectUniqueParsing(validParsings);
+        validationMetrics.recordCandidates(candidateCount);
+        if (candidateCount == 0)
+            return UNKNOWN_DISTINGUISHER;
+        return selectUniqueParsing(parsings);
     }
 
-    private Optional<LicencePlate> parseRemainingPart(Distinguisher distinguisher, String remainingPart) {
-        ModifierExtractionResult modifierResult = extractTrailingModifier(remainingPart.trim());
-        String workingString = modifierResult.remainingString();
-        String modifier = modifierResult.modifier();
-        String cleanedString = removeSeparators(workingString);
-
-        if (Boolean.TRUE.equals(distinguisher.special))
-            return specialPlateValidator.validate(distinguisher, cleanedString, modifier);
-        return civilianPlateValidator.validate(distinguisher, cleanedString, modifier);
+    /**
+     * Parses everything after the distinguisher code; the validators only see offsets into the tokens.
+     */
+    private void parseRemainingPart(Distinguisher distinguisher, PlateTokens tokens, Parsings parsings) {
+        int start = distinguisher.code.length();
+        String modifier = tokens.modifier(start);
+        int end = tokens.bodyEnd(start);
+
+        Optional<LicencePlate> parsing;
+        if (Boolean.TRUE.equals(distinguisher.special)) {
+            parsing = specialPlateValidator.validate(distinguisher, tokens, start, end, modifier);
+        } else {
+            parsing = civilianPlateValidator.validate(distinguisher, tokens, start, end, modifier);
+            if (parsing.isEmpty() && civilianPlateValidator.hasInvalidIdentifierLetter(tokens, start, end))
+                parsings.invalidLetterRejected = true;
+        }
+        parsing.ifPresent(parsings::add);
     }
 
-    private ModifierExtractionResult extractTrailingModifier(String input) {
-        if (input.isEmpty()) {
-            return new ModifierExtractionResult(input, "");
-        }
+    /**
+     * Compact input only considers active distinguishers. When a code exists both as civilian
+     * and special distinguisher (e.g. B) the civilian one wins, as it comes first in the prefix
+     * matches of the index.
+     */
+    private boolean isCompactCandidate(Distinguisher candidate, int previousCodeLength) {
+        return !Boolean.TRUE.equals(candidate.deprecated) && candidate.code.length() != previousCodeLength;
+    }
 
-        char lastChar = input.charAt(input.length() - 1);
-        if (VALID_MODIFIERS.contains(lastChar)) {
-            return new ModifierExtractionResult(
-                input.substring(0, input.length() - 1).trim(),
-                String.valueOf(lastChar)
-            );
+    private ValidationResult selectUniqueParsing(Parsings parsings) {
+        if (parsings.count == 0)
+            return parsings.invalidLetterRejected ? INVALID_CHARACTERS : INVALID_FORMAT;
+        if (parsings.count == 1) {
+            ValidationResult forbidden = checkForbidden(parsings.first);
+            return forbidden != null ? forbidden : ValidationResult.valid(parsings.first);
         }
 
-        return new ModifierExtractionResult(input, "");
+        List<LicencePlate> allowed = allowedParsings(parsings);
+        if (allowed.isEmpty())
+            return checkForbidden(parsings.first);
+        if (allowed.size() == 1)
+            return ValidationResult.valid(allowed.get(0));
+        return ValidationResult.ambiguous(AMBIGUOUS_MESSAGE, AlternativeRanking.rank(allowed));
     }
 
-    private List<Distinguisher> findDistinguisherCandidates(String input) {
-        List<Distinguisher> candidates = new ArrayList<>();
-        int maxLength = Math.min(MAX_DISTINGUISHER_CODE_LENGTH, input.length());
-
-        for (int length = 1; length <= maxLength; length++) {
-            String potentialCode = input.substring(0, length);
-            distinguisherRepository.findByCodeAndDeprecated(potentialCode, false).ifPresent(candidates::add);
+    /**
+     * Only interpretations that would be valid on their own count; if a single one is left, the
+     * input is not ambiguous after all.
+     */
+    private List<LicencePlate> allowedParsings(Parsings parsings) {
+        List<LicencePlate> allowed = new ArrayList<>(parsings.count);
+        if (checkForbidden(parsings.first) == null)
+            allowed.add(parsings.first);
+        for (LicencePlate licencePlate : parsings.others) {
+            if (checkForbidden(licencePlate) == null)
+                allowed.add(licencePlate);
         }
-
-        return candidates;
+        return allowed;
     }
 
-    private LicencePlate selectUniqueParsing(List<LicencePlate> parsings) {
-        if (parsings.isEmpty())
-            throw new InvalidLicencePlateException("Ungültiges Kennzeichen");
-        if (parsings.size() > 1)
-            throw new AmbiguousLicencePlateException("Kennzeichen mehrdeutig");
-
-        LicencePlate licencePlate = parsings.get(0);
-
+    private ValidationResult checkForbidden(LicencePlate licencePlate) {
         String distinguisherCode = licencePlate.distinguisher.code;
         String identifier = licencePlate.identifier;
-        String combinationKey = distinguisherCode + "-" + identifier;
-
-        if (ForbiddenCombinations.isForbiddenIdentifier(identifier))
-            throw new InvalidLicencePlateException(String.format("Erkennungsnummer %s ist nicht erlaubt", identifier));
-        if (ForbiddenCombinations.isForbiddenPair(combinationKey))
-            throw new InvalidLicencePlateException(String.format("Kombination %s ist nicht erlaubt", combinationKey));
-        return licencePlate;
-    }
-
-    private int findFirstSeparatorIndex(String input) {
-        int hyphenIndex = input.indexOf('-');
-        int spaceIndex = input.indexOf(' ');
 
-        if (hyphenIndex == -1) return spaceIndex;
-        if (spaceIndex == -1) return hyphenIndex;
+        if (forbiddenCombinations.isForbiddenIdentifier(identifier))
+            return ValidationResult.invalid(ValidationErrorCode.FORBIDDEN_IDENTIFIER, String.format("Erkennungsnummer %s ist nicht erlaubt", identifier));
 
-        return Math.min(hyphenIndex, spaceIndex);
+        if (forbiddenCombinations.isForbiddenPair(distinguisherCode, identifier))
+            return ValidationResult.invalid(ValidationErrorCode.FORBIDDEN_COMBINATION, String.format("Kombination %s-%s ist nicht erlaubt", distinguisherCode, identifier));
+        return null;
     }
 
-    private record ModifierExtractionResult(String remainingString, String modifier) { }
+    /**
+     * Collects the successful parsings of one input. The first one is kept in a field, so the
+     * common unambiguous case allocates no list.
+     */
+    private static final class Parsings {
+        private LicencePlate first;
+        private List<LicencePlate> others = List.of();
+        private int count;
+        private boolean invalidLetterRejected;
+
+        private void add(LicencePlate licencePlate) {
+            if (count++ == 0) {
+                first = licencePlate;
+                return;
+            }
+            if (others.isEmpty())
+                others = new ArrayList<>(2);
+            others.add(licencePlate);
+        }
+    }
 }
\ No newline at end of file
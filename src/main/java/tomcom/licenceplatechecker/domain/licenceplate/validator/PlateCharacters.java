@@ -0,0 +1,78 @@
+package tomcom.licenceplatechecker.domain.licenceplate.validator;
+
+/**
+ * Hand-written character checks shared by the validators.
+ * <p>
+ * These replace {@link String#matches(String)}, which compiles a new pattern on every call.
+ * </p>
+ */
+final class PlateCharacters {
+
+    static final int MAX_DISTINGUISHER_CODE_LENGTH = 3;
+
+    private PlateCharacters() {}
+
+    static boolean isDigit(char c) {
+        return c >= '0' && c <= '9';
+    }
+
+    static boolean isLetter(char c) {
+        return c >= 'A' && c <= 'Z';
+    }
+
+    static boolean isUmlaut(char c) {
+        return c == 'Ä' || c == 'Ö' || c == 'Ü';
+    }
+
+    /**
+     * Checks whether the value consists of digits only, with a length between the given bounds.
+     */
+    static boolean isDigits(CharSequence value, int minLength, int maxLength) {
+        return isDigits(value, 0, value.length(), minLength, maxLength);
+    }
+
+    /**
+     * Checks whether {@code value[start, end)} consists of digits only, with a length between the given bounds.
+     */
+    static boolean isDigits(CharSequence value, int start, int end, int minLength, int maxLength) {
+        int length = end - start;
+        if (length < minLength || length > maxLength) {
+            return false;
+        }
+        for (int i = start; i < end; i++) {
+            if (!isDigit(value.charAt(i))) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Checks whether {@code value[start, end)} is a syntactically valid distinguisher code: 1-3 letters A-Z, Ä, Ö, Ü.
+     */
+    static boolean isDistinguisherCode(CharSequence value, int start, int end) {
+        int length = end - start;
+        if (length == 0 || length > MAX_DISTINGUISHER_CODE_LENGTH) {
+            return false;
+        }
+        for (int i = start; i < end; i++) {
+            char c = value.charAt(i);
+            if ((c < 'A' || c > 'Z') && !isUmlaut(c)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Parses the digits between {@code start} (inclusive) and {@code end} (exclusive).
+     * The caller must have checked that the range contains digits only.
+     */
+    static int parseDigits(CharSequence value, int start, int end) {
+        int result = 0;
+        for (int i = start; i < end; i++) {
+            result = result * 10 + (value.charAt(i) - '0');
+        }
+        return result;
+    }
+}
@@ -0,0 +1,321 @@
+package tomcom.licenceplatechecker.domain.licenceplate.validator;
+
+import tomcom.licenceplatechecker.domain.licenceplate.Distinguisher;
+import tomcom.licenceplatechecker.domain.licenceplate.LicencePlate;
+
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+
+/**
+ * All civilian plates that can be issued for one {@link Distinguisher}, counted and enumerated
+ * without materializing them.
+ * <p>
+ * The body of a plate (everything after the distinguisher) has one of a few shapes, taken from
+ * the limits of {@link CivilianPlateValidator} and {@link RedPlateValidator}: 1-2 identifier
+ * letters, 1-4 digits and an optional H or E, or a red plate number of 2-6 digits. The number of
+ * bodies matching a pattern is therefore a sum of products over these shapes, minus the
+ * identifiers excluded by {@link ForbiddenCombinations}.
+ * </p>
+ * <p>
+ * Enumeration walks the bodies in lexical order and uses the same counts to skip whole subtrees,
+ * so jumping to a page costs about as much as reading its first plate. Every enumerated plate is
+ * built by the validators themselves.
+ * </p>
+ * <p>
+ * A pattern is matched against the start of the body; '?' stands for any single character.
+ * </p>
+ */
+public final class PlateSpace {
+
+    public static final char WILDCARD = '?';
+
+    private static final char[] ALPHABET = "0123456789ABCDEFGHIJKLMNOPQRSTUVWXYZ".toCharArray(); // lexical order
+    private static final int LETTER_COUNT = 26;
+    private static final int DIGIT_COUNT = 10;
+    private static final char[] MODIFIERS = {0, 'H', 'E'}; // 0 marks a body without modifier
+    private static final int RED = MODIFIERS.length;
+    private static final int ANY_LENGTH = -1;
+
+    private final Distinguisher distinguisher;
+    private final ForbiddenCombinations forbiddenCombinations;
+    private final String[] forbiddenIdentifiers;
+    private final int maxCivilianLength;
+    private final int maxRedLength;
+    private final int maxLength;
+    private final CivilianPlateValidator civilianPlateValidator = new CivilianPlateValidator();
+
+    PlateSpace(Distinguisher distinguisher, ForbiddenCombinations forbiddenCombinations) {
+        this.distinguisher = distinguisher;
+        this.forbiddenCombinations = forbiddenCombinations;
+        this.forbiddenIdentifiers = forbiddenCombinations.forbiddenIdentifiers(distinguisher.code).toArray(String[]::new);
+        this.maxCivilianLength = CivilianPlateValidator.MAX_TOTAL_LENGTH - distinguisher.code.length();
+        this.maxRedLength = Math.min(RedPlateValidator.MAX_NUMBER_LENGTH, RedPlateValidator.MAX_TOTAL_LENGTH - distinguisher.code.length());
+        this.maxLength = Math.max(maxCivilianLength, maxRedLength);
+    }
+
+    public Distinguisher distinguisher() {
+        return distinguisher;
+    }
+
+    /**
+     * Counts the plates whose body starts with the given pattern, split by kind.
+     */
+    public PlateSpaceCount count(String pattern) {
+        char[] body = pattern.toCharArray();
+        long[] byKind = new long[RED + 1];
+        count(body, body.length, ANY_LENGTH, byKind);
+        return PlateSpaceCount.of(byKind[0], byKind[1], byKind[2], byKind[RED]);
+    }
+
+    /**
+     * Lazily enumerates the plates whose body starts with the given pattern in lexical order,
+     * skipping the first {@code offset} of them.
+     */
+    public Stream<LicencePlate> plates(String pattern, long offset) {
+        Cursor cursor = new Cursor(pattern.toCharArray(), offset);
+        return StreamSupport.stream(Spliterators.spliteratorUnknownSize(cursor, Spliterator.ORDERED | Spliterator.NONNULL), false);
+    }
+
+    /**
+     * Counts the bodies matching {@code body[0, length)}, where every position past {@code length}
+     * is free. With {@code exactLength} set, only bodies of exactly that length are counted.
+     */
+    private long count(char[] body, int length, int exactLength, long[] byKind) {
+        long total = 0;
+        for (int letters = 1; letters <= CivilianPlateValidator.MAX_IDENTIFIER_LENGTH; letters++) {
+            long identifiers = identifiers(body, length, letters);
+            if (identifiers == 0)
+                continue;
+            for (int digits = 1; digits <= CivilianPlateValidator.MAX_NUMBER_LENGTH; digits++) {
+                long numbers = identifiers;
+                for (int position = letters; position < letters + digits; position++)
+                    numbers *= digitChoices(body, length, position);
+                if (numbers == 0)
+                    continue;
+                for (int kind = 0; kind < MODIFIERS.length; kind++) {
+                    int bodyLength = letters + digits + (kind == 0 ? 0 : 1);
+                    if (bodyLength > maxCivilianLength || !fits(bodyLength, length, exactLength))
+                        continue;
+                    long plates = kind == 0 ? numbers : numbers * modifierChoices(body, length, bodyLength - 1, MODIFIERS[kind]);
+                    total += plates;
+                    if (byKind != null)
+                        byKind[kind] += plates;
+                }
+            }
+        }
+
+        long prefixes = redPlatePrefixes(body, length);
+        for (int digits = RedPlateValidator.PREFIX_LENGTH; prefixes > 0 && digits <= maxRedLength; digits++) {
+            if (!fits(digits, length, exactLength))
+                continue;
+            long plates = prefixes;
+            for (int position = RedPlateValidator.PREFIX_LENGTH; position < digits; position++)
+                plates *= digitChoices(body, length, position);
+            total += plates;
+            if (byKind != null)
+                byKind[RED] += plates;
+        }
+        return total;
+    }
+
+    private static boolean fits(int bodyLength, int length, int exactLength) {
+        return exactLength == ANY_LENGTH ? bodyLength >= length : bodyLength == exactLength;
+    }
+
+    /**
+     * Number of allowed identifiers of the given length matching the start of the body.
+     */
+    private long identifiers(char[] body, int length, int letters) {
+        long identifiers = 1;
+        for (int position = 0; position < letters; position++) {
+            if (position >= length || body[position] == WILDCARD)
+                identifiers *= LETTER_COUNT;
+            else if (body[position] < 'A' || body[position] > 'Z')
+                return 0;
+        }
+        // A fully spelled identifier, as on every step of the enumeration, is a single lookup
+        if (identifiers == 1)
+            return forbiddenCombinations.isForbidden(distinguisher.code, body, letters) ? 0 : 1;
+        for (String forbidden : forbiddenIdentifiers) {
+            if (forbidden.length() == letters && matches(body, length, forbidden))
+                identifiers--;
+        }
+        return identifiers;
+    }
+
+    private long redPlatePrefixes(char[] body, int length) {
+        long prefixes = 0;
+        for (int prefix = 0; prefix < 100; prefix++) {
+            if (RedPlateValidator.isRedPlatePrefix(prefix)
+                && matches(body, length, 0, (char) ('0' + prefix / 10))
+                && matches(body, length, 1, (char) ('0' + prefix % 10)))
+                prefixes++;
+        }
+        return prefixes;
+    }
+
+    private static long digitChoices(char[] body, int length, int position) {
+        if (position >= length || body[position] == WILDCARD)
+            return DIGIT_COUNT;
+        return PlateCharacters.isDigit(body[position]) ? 1 : 0;
+    }
+
+    private static long modifierChoices(char[] body, int length, int position, char modifier) {
+        return matches(body, length, position, modifier) ? 1 : 0;
+    }
+
+    private static boolean matches(char[] body, int length, String value) {
+        for (int position = 0; position < value.length(); position++) {
+            if (!matches(body, length, position, value.charAt(position)))
+                return false;
+        }
+        return true;
+    }
+
+    private static boolean matches(char[] body, int length, int position, char c) {
+        return position >= length || body[position] == WILDCARD || body[position] == c;
+    }
+
+    /**
+     * Walks the bodies in lexical order. {@code body} holds the characters chosen so far followed
+     * by the rest of the pattern, so a single count tells how many plates lie below a prefix.
+     */
+    private final class Cursor implements Iterator<LicencePlate> {
+        private final char[] pattern;
+        private final char[] body;
+        private int depth;
+        private boolean positioned;
+
+        private Cursor(char[] pattern, long offset) {
+            this.pattern = pattern;
+            this.body = Arrays.copyOf(pattern, Math.max(pattern.length, maxLength));
+            this.positioned = pattern.length <= maxLength && seek(offset);
+        }
+
+        @Override
+        public boolean hasNext() {
+            return positioned;
+        }
+
+        @Override
+        public LicencePlate next() {
+            if (!positioned)
+                throw new NoSuchElementException();
+            LicencePlate licencePlate = plate();
+            positioned = advance();
+            return licencePlate;
+        }
+
+        private boolean seek(long offset) {
+            if (below(0) <= offset)
+                return false;
+            while (true) {
+                if (isComplete()) {
+                    if (offset == 0)
+                        return true;
+                    offset--;
+                }
+                for (int i = 0; ; i++) {
+                    int candidate = candidate(i);
+                    body[depth] = ALPHABET[candidate];
+                    long below = below(depth + 1);
+                    if (offset < below) {
+                        depth++;
+                        break;
+                    }
+                    offset -= below;
+                }
+            }
+        }
+
+        /**
+         * Moves to the next complete body in lexical order: the first one below the current
+         * prefix, otherwise the first one below the next sibling of the nearest ancestor.
+         */
+        private boolean advance() {
+            if (depth < maxLength && descend(0))
+                return true;
+            while (depth > 0) {
+                depth--;
+                int next = candidateIndex(body[depth]) + 1;
+                if (!isFixed(depth) && descend(next))
+                    return true;
+                restore(depth);
+            }
+            return false;
+        }
+
+        /**
+         * Descends from the current prefix into the first child at or after the given alphabet
+         * index that has plates below it, and on to the first complete body.
+         */
+        private boolean descend(int from) {
+            int candidate = firstChild(from);
+            if (candidate < 0)
+                return false;
+            while (true) {
+                body[depth++] = ALPHABET[candidate];
+                if (isComplete())
+                    return true;
+                candidate = firstChild(0);
+            }
+        }
+
+        private int firstChild(int from) {
+            if (isFixed(depth)) {
+                if (from > 0)
+                    return -1;
+                int candidate = candidateIndex(pattern[depth]);
+                return candidate >= 0 && below(depth + 1) > 0 ? candidate : -1;
+            }
+            for (int candidate = from; candidate < ALPHABET.length; candidate++) {
+                body[depth] = ALPHABET[candidate];
+                if (below(depth + 1) > 0)
+                    return candidate;
+            }
+            restore(depth);
+            return -1;
+        }
+
+        private int candidate(int i) {
+            return isFixed(depth) ? candidateIndex(pattern[depth]) : i;
+        }
+
+        private boolean isFixed(int position) {
+            return position < pattern.length && pattern[position] != WILDCARD;
+        }
+
+        private void restore(int position) {
+            body[position] = position < pattern.length ? pattern[position] : WILDCARD;
+        }
+
+        private long below(int prefixLength) {
+            return count(body, Math.max(prefixLength, pattern.length), ANY_LENGTH, null);
+        }
+
+        private boolean isComplete() {
+            return depth >= pattern.length && count(body, depth, depth, null) > 0;
+        }
+
+        private LicencePlate plate() {
+            char last = body[depth - 1];
+            String modifier = last == 'H' || last == 'E' ? String.valueOf(last) : "";
+            String plateBody = new String(body, 0, depth);
+            return civilianPlateValidator.validate(distinguisher, plateBody, 0, depth - modifier.length(), modifier)
+                .orElseThrow(() -> new IllegalStateException(String.format("Kennzeichen %s-%s wird vom Validator abgelehnt", distinguisher.code, plateBody)));
+        }
+    }
+
+    private static int candidateIndex(char c) {
+        if (PlateCharacters.isDigit(c))
+            return c - '0';
+        if (c >= 'A' && c <= 'Z')
+            return DIGIT_COUNT + c - 'A';
+        return -1;
+    }
+}
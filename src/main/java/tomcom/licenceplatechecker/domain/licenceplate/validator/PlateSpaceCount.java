@@ -0,0 +1,12 @@
+package tomcom.licenceplatechecker.domain.licenceplate.validator;
+
+/**
+ * Number of plates in a {@link PlateSpace}: civilian plates without modifier, with H and with E,
+ * and red plates.
+ */
+public record PlateSpaceCount(long standard, long historic, long electric, long red, long total) {
+
+    static PlateSpaceCount of(long standard, long historic, long electric, long red) {
+        return new PlateSpaceCount(standard, historic, electric, red, standard + historic + electric + red);
+    }
+}
@@ -0,0 +1,41 @@
+package tomcom.licenceplatechecker.domain.licenceplate.validator;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+import tomcom.licenceplatechecker.domain.licenceplate.Distinguisher;
+import tomcom.licenceplatechecker.domain.licenceplate.DistinguisherCatalog;
+import tomcom.licenceplatechecker.domain.licenceplate.DistinguisherIndex;
+
+import java.util.Optional;
+
+/**
+ * Looks up the {@link PlateSpace} of a civilian distinguisher in the current dataset.
+ */
+@Service
+public class PlateSpaceService {
+
+    private final DistinguisherCatalog distinguisherCatalog;
+    private final ForbiddenCombinations forbiddenCombinations;
+
+    public PlateSpaceService(DistinguisherCatalog distinguisherCatalog) {
+        this(distinguisherCatalog, Optional.empty());
+    }
+
+    @Autowired
+    public PlateSpaceService(DistinguisherCatalog distinguisherCatalog, Optional<ForbiddenCombinations> forbiddenCombinations) {
+        this.distinguisherCatalog = distinguisherCatalog;
+        this.forbiddenCombinations = forbiddenCombinations.orElseGet(ForbiddenCombinations::defaults);
+    }
+
+    /**
+     * Returns the plate space of the given code; deprecated codes are included, special
+     * distinguishers have none.
+     */
+    public Optional<PlateSpace> forDistinguisher(String code) {
+        DistinguisherIndex index = distinguisherCatalog.current();
+        Optional<Distinguisher> distinguisher = index.find(code, false, false);
+        if (distinguisher.isEmpty())
+            distinguisher = index.find(code, true, false);
+        return distinguisher.map(found -> new PlateSpace(found, forbiddenCombinations));
+    }
+}
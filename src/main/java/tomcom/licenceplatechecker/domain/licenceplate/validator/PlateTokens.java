@@ -0,0 +1,153 @@
+package tomcom.licenceplatechecker.domain.licenceplate.validator;
+
+import java.util.List;
+
+/**
+ * Offset-based view of a licence plate input, produced in a single pass.
+ * <p>
+ * Tokenizing trims the input, upper-cases it and drops the separators '-' and ' ' into one
+ * character buffer. The view then exposes the distinguisher span (for input with separators),
+ * the trailing modifier and the body in between as offsets into that buffer, so validators can
+ * work on ranges instead of intermediate {@code String} copies.
+ * </p>
+ */
+final class PlateTokens implements CharSequence {
+
+    private static final String NO_MODIFIER = "";
+    private static final String HISTORIC_MODIFIER = "H";
+    private static final String ELECTRIC_MODIFIER = "E";
+    static final List<String> MODIFIERS = List.of(HISTORIC_MODIFIER, ELECTRIC_MODIFIER);
+
+    private final char[] chars;
+    private final int length;
+    private final int distinguisherEnd;
+    private final boolean blank;
+
+    private PlateTokens(char[] chars, int length, int distinguisherEnd, boolean blank) {
+        this.chars = chars;
+        this.length = length;
+        this.distinguisherEnd = distinguisherEnd;
+        this.blank = blank;
+    }
+
+    /**
+     * Wraps an already normalized buffer without copying it; later changes to the buffer show through.
+     */
+    static PlateTokens wrap(char[] chars, int length, int distinguisherEnd) {
+        return new PlateTokens(chars, length, distinguisherEnd, length == 0);
+    }
+
+    static PlateTokens tokenize(CharSequence input) {
+        int start = 0;
+        int end = input.length();
+        while (start < end && isTrimmed(input.charAt(start))) {
+            start++;
+        }
+        while (end > start && isTrimmed(input.charAt(end - 1))) {
+            end--;
+        }
+
+        char[] chars = new char[end - start];
+        int length = 0;
+        int distinguisherEnd = -1;
+        for (int i = start; i < end; i++) {
+            char c = input.charAt(i);
+            if (c == '-' || c == ' ') {
+                if (distinguisherEnd < 0) {
+                    distinguisherEnd = length;
+                }
+                continue;
+            }
+            chars[length++] = Character.toUpperCase(c);
+        }
+        return new PlateTokens(chars, length, distinguisherEnd, start == end);
+    }
+
+    /**
+     * Whether the input contained nothing but whitespace.
+     */
+    public boolean isBlank() {
+        return blank;
+    }
+
+    /**
+     * Whether the distinguisher was marked off by a separator, e.g. {@code B-AB123}.
+     */
+    public boolean hasSeparatedDistinguisher() {
+        return distinguisherEnd >= 0;
+    }
+
+    /**
+     * End of the distinguisher span {@code [0, distinguisherEnd)}; only defined for separated input.
+     */
+    public int distinguisherEnd() {
+        return distinguisherEnd;
+    }
+
+    /**
+     * The trailing modifier ("H", "E" or "") of the body starting after a distinguisher of the given length.
+     */
+    public String modifier(int bodyStart) {
+        if (length <= bodyStart) {
+            return NO_MODIFIER;
+        }
+        return switch (chars[length - 1]) {
+            case 'H' -> HISTORIC_MODIFIER;
+            case 'E' -> ELECTRIC_MODIFIER;
+            default -> NO_MODIFIER;
+        };
+    }
+
+    /**
+     * End of the body (identifier and number) starting at the given offset, excluding the modifier.
+     */
+    public int bodyEnd(int bodyStart) {
+        return length - modifier(bodyStart).length();
+    }
+
+    /**
+     * A canonical form of the input: all inputs with the same key validate to the same result.
+     * The distinguisher of separated input is kept apart by a single '-'.
+     */
+    public String key() {
+        if (!hasSeparatedDistinguisher()) {
+            return toString();
+        }
+        char[] key = new char[length + 1];
+        System.arraycopy(chars, 0, key, 0, distinguisherEnd);
+        key[distinguisherEnd] = '-';
+        System.arraycopy(chars, distinguisherEnd, key, distinguisherEnd + 1, length - distinguisherEnd);
+        return new String(key);
+    }
+
+    public String substring(int start, int end) {
+        return new String(chars, start, end - start);
+    }
+
+    @Override
+    public int length() {
+        return length;
+    }
+
+    @Override
+    public char charAt(int index) {
+        if (index >= length) {
+            throw new IndexOutOfBoundsException(index);
+        }
+        return chars[index];
+    }
+
+    @Override
+    public CharSequence subSequence(int start, int end) {
+        return substring(start, end);
+    }
+
+    @Override
+    public String toString() {
+        return substring(0, length);
+    }
+
+    private static boolean isTrimmed(char c) {
+        return c <= ' ' || Character.isWhitespace(c);
+    }
+}
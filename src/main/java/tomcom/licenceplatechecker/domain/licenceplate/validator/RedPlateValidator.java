@@ -3,8 +3,9 @@ package tomcom.licenceplatechecker.domain.licenceplate.validator;
 import tomcom.licenceplatechecker.domain.licenceplate.LicencePlate;
 import tomcom.licenceplatechecker.domain.licenceplate.Distinguisher;
 
+import java.util.ArrayList;
+import java.util.List;
 import java.util.Optional;
-import java.util.Set;
 
 /**
  * Validator for German red licence plates (Rote Kennzeichen).
@@ -26,35 +27,66 @@ import java.util.Set;
  */
 public class RedPlateValidator {
 
-    private static final Set<String> RED_PLATE_PREFIXES = Set.of("05", "06", "07");
-    private static final int MAX_NUMBER_LENGTH = 6;
-    private static final int MAX_TOTAL_LENGTH = 8;
-    private static final String DIGITS_ONLY_REGEX = "[0-9]{1," + MAX_NUMBER_LENGTH + "}";
+    private static final boolean[] RED_PLATE_PREFIXES = prefixTable(5, 6, 7);
+    static final int PREFIX_LENGTH = 2;
+    static final int MAX_NUMBER_LENGTH = 6;
+    static final int MAX_TOTAL_LENGTH = 8;
 
     public Optional<LicencePlate> validate(Distinguisher distinguisher, String number, String modifier) {
+        return validate(distinguisher, number, 0, number.length(), modifier);
+    }
+
+    public Optional<LicencePlate> validate(Distinguisher distinguisher, CharSequence plate, int start, int end, String modifier) {
         if (!modifier.isEmpty())
             return Optional.empty();
 
-        if (!isRedPlateNumber(number))
+        if (!isRedPlateNumber(plate, start, end))
             return Optional.empty();
 
-        if (!isWithinMaxLength(distinguisher, number))
+        if (!isWithinMaxLength(distinguisher, end - start))
             return Optional.empty();
 
-        return Optional.of(LicencePlate.of(distinguisher, "", number, ""));
+        return Optional.of(LicencePlate.of(distinguisher, "", plate.subSequence(start, end).toString(), ""));
     }
 
-    private boolean isRedPlateNumber(String number) {
-        if (!number.matches(DIGITS_ONLY_REGEX)) {
+    private boolean isRedPlateNumber(CharSequence plate, int start, int end) {
+        if (!PlateCharacters.isDigits(plate, start, end, PREFIX_LENGTH, MAX_NUMBER_LENGTH)) {
             return false;
         }
 
-        return RED_PLATE_PREFIXES.stream()
-            .anyMatch(number::startsWith);
+        return isRedPlatePrefix(PlateCharacters.parseDigits(plate, start, start + PREFIX_LENGTH));
+    }
+
+    /**
+     * Whether a number starting with the given two digits is a red plate number.
+     */
+    static boolean isRedPlatePrefix(int prefix) {
+        return RED_PLATE_PREFIXES[prefix];
+    }
+
+    static ValidationRuleBundle.RedPlateRules rules() {
+        List<Integer> prefixes = new ArrayList<>();
+        for (int prefix = 0; prefix < RED_PLATE_PREFIXES.length; prefix++) {
+            if (RED_PLATE_PREFIXES[prefix]) {
+                prefixes.add(prefix);
+            }
+        }
+        return new ValidationRuleBundle.RedPlateRules(PREFIX_LENGTH, prefixes, MAX_NUMBER_LENGTH, MAX_TOTAL_LENGTH);
+    }
+
+    /**
+     * Builds a lookup table indexed by the two-digit prefix of a number.
+     */
+    private static boolean[] prefixTable(int... prefixes) {
+        boolean[] table = new boolean[100];
+        for (int prefix : prefixes) {
+            table[prefix] = true;
+        }
+        return table;
     }
 
-    private boolean isWithinMaxLength(Distinguisher distinguisher, String number) {
-        int totalLength = distinguisher.code.length() + number.length();
+    private boolean isWithinMaxLength(Distinguisher distinguisher, int numberLength) {
+        int totalLength = distinguisher.code.length() + numberLength;
         return totalLength <= MAX_TOTAL_LENGTH;
     }
 }
\ No newline at end of file
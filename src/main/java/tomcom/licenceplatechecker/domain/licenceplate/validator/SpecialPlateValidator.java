@@ -24,6 +24,7 @@ import java.util.Optional;
  */
 public class SpecialPlateValidator {
 
+    private static final int MIN_NUMBER_LENGTH_DEFAULT = 1;
     private static final int MAX_NUMBER_LENGTH_DEFAULT = 6;
 
     private final BundeswehrValidator bundeswehrValidator;
@@ -39,37 +40,36 @@ public class SpecialPlateValidator {
     }
 
     public Optional<LicencePlate> validate(Distinguisher distinguisher, String remainingPart, String modifier) {
+        return validate(distinguisher, remainingPart, 0, remainingPart.length(), modifier);
+    }
+
+    public Optional<LicencePlate> validate(Distinguisher distinguisher, CharSequence plate, int start, int end, String modifier) {
         return switch (distinguisher.code) {
-            case "Y" -> bundeswehrValidator.validate(distinguisher, remainingPart, modifier);
-            case "X" -> natoValidator.validate(distinguisher, remainingPart, modifier);
-            case "BP" -> federalPoliceValidator.validate(distinguisher, remainingPart, modifier);
-            case "THW" -> thwValidator.validate(distinguisher, remainingPart, modifier);
-            default -> validateGenericSpecial(distinguisher, remainingPart, modifier);
+            case BundeswehrValidator.CODE -> bundeswehrValidator.validate(distinguisher, plate, start, end, modifier);
+            case NatoValidator.CODE -> natoValidator.validate(distinguisher, plate, start, end, modifier);
+            case FederalPoliceValidator.CODE -> federalPoliceValidator.validate(distinguisher, plate, start, end, modifier);
+            case ThwValidator.CODE -> thwValidator.validate(distinguisher, plate, start, end, modifier);
+            default -> validateGenericSpecial(distinguisher, plate, start, end, modifier);
         };
     }
 
+    /**
+     * Rules for special distinguishers without a dedicated validator.
+     */
+    static ValidationRuleBundle.NumberRules genericRules() {
+        return new ValidationRuleBundle.NumberRules(null, MIN_NUMBER_LENGTH_DEFAULT, MAX_NUMBER_LENGTH_DEFAULT);
+    }
+
     //TODO: Implement other cases
-    private Optional<LicencePlate> validateGenericSpecial(Distinguisher distinguisher, String remainingPart, String modifier) {
+    private Optional<LicencePlate> validateGenericSpecial(Distinguisher distinguisher, CharSequence plate, int start, int end, String modifier) {
         if (!modifier.isEmpty()) {
             return Optional.empty();
         }
 
-        if (!isValidNumericOnly(remainingPart)) {
+        if (!PlateCharacters.isDigits(plate, start, end, MIN_NUMBER_LENGTH_DEFAULT, MAX_NUMBER_LENGTH_DEFAULT)) {
             return Optional.empty();
         }
 
-        return Optional.of(LicencePlate.of(distinguisher, "", remainingPart, ""));
-    }
-
-    private boolean isValidNumericOnly(String number) {
-        if (number == null || number.isEmpty()) {
-            return false;
-        }
-
-        if (!number.matches("[0-9]+")) {
-            return false;
-        }
-
-        return number.length() <= SpecialPlateValidator.MAX_NUMBER_LENGTH_DEFAULT;
+        return Optional.of(LicencePlate.of(distinguisher, "", plate.subSequence(start, end).toString(), ""));
     }
 }
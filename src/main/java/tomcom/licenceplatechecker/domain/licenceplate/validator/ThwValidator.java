@@ -36,67 +36,84 @@ import java.util.Optional;
  */
 public class ThwValidator {
 
+    static final String CODE = "THW";
+
     private static final int RED_PLATE_MIN = 600;
     private static final int RED_PLATE_MAX = 699;
+    private static final int RED_PLATE_LENGTH = 4;
+    private static final int MIN_NUMBER_LENGTH = 4;
+    private static final int MAX_NUMBER_LENGTH = 5;
+    private static final String FIRST_DIGITS = "89";
+
     public Optional<LicencePlate> validate(Distinguisher distinguisher, String remainingPart, String modifier) {
+        return validate(distinguisher, remainingPart, 0, remainingPart.length(), modifier);
+    }
+
+    public Optional<LicencePlate> validate(Distinguisher distinguisher, CharSequence plate, int start, int end, String modifier) {
         // THW plates do not allow modifiers
         if (!modifier.isEmpty()) {
             return Optional.empty();
         }
 
         // Must be only digits
-        if (!remainingPart.matches("[0-9]+")) {
+        if (!PlateCharacters.isDigits(plate, start, end, 1, Integer.MAX_VALUE)) {
             return Optional.empty();
         }
 
         // Check if it's a red dealer plate (THW-0600 to THW-0699)
-        if (isRedPlate(remainingPart)) {
-            return Optional.of(LicencePlate.of(distinguisher, "", remainingPart, ""));
+        if (isRedPlate(plate, start, end)) {
+            return Optional.of(LicencePlate.of(distinguisher, "", plate.subSequence(start, end).toString(), ""));
         }
 
         // Regular THW plates: must be 4 or 5 digits
-        int length = remainingPart.length();
-        if (length != 4 && length != 5) {
+        int length = end - start;
+        if (length < MIN_NUMBER_LENGTH || length > MAX_NUMBER_LENGTH) {
             return Optional.empty();
         }
 
         // Must start with 8 or 9
-        char firstDigit = remainingPart.charAt(0);
-        if (firstDigit != '8' && firstDigit != '9') {
+        char firstDigit = plate.charAt(start);
+        if (FIRST_DIGITS.indexOf(firstDigit) < 0) {
             return Optional.empty();
         }
 
         // Validate specific ranges
-        int number = Integer.parseInt(remainingPart);
+        int number = PlateCharacters.parseDigits(plate, start, end);
 
         if (length == 4) {
             // 4-digit: 8000-8999 or 9000-9999
             if ((number >= 8000 && number <= 8999) || (number >= 9000 && number <= 9999)) {
-                return Optional.of(LicencePlate.of(distinguisher, "", remainingPart, ""));
+                return Optional.of(LicencePlate.of(distinguisher, "", plate.subSequence(start, end).toString(), ""));
             }
         } else { // length == 5
             // 5-digit: 80000-89999 or 90000-99999
             if ((number >= 80000 && number <= 89999) || (number >= 90000 && number <= 99999)) {
-                return Optional.of(LicencePlate.of(distinguisher, "", remainingPart, ""));
+                return Optional.of(LicencePlate.of(distinguisher, "", plate.subSequence(start, end).toString(), ""));
             }
         }
 
         return Optional.empty();
     }
 
+    static ValidationRuleBundle.ThwRules rules() {
+        return new ValidationRuleBundle.ThwRules(CODE, MIN_NUMBER_LENGTH, MAX_NUMBER_LENGTH, FIRST_DIGITS, RED_PLATE_LENGTH, RED_PLATE_MIN, RED_PLATE_MAX);
+    }
+
     /**
      * Checks if the number is a THW red dealer plate.
      * THW has special red plates in the range 0600-0699 for test drives.
      * 
-     * @param number the number to check
+     * @param plate the plate containing the number
+     * @param start start of the number (inclusive)
+     * @param end end of the number (exclusive)
      * @return true if it's a valid THW red plate number
      */
-    private boolean isRedPlate(String number) {
-        if (!number.matches("[0-9]{4}")) {
+    private boolean isRedPlate(CharSequence plate, int start, int end) {
+        if (!PlateCharacters.isDigits(plate, start, end, RED_PLATE_LENGTH, RED_PLATE_LENGTH)) {
             return false;
         }
 
-        int value = Integer.parseInt(number);
+        int value = PlateCharacters.parseDigits(plate, start, end);
         return value >= RED_PLATE_MIN && value <= RED_PLATE_MAX;
     }
 }
@@ -0,0 +1,6 @@
+package tomcom.licenceplatechecker.domain.licenceplate.validator;
+
+/**
+ * Counters of the {@link ValidationResultCache}; evictions only count entries dropped for size.
+ */
+public record ValidationCacheStatistics(long hits, long misses, long evictions, long size) { }
@@ -0,0 +1,131 @@
+package tomcom.licenceplatechecker.domain.licenceplate.validator;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import tomcom.licenceplatechecker.domain.licenceplate.PlateCategory;
+import tomcom.licenceplatechecker.domain.licenceplate.ValidationErrorCode;
+import tomcom.licenceplatechecker.domain.licenceplate.ValidationResult;
+
+import java.util.Locale;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Micrometer instrumentation of {@link LicencePlateValidationService}.
+ * <p>
+ * All meters are registered up front, so recording only increments existing meters. Without a
+ * {@link MeterRegistry} the {@link #DISABLED} instance skips even the clock reads.
+ * </p>
+ */
+final class ValidationMetrics {
+
+    static final ValidationMetrics DISABLED = new ValidationMetrics();
+
+    private static final String VALIDATION = "licence_plate.validation";
+    private static final String OUTCOMES = "licence_plate.validation.outcomes";
+    private static final String LOOKUP = "licence_plate.validation.lookup";
+    private static final String CANDIDATES = "licence_plate.validation.candidates";
+    private static final String UNKNOWN_CATEGORY = "unknown";
+    private static final String NO_REASON = "none";
+
+    private final boolean enabled;
+    private final Timer validTimer;
+    private final Timer invalidTimer;
+    private final Timer ambiguousTimer;
+    private final Counter[] validByCategory;
+    private final Counter[] failedByReason;
+    private final Timer lookupTimer;
+    private final DistributionSummary candidates;
+
+    private ValidationMetrics() {
+        this.enabled = false;
+        this.validTimer = null;
+        this.invalidTimer = null;
+        this.ambiguousTimer = null;
+        this.validByCategory = null;
+        this.failedByReason = null;
+        this.lookupTimer = null;
+        this.candidates = null;
+    }
+
+    ValidationMetrics(MeterRegistry registry) {
+        this.enabled = true;
+        this.validTimer = validationTimer(registry, "valid");
+        this.invalidTimer = validationTimer(registry, "invalid");
+        this.ambiguousTimer = validationTimer(registry, "ambiguous");
+
+        PlateCategory[] categories = PlateCategory.values();
+        this.validByCategory = new Counter[categories.length];
+        for (PlateCategory category : categories)
+            validByCategory[category.ordinal()] = outcomeCounter(registry, "valid", tagValue(category.name()), NO_REASON);
+
+        ValidationErrorCode[] errorCodes = ValidationErrorCode.values();
+        this.failedByReason = new Counter[errorCodes.length];
+        for (ValidationErrorCode errorCode : errorCodes) {
+            String outcome = errorCode == ValidationErrorCode.AMBIGUOUS ? "ambiguous" : "invalid";
+            failedByReason[errorCode.ordinal()] = outcomeCounter(registry, outcome, UNKNOWN_CATEGORY, tagValue(errorCode.name()));
+        }
+
+        this.lookupTimer = Timer.builder(LOOKUP)
+            .description("Time spent looking up distinguisher candidates in the index")
+            .register(registry);
+        this.candidates = DistributionSummary.builder(CANDIDATES)
+            .description("Distinguisher candidates tried per input")
+            .baseUnit("candidates")
+            .publishPercentileHistogram()
+            .register(registry);
+    }
+
+    long start() {
+        return enabled ? System.nanoTime() : 0L;
+    }
+
+    void recordValidation(long start, ValidationResult result) {
+        if (!enabled)
+            return;
+
+        long duration = System.nanoTime() - start;
+        if (result instanceof ValidationResult.Valid valid) {
+            validTimer.record(duration, TimeUnit.NANOSECONDS);
+            validByCategory[PlateCategory.of(valid.licencePlate()).ordinal()].increment();
+        } else if (result instanceof ValidationResult.Invalid invalid) {
+            invalidTimer.record(duration, TimeUnit.NANOSECONDS);
+            failedByReason[invalid.errorCode().ordinal()].increment();
+        } else if (result instanceof ValidationResult.Ambiguous ambiguous) {
+            ambiguousTimer.record(duration, TimeUnit.NANOSECONDS);
+            failedByReason[ambiguous.errorCode().ordinal()].increment();
+        }
+    }
+
+    void recordLookup(long start) {
+        if (enabled)
+            lookupTimer.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+    }
+
+    void recordCandidates(int count) {
+        if (enabled)
+            candidates.record(count);
+    }
+
+    private static Timer validationTimer(MeterRegistry registry, String outcome) {
+        return Timer.builder(VALIDATION)
+            .description("Time to validate a single licence plate input")
+            .tag("outcome", outcome)
+            .publishPercentileHistogram()
+            .register(registry);
+    }
+
+    private static Counter outcomeCounter(MeterRegistry registry, String outcome, String category, String reason) {
+        return Counter.builder(OUTCOMES)
+            .description("Validated licence plate inputs by outcome, plate category and failure reason")
+            .tag("outcome", outcome)
+            .tag("category", category)
+            .tag("reason", reason)
+            .register(registry);
+    }
+
+    private static String tagValue(String name) {
+        return name.toLowerCase(Locale.ROOT);
+    }
+}
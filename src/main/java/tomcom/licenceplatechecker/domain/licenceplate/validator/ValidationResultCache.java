@@ -0,0 +1,73 @@
+package tomcom.licenceplatechecker.domain.licenceplate.validator;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+import tomcom.licenceplatechecker.domain.licenceplate.DistinguisherIndex;
+import tomcom.licenceplatechecker.domain.licenceplate.ValidationResult;
+
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Supplier;
+
+/**
+ * Optional cache of validation results, keyed by the normalized input.
+ * <p>
+ * Valid, invalid and ambiguous outcomes are all cached. The cache is bounded and evicts with
+ * Caffeine's W-TinyLFU policy; reads do not lock. Every entry remembers the
+ * {@link DistinguisherIndex} it was computed with, so results from an older dataset are never
+ * returned, and the whole cache is dropped as soon as a new index is seen.
+ * </p>
+ */
+@Component
+@ConditionalOnProperty(prefix = "licence-plate.cache", name = "enabled", havingValue = "true")
+public class ValidationResultCache {
+
+    // Longer inputs can never be valid plates and are not worth a cache slot
+    private static final int MAX_KEY_LENGTH = 16;
+
+    private final Cache<String, Entry> cache;
+    private final AtomicReference<DistinguisherIndex> cachedIndex = new AtomicReference<>();
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+
+    public ValidationResultCache(@Value("${licence-plate.cache.max-size:100000}") long maxSize) {
+        this.cache = Caffeine.newBuilder()
+            .maximumSize(maxSize)
+            .recordStats()
+            .build();
+    }
+
+    ValidationResult get(PlateTokens tokens, DistinguisherIndex index, Supplier<ValidationResult> validation) {
+        if (tokens.length() > MAX_KEY_LENGTH)
+            return validation.get();
+
+        DistinguisherIndex previousIndex = cachedIndex.get();
+        if (previousIndex != index && cachedIndex.compareAndSet(previousIndex, index))
+            cache.invalidateAll();
+
+        String key = tokens.key();
+        Entry entry = cache.getIfPresent(key);
+        if (entry != null && entry.index() == index) {
+            hits.increment();
+            return entry.result();
+        }
+
+        misses.increment();
+        ValidationResult result = validation.get();
+        cache.put(key, new Entry(index, result));
+        return result;
+    }
+
+    public void invalidateAll() {
+        cache.invalidateAll();
+    }
+
+    public ValidationCacheStatistics statistics() {
+        return new ValidationCacheStatistics(hits.sum(), misses.sum(), cache.stats().evictionCount(), cache.estimatedSize());
+    }
+
+    private record Entry(DistinguisherIndex index, ValidationResult result) { }
+}
@@ -0,0 +1,126 @@
+package tomcom.licenceplatechecker.domain.licenceplate.validator;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import tomcom.licenceplatechecker.domain.licenceplate.Distinguisher;
+import tomcom.licenceplatechecker.domain.licenceplate.DistinguisherIndex;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Everything a client needs to validate licence plates without asking the server: the
+ * distinguishers as a prefix trie, the limits of every validator and the forbidden combinations.
+ * <p>
+ * The rules are taken from the validators themselves, so the bundle cannot drift from the server.
+ * Clients still have the server confirm a plate, as the server's data may have been reloaded
+ * since the bundle was generated.
+ * </p>
+ */
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public record ValidationRuleBundle(String version, TrieNode distinguishers, Rules rules, Forbidden forbidden) {
+
+    public static ValidationRuleBundle of(DistinguisherIndex index, ForbiddenCombinations forbiddenCombinations) {
+        return new ValidationRuleBundle(index.version(), trie(index), validatorRules(), forbiddenEntries(forbiddenCombinations));
+    }
+
+    /**
+     * A trie node: the distinguishers whose code ends here, and the children keyed by the next
+     * character. Entries are ordered civilian before special and active before deprecated.
+     */
+    @JsonInclude(JsonInclude.Include.NON_EMPTY)
+    public record TrieNode(List<Entry> entries, Map<String, TrieNode> children) {}
+
+    public record Entry(String label,
+                        @JsonInclude(JsonInclude.Include.NON_DEFAULT) boolean deprecated,
+                        @JsonInclude(JsonInclude.Include.NON_DEFAULT) boolean special) {}
+
+    public record Rules(int maxDistinguisherLength,
+                        List<String> modifiers,
+                        CivilianRules civilian,
+                        RedPlateRules redPlate,
+                        NumberRules genericSpecial,
+                        NumberRules bundeswehr,
+                        NumberRules nato,
+                        FederalPoliceRules federalPolice,
+                        ThwRules thw) {}
+
+    public record CivilianRules(int maxTotalLength, int maxIdentifierLength, int maxNumberLength) {}
+
+    public record RedPlateRules(int prefixLength, List<Integer> prefixes, int maxNumberLength, int maxTotalLength) {}
+
+    @JsonInclude(JsonInclude.Include.NON_NULL)
+    public record NumberRules(String code, int minNumberLength, int maxNumberLength) {}
+
+    public record FederalPoliceRules(String code,
+                                     int vehicleTypeCodeLength,
+                                     List<VehicleTypeRange> vehicleTypes,
+                                     String electricVehicleType,
+                                     String electricModifier,
+                                     int redPlateLength,
+                                     int redPlateMin,
+                                     int redPlateMax,
+                                     int minNumberLength,
+                                     int maxNumberLength) {}
+
+    public record VehicleTypeRange(int min, int max, String type) {}
+
+    public record ThwRules(String code, int minNumberLength, int maxNumberLength, String firstDigits,
+                           int redPlateLength, int redPlateMin, int redPlateMax) {}
+
+    /**
+     * Identifiers banned with every distinguisher, and those banned per distinguisher code.
+     */
+    public record Forbidden(List<String> identifiers, Map<String, List<String>> pairs) {}
+
+    private static TrieNode trie(DistinguisherIndex index) {
+        MutableNode root = new MutableNode();
+        // all() lists the codes in trie order, so children are added in alphabet order
+        for (Distinguisher distinguisher : index.all()) {
+            MutableNode node = root;
+            for (int i = 0; i < distinguisher.code.length(); i++)
+                node = node.children.computeIfAbsent(String.valueOf(distinguisher.code.charAt(i)), c -> new MutableNode());
+            node.entries.add(new Entry(distinguisher.label,
+                Boolean.TRUE.equals(distinguisher.deprecated), Boolean.TRUE.equals(distinguisher.special)));
+        }
+        return root.toTrieNode();
+    }
+
+    private static Rules validatorRules() {
+        return new Rules(
+            PlateCharacters.MAX_DISTINGUISHER_CODE_LENGTH,
+            PlateTokens.MODIFIERS,
+            CivilianPlateValidator.rules(),
+            RedPlateValidator.rules(),
+            SpecialPlateValidator.genericRules(),
+            BundeswehrValidator.rules(),
+            NatoValidator.rules(),
+            FederalPoliceValidator.rules(),
+            ThwValidator.rules());
+    }
+
+    private static Forbidden forbiddenEntries(ForbiddenCombinations forbiddenCombinations) {
+        List<String> identifiers = new ArrayList<>();
+        Map<String, List<String>> pairs = new LinkedHashMap<>();
+        for (String entry : forbiddenCombinations.entries()) {
+            int separator = entry.indexOf(ForbiddenCombinations.PAIR_SEPARATOR);
+            if (separator < 0)
+                identifiers.add(entry);
+            else
+                pairs.computeIfAbsent(entry.substring(0, separator), code -> new ArrayList<>()).add(entry.substring(separator + 1));
+        }
+        return new Forbidden(identifiers, pairs);
+    }
+
+    private static final class MutableNode {
+        private final List<Entry> entries = new ArrayList<>(1);
+        private final Map<String, MutableNode> children = new LinkedHashMap<>();
+
+        private TrieNode toTrieNode() {
+            Map<String, TrieNode> trieChildren = new LinkedHashMap<>();
+            children.forEach((c, child) -> trieChildren.put(c, child.toTrieNode()));
+            return new TrieNode(List.copyOf(entries), trieChildren);
+        }
+    }
+}
@@ -0,0 +1,110 @@
+package tomcom.licenceplatechecker.domain.licenceplate.watchlist;
+
+import tomcom.licenceplatechecker.domain.licenceplate.PackedLicencePlate;
+
+import java.util.function.LongConsumer;
+
+/**
+ * Open-addressing hash set of {@link PackedLicencePlate} values in a single {@code long[]}, with
+ * linear probing and at most half of the slots in use. Takes 16-32 bytes per plate instead of
+ * the ~200 of a {@code HashSet<String>}.
+ * <p>
+ * Not thread-safe; {@link Watchlist} guards it. Lookups read the table array once, so a lookup
+ * racing with a resize still probes a consistent table and always terminates.
+ * </p>
+ */
+final class PackedPlateSet {
+
+    // Packed plates are never 0 (the code is never empty) and never negative
+    private static final long EMPTY = 0;
+    private static final long REMOVED = -1;
+    private static final int MIN_CAPACITY = 16;
+
+    private long[] slots = new long[MIN_CAPACITY];
+    private int size;
+    private int used; // live and removed slots
+
+    boolean contains(long plate) {
+        long[] table = slots;
+        int mask = table.length - 1;
+        for (int i = PackedLicencePlate.hash(plate) & mask; ; i = (i + 1) & mask) {
+            long slot = table[i];
+            if (slot == plate)
+                return true;
+            if (slot == EMPTY)
+                return false;
+        }
+    }
+
+    boolean add(long plate) {
+        if ((used + 1) * 2 > slots.length)
+            resize();
+
+        int mask = slots.length - 1;
+        int free = -1;
+        for (int i = PackedLicencePlate.hash(plate) & mask; ; i = (i + 1) & mask) {
+            long slot = slots[i];
+            if (slot == plate)
+                return false;
+            if (slot == REMOVED && free < 0)
+                free = i;
+            if (slot == EMPTY) {
+                if (free < 0) {
+                    free = i;
+                    used++;
+                }
+                slots[free] = plate;
+                size++;
+                return true;
+            }
+        }
+    }
+
+    boolean remove(long plate) {
+        int mask = slots.length - 1;
+        for (int i = PackedLicencePlate.hash(plate) & mask; ; i = (i + 1) & mask) {
+            long slot = slots[i];
+            if (slot == plate) {
+                slots[i] = REMOVED;
+                size--;
+                return true;
+            }
+            if (slot == EMPTY)
+                return false;
+        }
+    }
+
+    int size() {
+        return size;
+    }
+
+    int capacity() {
+        return slots.length;
+    }
+
+    void forEach(LongConsumer action) {
+        for (long slot : slots) {
+            if (slot != EMPTY && slot != REMOVED)
+                action.accept(slot);
+        }
+    }
+
+    /**
+     * Rehashes into a table with room for twice the live entries, which also drops removed slots.
+     */
+    private void resize() {
+        int capacity = Math.max(MIN_CAPACITY, Integer.highestOneBit(Math.max(1, size) * 4 - 1) << 1);
+        long[] table = new long[capacity];
+        int mask = capacity - 1;
+        for (long slot : slots) {
+            if (slot == EMPTY || slot == REMOVED)
+                continue;
+            int i = PackedLicencePlate.hash(slot) & mask;
+            while (table[i] != EMPTY)
+                i = (i + 1) & mask;
+            table[i] = slot;
+        }
+        slots = table;
+        used = size;
+    }
+}
@@ -0,0 +1,143 @@
+package tomcom.licenceplatechecker.domain.licenceplate.watchlist;
+
+import tomcom.licenceplatechecker.domain.licenceplate.LicencePlate;
+import tomcom.licenceplatechecker.domain.licenceplate.PackedLicencePlate;
+
+import java.util.concurrent.locks.StampedLock;
+
+/**
+ * A named hot list of plates, such as stolen vehicles or an access-control list.
+ * <p>
+ * Plates are kept as {@link PackedLicencePlate} values in a primitive hash set, fronted by a
+ * Bloom filter: most plates checked are not on the list, and for those the filter answers
+ * without touching the much larger set. Lookups take no lock, they read optimistically and only
+ * retry under a read lock if a writer interfered. Writers are serialized.
+ * </p>
+ * <p>
+ * A Bloom filter cannot forget entries, so removed plates keep costing a set probe until the
+ * filter is rebuilt. That happens once the removals since the last rebuild exceed a quarter of
+ * the capacity the filter was sized for, or when the list outgrows that capacity. Measuring
+ * against the capacity rather than the current entries keeps small lists with a large expected
+ * size from rebuilding their filter on almost every removal.
+ * </p>
+ */
+public final class Watchlist {
+
+    private final String name;
+    private final PackedPlateSet plates = new PackedPlateSet();
+    private final StampedLock lock = new StampedLock();
+    private volatile PlateBloomFilter filter;
+    private int removedSinceRebuild;
+
+    public Watchlist(String name, int expectedSize) {
+        this.name = name;
+        this.filter = new PlateBloomFilter(expectedSize);
+    }
+
+    public String name() {
+        return name;
+    }
+
+    /**
+     * Whether the plate is on the list; plates that cannot be packed never are.
+     */
+    public boolean contains(LicencePlate licencePlate) {
+        long plate = PackedLicencePlate.tryEncode(licencePlate);
+        return plate != PackedLicencePlate.NOT_ENCODABLE && contains(plate);
+    }
+
+    public boolean contains(long plate) {
+        long stamp = lock.tryOptimisticRead();
+        boolean found = filter.mightContain(plate) && plates.contains(plate);
+        if (lock.validate(stamp))
+            return found;
+
+        stamp = lock.readLock();
+        try {
+            return filter.mightContain(plate) && plates.contains(plate);
+        } finally {
+            lock.unlockRead(stamp);
+        }
+    }
+
+    public boolean add(long plate) {
+        return addAll(new long[]{plate}) == 1;
+    }
+
+    public boolean remove(long plate) {
+        return removeAll(new long[]{plate}) == 1;
+    }
+
+    /**
+     * Adds the given plates under a single lock acquisition.
+     *
+     * @return the number of plates that were not on the list yet
+     */
+    public int addAll(long[] packedPlates) {
+        long stamp = lock.writeLock();
+        try {
+            int added = 0;
+            for (long plate : packedPlates) {
+                if (plates.add(plate)) {
+                    filter.add(plate);
+                    added++;
+                }
+            }
+            if (plates.size() > filter.capacity())
+                rebuildFilter();
+            return added;
+        } finally {
+            lock.unlockWrite(stamp);
+        }
+    }
+
+    /**
+     * Removes the given plates under a single lock acquisition.
+     *
+     * @return the number of plates that were on the list
+     */
+    public int removeAll(long[] packedPlates) {
+        long stamp = lock.writeLock();
+        try {
+            int removed = 0;
+            for (long plate : packedPlates) {
+                if (plates.remove(plate))
+                    removed++;
+            }
+            removedSinceRebuild += removed;
+            if (removedSinceRebuild > filter.capacity() / 4)
+                rebuildFilter();
+            return removed;
+        } finally {
+            lock.unlockWrite(stamp);
+        }
+    }
+
+    public int size() {
+        long stamp = lock.readLock();
+        try {
+            return plates.size();
+        } finally {
+            lock.unlockRead(stamp);
+        }
+    }
+
+    public WatchlistStatistics statistics() {
+        long stamp = lock.readLock();
+        try {
+            return new WatchlistStatistics(name, plates.size(), (long) plates.capacity() * Long.BYTES + filter.sizeInBytes());
+        } finally {
+            lock.unlockRead(stamp);
+        }
+    }
+
+    /**
+     * Sizes a new filter for twice the current entries and swaps it in; the caller holds the write lock.
+     */
+    private void rebuildFilter() {
+        PlateBloomFilter rebuilt = new PlateBloomFilter(Math.max(filter.capacity(), plates.size() * 2));
+        plates.forEach(rebuilt::add);
+        filter = rebuilt;
+        removedSinceRebuild = 0;
+    }
+}
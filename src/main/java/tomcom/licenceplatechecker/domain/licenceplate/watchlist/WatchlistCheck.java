@@ -0,0 +1,11 @@
+package tomcom.licenceplatechecker.domain.licenceplate.watchlist;
+
+import tomcom.licenceplatechecker.domain.licenceplate.ValidationResult;
+
+import java.util.List;
+
+/**
+ * Validation result of an input plus the names of the watchlists containing the plate; the
+ * list is empty unless the input is valid.
+ */
+public record WatchlistCheck(ValidationResult result, List<String> watchlists) { }
@@ -0,0 +1,118 @@
+package tomcom.licenceplatechecker.domain.licenceplate.watchlist;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Service;
+import tomcom.licenceplatechecker.domain.licenceplate.LicencePlate;
+import tomcom.licenceplatechecker.domain.licenceplate.PackedLicencePlate;
+import tomcom.licenceplatechecker.domain.licenceplate.ValidationResult;
+import tomcom.licenceplatechecker.domain.licenceplate.validator.LicencePlateValidationService;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+/**
+ * Manages the named {@link Watchlist}s and checks validated plates against them.
+ * <p>
+ * Entries are validated like any other input and stored in their canonical packed form, so
+ * "B AB 123" and "B-AB123" are the same entry. Only available with
+ * {@code licence-plate.watchlist.enabled=true}.
+ * </p>
+ */
+@Service
+@ConditionalOnProperty(name = "licence-plate.watchlist.enabled", havingValue = "true")
+public class WatchlistService {
+
+    private final LicencePlateValidationService licencePlateValidationService;
+    private final ConcurrentMap<String, Watchlist> watchlists = new ConcurrentHashMap<>();
+    private final int expectedSize;
+
+    public WatchlistService(LicencePlateValidationService licencePlateValidationService,
+                            @Value("${licence-plate.watchlist.expected-size:1000000}") int expectedSize) {
+        this.licencePlateValidationService = licencePlateValidationService;
+        this.expectedSize = expectedSize;
+    }
+
+    /**
+     * Adds the plates to the named watchlist, creating it if necessary.
+     */
+    public WatchlistUpdate add(String name, Collection<String> inputs) {
+        Watchlist watchlist = watchlists.computeIfAbsent(name, created -> new Watchlist(created, expectedSize));
+        List<String> rejected = new ArrayList<>();
+        int added = watchlist.addAll(pack(inputs, rejected));
+        return new WatchlistUpdate(added, watchlist.size(), rejected);
+    }
+
+    public Optional<WatchlistUpdate> remove(String name, Collection<String> inputs) {
+        Watchlist watchlist = watchlists.get(name);
+        if (watchlist == null)
+            return Optional.empty();
+        List<String> rejected = new ArrayList<>();
+        int removed = watchlist.removeAll(pack(inputs, rejected));
+        return Optional.of(new WatchlistUpdate(removed, watchlist.size(), rejected));
+    }
+
+    public boolean delete(String name) {
+        return watchlists.remove(name) != null;
+    }
+
+    public List<WatchlistStatistics> statistics() {
+        return watchlists.values().stream()
+            .map(Watchlist::statistics)
+            .sorted(Comparator.comparing(WatchlistStatistics::name))
+            .toList();
+    }
+
+    /**
+     * Names of the watchlists containing the plate; allocates nothing unless there is a hit.
+     * A plate that cannot be packed matches no watchlist.
+     */
+    public List<String> matches(LicencePlate licencePlate) {
+        long plate = PackedLicencePlate.tryEncode(licencePlate);
+        List<String> matches = List.of();
+        if (plate == PackedLicencePlate.NOT_ENCODABLE)
+            return matches;
+        for (Watchlist watchlist : watchlists.values()) {
+            if (!watchlist.contains(plate))
+                continue;
+            if (matches.isEmpty())
+                matches = new ArrayList<>(2);
+            matches.add(watchlist.name());
+        }
+        return matches;
+    }
+
+    /**
+     * Validates the input and, if it is a valid plate, checks it against every watchlist.
+     */
+    public WatchlistCheck check(String input) {
+        ValidationResult result = licencePlateValidationService.validate(input);
+        if (result instanceof ValidationResult.Valid valid)
+            return new WatchlistCheck(result, matches(valid.licencePlate()));
+        return new WatchlistCheck(result, List.of());
+    }
+
+    /**
+     * Packs the valid inputs; invalid ones and plates that cannot be packed go to {@code rejected}.
+     */
+    private long[] pack(Collection<String> inputs, List<String> rejected) {
+        long[] plates = new long[inputs.size()];
+        int count = 0;
+        for (String input : inputs) {
+            long plate = licencePlateValidationService.validate(input) instanceof ValidationResult.Valid valid
+                ? PackedLicencePlate.tryEncode(valid.licencePlate())
+                : PackedLicencePlate.NOT_ENCODABLE;
+            if (plate != PackedLicencePlate.NOT_ENCODABLE)
+                plates[count++] = plate;
+            else
+                rejected.add(input);
+        }
+        return Arrays.copyOf(plates, count);
+    }
+}
@@ -0,0 +1,6 @@
+package tomcom.licenceplatechecker.domain.licenceplate.watchlist;
+
+/**
+ * Size of a {@link Watchlist}; {@code memoryBytes} covers the hash table and the Bloom filter.
+ */
+public record WatchlistStatistics(String name, int size, long memoryBytes) { }
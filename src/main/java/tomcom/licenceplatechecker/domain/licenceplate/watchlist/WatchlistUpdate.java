@@ -0,0 +1,9 @@
+package tomcom.licenceplatechecker.domain.licenceplate.watchlist;
+
+import java.util.List;
+
+/**
+ * Outcome of adding plates to or removing them from a {@link Watchlist}: how many entries
+ * changed, and the inputs that are not valid, unambiguous plates.
+ */
+public record WatchlistUpdate(int changed, int size, List<String> rejected) { }
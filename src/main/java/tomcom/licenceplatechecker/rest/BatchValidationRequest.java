@@ -0,0 +1,9 @@
+package tomcom.licenceplatechecker.rest;
+
+import java.util.List;
+
+public class BatchValidationRequest {
+
+    public List<String> licencePlates;
+
+}
@@ -0,0 +1,36 @@
+package tomcom.licenceplatechecker.rest;
+
+import jakarta.servlet.http.HttpServletRequest;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+import tomcom.licenceplatechecker.application.DistinguisherReloader;
+import tomcom.licenceplatechecker.domain.licenceplate.DistinguisherDataset;
+import tomcom.licenceplatechecker.rest.util.ApiResponse;
+
+import java.io.IOException;
+
+/**
+ * Administrative endpoints; only available with {@code licence-plate.admin.enabled=true}.
+ */
+@RestController
+@RequestMapping("/admin/distinguishers")
+@ConditionalOnProperty(name = "licence-plate.admin.enabled", havingValue = "true")
+class DistinguisherAdminApi {
+    private static final String TEXT_CSV_VALUE = "text/csv";
+
+    private final DistinguisherReloader distinguisherReloader;
+
+    DistinguisherAdminApi(DistinguisherReloader distinguisherReloader) {
+        this.distinguisherReloader = distinguisherReloader;
+    }
+
+    @PostMapping(consumes = {TEXT_CSV_VALUE, MediaType.TEXT_PLAIN_VALUE}, produces = MediaType.APPLICATION_JSON_VALUE)
+    public ResponseEntity<ApiResponse<DistinguisherDatasetResponse>> reloadDistinguishers(HttpServletRequest request) throws IOException {
+        DistinguisherDataset dataset = distinguisherReloader.reload(request.getInputStream(), "upload");
+        return ResponseEntity.ok(ApiResponse.success(DistinguisherDatasetResponse.of(dataset)));
+    }
+}
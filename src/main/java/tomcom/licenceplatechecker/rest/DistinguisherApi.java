@@ -0,0 +1,116 @@
+package tomcom.licenceplatechecker.rest;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestHeader;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+import tomcom.licenceplatechecker.domain.licenceplate.DistinguisherCatalog;
+import tomcom.licenceplatechecker.rest.util.ApiResponse;
+
+import java.time.Duration;
+
+@RestController
+@RequestMapping("/distinguishers")
+class DistinguisherApi {
+    private static final String GZIP = "gzip";
+
+    private final DistinguisherCatalog distinguisherCatalog;
+    private final SerializedDistinguisherCatalog serializedCatalog;
+    private final CacheControl cacheControl;
+
+    DistinguisherApi(DistinguisherCatalog distinguisherCatalog,
+                     SerializedDistinguisherCatalog serializedCatalog,
+                     @Value("${licence-plate.distinguishers.cache-max-age:5m}") Duration cacheMaxAge) {
+        this.distinguisherCatalog = distinguisherCatalog;
+        this.serializedCatalog = serializedCatalog;
+        this.cacheControl = CacheControl.maxAge(cacheMaxAge).cachePublic();
+    }
+
+    /**
+     * All distinguishers, for client-side pre-validation. Clients revalidate with
+     * {@code If-None-Match} and get a 304 without a body as long as the dataset is unchanged.
+     */
+    @GetMapping(produces = MediaType.APPLICATION_JSON_VALUE)
+    public ResponseEntity<byte[]> getCatalog(@RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch,
+                                             @RequestHeader(value = HttpHeaders.ACCEPT_ENCODING, required = false) String acceptEncoding) {
+        SerializedDistinguisherCatalog.Representation catalog = serializedCatalog.current();
+        boolean gzip = acceptsGzip(acceptEncoding);
+        String eTag = gzip ? catalog.gzipETag() : catalog.eTag();
+
+        if (ifNoneMatch != null && matches(ifNoneMatch, catalog)) {
+            return ResponseEntity.status(HttpStatus.NOT_MODIFIED)
+                .eTag(eTag)
+                .cacheControl(cacheControl)
+                .header(HttpHeaders.VARY, HttpHeaders.ACCEPT_ENCODING)
+                .build();
+        }
+
+        ResponseEntity.BodyBuilder response = ResponseEntity.ok()
+            .eTag(eTag)
+            .cacheControl(cacheControl)
+            .header(HttpHeaders.VARY, HttpHeaders.ACCEPT_ENCODING)
+            .contentType(MediaType.APPLICATION_JSON);
+        if (gzip)
+            return response.header(HttpHeaders.CONTENT_ENCODING, GZIP).body(catalog.gzip());
+        return response.body(catalog.json());
+    }
+
+    @GetMapping(value = "/dataset", produces = MediaType.APPLICATION_JSON_VALUE)
+    public ResponseEntity<ApiResponse<DistinguisherDatasetResponse>> getDataset() {
+        return ResponseEntity.ok(ApiResponse.success(DistinguisherDatasetResponse.of(distinguisherCatalog.dataset())));
+    }
+
+    /**
+     * Whether any tag in the {@code If-None-Match} header names the current version. Both
+     * encodings are accepted, as a client switching encodings still holds the same data.
+     */
+    private static boolean matches(String ifNoneMatch, SerializedDistinguisherCatalog.Representation catalog) {
+        for (String tag : ifNoneMatch.split(",")) {
+            tag = tag.trim();
+            if (tag.startsWith("W/"))
+                tag = tag.substring(2);
+            if (tag.equals("*") || tag.equals(catalog.eTag()) || tag.equals(catalog.gzipETag()))
+                return true;
+        }
+        return false;
+    }
+
+    /**
+     * Whether the {@code Accept-Encoding} header allows gzip, either by name or through a
+     * wildcard, and does not refuse it with {@code q=0}.
+     */
+    private static boolean acceptsGzip(String acceptEncoding) {
+        if (acceptEncoding == null)
+            return false;
+        Boolean wildcard = null;
+        for (String coding : acceptEncoding.split(",")) {
+            String[] parameters = coding.split(";");
+            String name = parameters[0].trim();
+            boolean accepted = true;
+            for (int i = 1; i < parameters.length; i++) {
+                String parameter = parameters[i].trim();
+                if (parameter.startsWith("q=") && parseQuality(parameter.substring(2)) == 0)
+                    accepted = false;
+            }
+            if (name.equalsIgnoreCase(GZIP))
+                return accepted;
+            if (name.equals("*"))
+                wildcard = accepted;
+        }
+        return Boolean.TRUE.equals(wildcard);
+    }
+
+    private static double parseQuality(String quality) {
+        try {
+            return Double.parseDouble(quality.trim());
+        } catch (NumberFormatException ex) {
+            return 0;
+        }
+    }
+}
@@ -0,0 +1,13 @@
+package tomcom.licenceplatechecker.rest;
+
+import tomcom.licenceplatechecker.domain.licenceplate.DistinguisherDataset;
+
+import java.util.List;
+
+public record DistinguisherCatalogResponse(String version, List<DistinguisherResponse> distinguishers) {
+
+    static DistinguisherCatalogResponse of(DistinguisherDataset dataset) {
+        return new DistinguisherCatalogResponse(dataset.version(),
+            dataset.index().all().stream().map(DistinguisherResponse::of).toList());
+    }
+}
@@ -0,0 +1,12 @@
+package tomcom.licenceplatechecker.rest;
+
+import tomcom.licenceplatechecker.domain.licenceplate.DistinguisherDataset;
+
+import java.time.Instant;
+
+public record DistinguisherDatasetResponse(String version, int size, String source, Instant loadedAt) {
+
+    static DistinguisherDatasetResponse of(DistinguisherDataset dataset) {
+        return new DistinguisherDatasetResponse(dataset.version(), dataset.size(), dataset.source(), dataset.loadedAt());
+    }
+}
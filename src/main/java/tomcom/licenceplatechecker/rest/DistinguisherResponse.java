@@ -0,0 +1,11 @@
+package tomcom.licenceplatechecker.rest;
+
+import tomcom.licenceplatechecker.domain.licenceplate.Distinguisher;
+
+public record DistinguisherResponse(String code, String label, boolean deprecated, boolean special) {
+
+    static DistinguisherResponse of(Distinguisher distinguisher) {
+        return new DistinguisherResponse(distinguisher.code, distinguisher.label,
+            Boolean.TRUE.equals(distinguisher.deprecated), Boolean.TRUE.equals(distinguisher.special));
+    }
+}
@@ -0,0 +1,10 @@
+package tomcom.licenceplatechecker.rest;
+
+public class FuzzyValidationRequest {
+
+    public String licencePlate;
+
+    // Optional, capped by licence-plate.fuzzy.max-substitutions
+    public Integer maxSubstitutions;
+
+}
@@ -0,0 +1,7 @@
+package tomcom.licenceplatechecker.rest;
+
+import tomcom.licenceplatechecker.application.FuzzyMatchResult;
+
+import java.util.List;
+
+public record FuzzyValidationResponse(List<FuzzyMatchResult> matches, boolean complete) { }
@@ -1,27 +1,126 @@
 package tomcom.licenceplatechecker.rest;
 
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpStatus;
 import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import tomcom.licenceplatechecker.application.AlternativeResult;
+import tomcom.licenceplatechecker.application.BatchValidationResult;
+import tomcom.licenceplatechecker.application.FuzzyMatchResult;
+import tomcom.licenceplatechecker.application.LicencePlateBatchValidator;
+import tomcom.licenceplatechecker.application.LicencePlateDetails;
 import tomcom.licenceplatechecker.application.LicencePlatePresenter;
-import tomcom.licenceplatechecker.domain.licenceplate.LicencePlate;
+import tomcom.licenceplatechecker.application.LicencePlateStreamValidator;
+import tomcom.licenceplatechecker.domain.licenceplate.FuzzyValidationResult;
+import tomcom.licenceplatechecker.domain.licenceplate.ValidationResult;
 import tomcom.licenceplatechecker.domain.licenceplate.validator.LicencePlateValidationService;
+import tomcom.licenceplatechecker.domain.licenceplate.validator.ValidationCacheStatistics;
 import tomcom.licenceplatechecker.rest.util.ApiResponse;
 
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.List;
+
 @RestController
 @RequestMapping("/licence-plate")
 class LicencePlateApi {
+    private static final TypeReference<ApiResponse<LicencePlateDetails>> DETAILS_RESPONSE = new TypeReference<>() {};
+
     private final LicencePlateValidationService licencePlateValidationService;
+    private final LicencePlateBatchValidator licencePlateBatchValidator;
+    private final LicencePlateStreamValidator licencePlateStreamValidator;
+    private final int maxFuzzySubstitutions;
+    private final Duration fuzzyBudget;
+    // Resolved once, so serializing a details response skips the serializer lookup
+    private final ObjectWriter detailsWriter;
 
-    LicencePlateApi(LicencePlateValidationService licencePlateValidationService) {
+    LicencePlateApi(LicencePlateValidationService licencePlateValidationService,
+                    LicencePlateBatchValidator licencePlateBatchValidator,
+                    LicencePlateStreamValidator licencePlateStreamValidator,
+                    ObjectMapper objectMapper,
+                    @Value("${licence-plate.fuzzy.max-substitutions:2}") int maxFuzzySubstitutions,
+                    @Value("${licence-plate.fuzzy.budget:2ms}") Duration fuzzyBudget) {
         this.licencePlateValidationService = licencePlateValidationService;
+        this.licencePlateBatchValidator = licencePlateBatchValidator;
+        this.licencePlateStreamValidator = licencePlateStreamValidator;
+        this.maxFuzzySubstitutions = maxFuzzySubstitutions;
+        this.fuzzyBudget = fuzzyBudget;
+        this.detailsWriter = objectMapper.writerFor(DETAILS_RESPONSE);
     }
 
     @PostMapping(value = "/validate", produces = MediaType.APPLICATION_JSON_VALUE)
     @ResponseBody
-    public ResponseEntity<ApiResponse<String>> validateLicencePlate(@RequestBody ValidationRequest validationRequest) {
-        LicencePlate validLicencePlate = licencePlateValidationService.validateLicencePlate(validationRequest.licencePlate);
-        String presentedPlate = LicencePlatePresenter.present(validLicencePlate);
-        return ResponseEntity.ok(ApiResponse.success(presentedPlate));
+    public ResponseEntity<ApiResponse<?>> validateLicencePlate(@RequestBody ValidationRequest validationRequest) {
+        ValidationResult result = licencePlateValidationService.validate(validationRequest.licencePlate);
+        if (result instanceof ValidationResult.Valid valid) {
+            String presentedPlate = LicencePlatePresenter.present(valid.licencePlate());
+            return ResponseEntity.ok(ApiResponse.success(presentedPlate));
+        }
+        return rejected(result);
+    }
+
+    /**
+     * Like {@code /validate}, but returns the plate broken down into its parts with the data of
+     * its distinguisher, so clients need neither to parse the plate nor to look up the distinguisher.
+     */
+    @PostMapping(value = "/validate/details", produces = MediaType.APPLICATION_JSON_VALUE)
+    @ResponseBody
+    public ResponseEntity<?> validateLicencePlateDetails(@RequestBody ValidationRequest validationRequest) throws IOException {
+        ValidationResult result = licencePlateValidationService.validate(validationRequest.licencePlate);
+        if (result instanceof ValidationResult.Valid valid) {
+            LicencePlateDetails details = LicencePlatePresenter.details(valid.licencePlate());
+            byte[] body = detailsWriter.writeValueAsBytes(ApiResponse.success(details));
+            return ResponseEntity.ok().contentType(MediaType.APPLICATION_JSON).body(body);
+        }
+        return rejected(result);
+    }
+
+    @PostMapping(value = "/validate/fuzzy", produces = MediaType.APPLICATION_JSON_VALUE)
+    @ResponseBody
+    public ResponseEntity<ApiResponse<FuzzyValidationResponse>> validateLicencePlateFuzzy(@RequestBody FuzzyValidationRequest fuzzyValidationRequest) {
+        int maxSubstitutions = fuzzyValidationRequest.maxSubstitutions == null
+            ? maxFuzzySubstitutions
+            : Math.max(0, Math.min(fuzzyValidationRequest.maxSubstitutions, maxFuzzySubstitutions));
+        FuzzyValidationResult result = licencePlateValidationService.validateFuzzy(fuzzyValidationRequest.licencePlate, maxSubstitutions, fuzzyBudget);
+        return ResponseEntity.ok(ApiResponse.success(new FuzzyValidationResponse(FuzzyMatchResult.of(result.matches()), result.complete())));
+    }
+
+    @PostMapping(value = "/validate/batch", produces = MediaType.APPLICATION_JSON_VALUE)
+    @ResponseBody
+    public ResponseEntity<ApiResponse<List<BatchValidationResult>>> validateLicencePlates(@RequestBody BatchValidationRequest batchValidationRequest) {
+        List<BatchValidationResult> results = licencePlateBatchValidator.validate(batchValidationRequest.licencePlates);
+        return ResponseEntity.ok(ApiResponse.success(results));
+    }
+
+    @PostMapping(value = "/validate/stream", consumes = MediaType.APPLICATION_NDJSON_VALUE, produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public void validateLicencePlateStream(HttpServletRequest request, HttpServletResponse response) throws IOException {
+        response.setContentType(MediaType.APPLICATION_NDJSON_VALUE);
+        response.setCharacterEncoding(StandardCharsets.UTF_8.name());
+        licencePlateStreamValidator.validate(request.getInputStream(), response.getOutputStream());
+    }
+
+    @GetMapping(value = "/validate/cache", produces = MediaType.APPLICATION_JSON_VALUE)
+    @ResponseBody
+    public ResponseEntity<ApiResponse<ValidationCacheStatistics>> getCacheStatistics() {
+        return licencePlateValidationService.cacheStatistics()
+            .map(statistics -> ResponseEntity.ok(ApiResponse.success(statistics)))
+            .orElseGet(() -> ResponseEntity.status(HttpStatus.NOT_FOUND).body(ApiResponse.error("Validierungs-Cache ist nicht aktiviert")));
+    }
+
+    private static ResponseEntity<ApiResponse<?>> rejected(ValidationResult result) {
+        if (result instanceof ValidationResult.Ambiguous ambiguous) {
+            // The ranked interpretations let the client pick one without resubmitting
+            List<AlternativeResult> alternatives = AlternativeResult.of(ambiguous.alternatives());
+            return ResponseEntity.status(HttpStatus.UNPROCESSABLE_ENTITY).body(ApiResponse.error(ambiguous.errorCode().name(), ambiguous.message(), alternatives));
+        }
+        ValidationResult.Invalid invalid = (ValidationResult.Invalid) result;
+        return ResponseEntity.status(HttpStatus.BAD_REQUEST).body(ApiResponse.error(invalid.errorCode().name(), invalid.message()));
     }
-}
+}
\ No newline at end of file
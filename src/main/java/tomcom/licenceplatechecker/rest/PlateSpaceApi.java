@@ -0,0 +1,71 @@
+package tomcom.licenceplatechecker.rest;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+import tomcom.licenceplatechecker.application.LicencePlatePresenter;
+import tomcom.licenceplatechecker.domain.licenceplate.validator.PlateSpace;
+import tomcom.licenceplatechecker.domain.licenceplate.validator.PlateSpaceCount;
+import tomcom.licenceplatechecker.domain.licenceplate.validator.PlateSpaceService;
+import tomcom.licenceplatechecker.rest.util.ApiResponse;
+
+import java.util.List;
+import java.util.Locale;
+import java.util.Optional;
+
+@RestController
+@RequestMapping("/plate-space")
+class PlateSpaceApi {
+    private final PlateSpaceService plateSpaceService;
+    private final int maxPageSize;
+
+    PlateSpaceApi(PlateSpaceService plateSpaceService,
+                  @Value("${licence-plate.plate-space.max-page-size:1000}") int maxPageSize) {
+        this.plateSpaceService = plateSpaceService;
+        this.maxPageSize = maxPageSize;
+    }
+
+    @GetMapping(value = "/{code}", produces = MediaType.APPLICATION_JSON_VALUE)
+    public ResponseEntity<ApiResponse<PlateSpaceCount>> count(@PathVariable String code,
+                                                              @RequestParam(defaultValue = "") String pattern) {
+        Optional<PlateSpace> plateSpace = plateSpaceService.forDistinguisher(normalize(code));
+        if (plateSpace.isEmpty())
+            return unknownDistinguisher(code);
+        return ResponseEntity.ok(ApiResponse.success(plateSpace.get().count(normalize(pattern))));
+    }
+
+    @GetMapping(value = "/{code}/plates", produces = MediaType.APPLICATION_JSON_VALUE)
+    public ResponseEntity<ApiResponse<PlateSpacePageResponse>> plates(@PathVariable String code,
+                                                                      @RequestParam(defaultValue = "") String pattern,
+                                                                      @RequestParam(defaultValue = "0") long offset,
+                                                                      @RequestParam(defaultValue = "100") int limit) {
+        if (offset < 0 || limit < 1)
+            return ResponseEntity.status(HttpStatus.BAD_REQUEST).body(ApiResponse.error("Offset und Limit müssen positiv sein"));
+
+        Optional<PlateSpace> plateSpace = plateSpaceService.forDistinguisher(normalize(code));
+        if (plateSpace.isEmpty())
+            return unknownDistinguisher(code);
+
+        String normalizedPattern = normalize(pattern);
+        List<String> plates = plateSpace.get().plates(normalizedPattern, offset)
+            .limit(Math.min(limit, maxPageSize))
+            .map(LicencePlatePresenter::present)
+            .toList();
+        long total = plateSpace.get().count(normalizedPattern).total();
+        return ResponseEntity.ok(ApiResponse.success(new PlateSpacePageResponse(plates, offset, total)));
+    }
+
+    private static String normalize(String value) {
+        return value.trim().toUpperCase(Locale.ROOT);
+    }
+
+    private static <T> ResponseEntity<ApiResponse<T>> unknownDistinguisher(String code) {
+        return ResponseEntity.status(HttpStatus.NOT_FOUND).body(ApiResponse.error(String.format("Kein Unterscheidungszeichen %s gefunden", code)));
+    }
+}
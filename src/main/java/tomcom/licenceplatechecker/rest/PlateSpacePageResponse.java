@@ -0,0 +1,5 @@
+package tomcom.licenceplatechecker.rest;
+
+import java.util.List;
+
+public record PlateSpacePageResponse(List<String> plates, long offset, long total) { }
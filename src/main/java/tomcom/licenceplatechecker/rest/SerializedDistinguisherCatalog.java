@@ -0,0 +1,124 @@
+package tomcom.licenceplatechecker.rest;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import org.springframework.stereotype.Component;
+import tomcom.licenceplatechecker.domain.licenceplate.DistinguisherCatalog;
+import tomcom.licenceplatechecker.domain.licenceplate.DistinguisherDataset;
+import tomcom.licenceplatechecker.rest.util.ApiResponse;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.zip.CRC32;
+import java.util.zip.Deflater;
+import java.util.zip.DeflaterOutputStream;
+
+/**
+ * The distinguisher catalog served by {@code GET /distinguishers}, serialized and compressed once
+ * per dataset version instead of once per request.
+ * <p>
+ * The serialized form is rebuilt on the first request after the dataset changed. The catalog is
+ * listed in code order, so equal data always yields equal bytes and the dataset version can serve
+ * as a strong entity tag.
+ * </p>
+ */
+@Component
+class SerializedDistinguisherCatalog {
+
+    private static final TypeReference<ApiResponse<DistinguisherCatalogResponse>> CATALOG_RESPONSE = new TypeReference<>() {
+    };
+    // Magic, deflate method, no flags, no modification time, no extra flags, unknown operating system (RFC 1952)
+    private static final byte[] GZIP_HEADER = {0x1f, (byte) 0x8b, Deflater.DEFLATED, 0, 0, 0, 0, 0, 0, (byte) 0xff};
+    // CRC-32 and length of the uncompressed data, little-endian
+    private static final int GZIP_TRAILER_SIZE = 8;
+
+    private final DistinguisherCatalog distinguisherCatalog;
+    private final ObjectWriter catalogWriter;
+    private final AtomicReference<Representation> current = new AtomicReference<>();
+    // A lock instead of synchronized, so a virtual thread serializing the catalog does not pin its carrier
+    private final ReentrantLock rebuildLock = new ReentrantLock();
+
+    SerializedDistinguisherCatalog(DistinguisherCatalog distinguisherCatalog, ObjectMapper objectMapper) {
+        this.distinguisherCatalog = distinguisherCatalog;
+        this.catalogWriter = objectMapper.writerFor(CATALOG_RESPONSE);
+    }
+
+    /**
+     * The catalog serialized from the current dataset.
+     */
+    Representation current() {
+        Representation representation = current.get();
+        if (representation != null && representation.version().equals(distinguisherCatalog.dataset().version()))
+            return representation;
+
+        rebuildLock.lock();
+        try {
+            // Only one request serializes a new version, the others wait for its result
+            DistinguisherDataset dataset = distinguisherCatalog.dataset();
+            representation = current.get();
+            if (representation == null || !representation.version().equals(dataset.version())) {
+                representation = serialize(dataset);
+                current.set(representation);
+            }
+            return representation;
+        } finally {
+            rebuildLock.unlock();
+        }
+    }
+
+    private Representation serialize(DistinguisherDataset dataset) {
+        try {
+            byte[] json = catalogWriter.writeValueAsBytes(ApiResponse.success(DistinguisherCatalogResponse.of(dataset)));
+            return new Representation(dataset.version(), json, gzip(json));
+        } catch (JsonProcessingException ex) {
+            throw new IllegalStateException("Unterscheidungszeichen konnten nicht serialisiert werden", ex);
+        }
+    }
+
+    /**
+     * Writes the gzip member around a raw deflate stream by hand, as {@link java.util.zip.GZIPOutputStream}
+     * offers no way to choose the compression level.
+     */
+    private static byte[] gzip(byte[] data) {
+        ByteArrayOutputStream compressed = new ByteArrayOutputStream(data.length / 4);
+        compressed.writeBytes(GZIP_HEADER);
+        // Compressed once per version, so the slowest level costs nothing per request
+        Deflater deflater = new Deflater(Deflater.BEST_COMPRESSION, true);
+        try (DeflaterOutputStream out = new DeflaterOutputStream(compressed, deflater)) {
+            out.write(data);
+        } catch (IOException ex) {
+            throw new UncheckedIOException(ex);
+        } finally {
+            deflater.end();
+        }
+        CRC32 crc = new CRC32();
+        crc.update(data);
+        compressed.writeBytes(ByteBuffer.allocate(GZIP_TRAILER_SIZE).order(ByteOrder.LITTLE_ENDIAN)
+            .putInt((int) crc.getValue())
+            .putInt(data.length)
+            .array());
+        return compressed.toByteArray();
+    }
+
+    /**
+     * One version of the catalog as plain and gzip-compressed JSON. The two encodings are
+     * different representations and therefore carry different entity tags.
+     */
+    record Representation(String version, byte[] json, byte[] gzip) {
+
+        String eTag() {
+            return "\"" + version + "\"";
+        }
+
+        String gzipETag() {
+            return "\"" + version + "-gzip\"";
+        }
+    }
+}
@@ -0,0 +1,102 @@
+package tomcom.licenceplatechecker.rest;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.DeleteMapping;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+import tomcom.licenceplatechecker.application.BatchLimitExceededException;
+import tomcom.licenceplatechecker.application.LicencePlatePresenter;
+import tomcom.licenceplatechecker.domain.licenceplate.ValidationResult;
+import tomcom.licenceplatechecker.domain.licenceplate.watchlist.WatchlistCheck;
+import tomcom.licenceplatechecker.domain.licenceplate.watchlist.WatchlistService;
+import tomcom.licenceplatechecker.domain.licenceplate.watchlist.WatchlistStatistics;
+import tomcom.licenceplatechecker.domain.licenceplate.watchlist.WatchlistUpdate;
+import tomcom.licenceplatechecker.rest.util.ApiResponse;
+
+import java.util.List;
+
+/**
+ * Watchlist maintenance and lookup; only available with {@code licence-plate.watchlist.enabled=true}.
+ * Plates are added and removed in batches of at most {@code licence-plate.batch.max-size}.
+ */
+@RestController
+@RequestMapping("/watchlists")
+@ConditionalOnProperty(name = "licence-plate.watchlist.enabled", havingValue = "true")
+class WatchlistApi {
+    private final WatchlistService watchlistService;
+    private final int maxBatchSize;
+
+    WatchlistApi(WatchlistService watchlistService,
+                 @Value("${licence-plate.batch.max-size:10000}") int maxBatchSize) {
+        this.watchlistService = watchlistService;
+        this.maxBatchSize = maxBatchSize;
+    }
+
+    @GetMapping(produces = MediaType.APPLICATION_JSON_VALUE)
+    public ResponseEntity<ApiResponse<List<WatchlistStatistics>>> getWatchlists() {
+        return ResponseEntity.ok(ApiResponse.success(watchlistService.statistics()));
+    }
+
+    @PostMapping(value = "/{name}/plates", produces = MediaType.APPLICATION_JSON_VALUE)
+    public ResponseEntity<ApiResponse<WatchlistUpdate>> addPlates(@PathVariable String name, @RequestBody BatchValidationRequest request) {
+        if (isEmpty(request))
+            return noPlates();
+        checkBatchSize(request);
+        return ResponseEntity.ok(ApiResponse.success(watchlistService.add(name, request.licencePlates)));
+    }
+
+    @PostMapping(value = "/{name}/plates/remove", produces = MediaType.APPLICATION_JSON_VALUE)
+    public ResponseEntity<ApiResponse<WatchlistUpdate>> removePlates(@PathVariable String name, @RequestBody BatchValidationRequest request) {
+        if (isEmpty(request))
+            return noPlates();
+        checkBatchSize(request);
+        return watchlistService.remove(name, request.licencePlates)
+            .map(update -> ResponseEntity.ok(ApiResponse.success(update)))
+            .orElseGet(() -> unknownWatchlist(name));
+    }
+
+    @DeleteMapping(value = "/{name}", produces = MediaType.APPLICATION_JSON_VALUE)
+    public ResponseEntity<ApiResponse<Void>> deleteWatchlist(@PathVariable String name) {
+        if (!watchlistService.delete(name))
+            return unknownWatchlist(name);
+        return ResponseEntity.ok(ApiResponse.success(null));
+    }
+
+    @PostMapping(value = "/check", produces = MediaType.APPLICATION_JSON_VALUE)
+    public ResponseEntity<ApiResponse<WatchlistCheckResponse>> check(@RequestBody ValidationRequest validationRequest) {
+        WatchlistCheck check = watchlistService.check(validationRequest.licencePlate);
+        if (check.result() instanceof ValidationResult.Valid valid) {
+            String presentedPlate = LicencePlatePresenter.present(valid.licencePlate());
+            return ResponseEntity.ok(ApiResponse.success(new WatchlistCheckResponse(presentedPlate, check.watchlists())));
+        }
+        if (check.result() instanceof ValidationResult.Ambiguous ambiguous)
+            return ResponseEntity.status(HttpStatus.UNPROCESSABLE_ENTITY).body(ApiResponse.error(ambiguous.errorCode().name(), ambiguous.message()));
+        ValidationResult.Invalid invalid = (ValidationResult.Invalid) check.result();
+        return ResponseEntity.status(HttpStatus.BAD_REQUEST).body(ApiResponse.error(invalid.errorCode().name(), invalid.message()));
+    }
+
+    private static boolean isEmpty(BatchValidationRequest request) {
+        return request.licencePlates == null || request.licencePlates.isEmpty();
+    }
+
+    private void checkBatchSize(BatchValidationRequest request) {
+        if (request.licencePlates.size() > maxBatchSize)
+            throw new BatchLimitExceededException(String.format("Maximal %d Kennzeichen pro Anfrage erlaubt", maxBatchSize));
+    }
+
+    private static <T> ResponseEntity<ApiResponse<T>> noPlates() {
+        return ResponseEntity.status(HttpStatus.BAD_REQUEST).body(ApiResponse.error("Keine Kennzeichen angegeben"));
+    }
+
+    private static <T> ResponseEntity<ApiResponse<T>> unknownWatchlist(String name) {
+        return ResponseEntity.status(HttpStatus.NOT_FOUND).body(ApiResponse.error(String.format("Watchlist %s nicht gefunden", name)));
+    }
+}
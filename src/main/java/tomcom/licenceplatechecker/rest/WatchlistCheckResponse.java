@@ -0,0 +1,5 @@
+package tomcom.licenceplatechecker.rest;
+
+import java.util.List;
+
+public record WatchlistCheckResponse(String licencePlate, List<String> watchlists) { }
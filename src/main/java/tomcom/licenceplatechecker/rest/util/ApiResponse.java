@@ -7,20 +7,30 @@ import com.fasterxml.jackson.annotation.JsonInclude;
 public class ApiResponse<T> {
     private final boolean success;
     private final T result;
+    private final String errorCode;
     private final String error;
 
-    private ApiResponse(boolean success, T result, String error) {
+    private ApiResponse(boolean success, T result, String errorCode, String error) {
         this.success = success;
         this.result = result;
+        this.errorCode = errorCode;
         this.error = error;
     }
 
     public static <T> ApiResponse<T> success(T result) {
-        return new ApiResponse<>(true, result, null);
+        return new ApiResponse<>(true, result, null, null);
     }
 
     public static <T> ApiResponse<T> error(String errorMessage) {
-        return new ApiResponse<>(false, null, errorMessage);
+        return new ApiResponse<>(false, null, null, errorMessage);
+    }
+
+    public static <T> ApiResponse<T> error(String errorCode, String errorMessage) {
+        return new ApiResponse<>(false, null, errorCode, errorMessage);
+    }
+
+    public static <T> ApiResponse<T> error(String errorCode, String errorMessage, T result) {
+        return new ApiResponse<>(false, result, errorCode, errorMessage);
     }
 
     public boolean isSuccess() {
@@ -31,6 +41,10 @@ public class ApiResponse<T> {
         return result;
     }
 
+    public String getErrorCode() {
+        return errorCode;
+    }
+
     public String getError() {
         return error;
     }
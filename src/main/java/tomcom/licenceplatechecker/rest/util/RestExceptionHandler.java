@@ -4,6 +4,8 @@ import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.ExceptionHandler;
 import org.springframework.web.bind.annotation.RestControllerAdvice;
+import tomcom.licenceplatechecker.application.BatchLimitExceededException;
+import tomcom.licenceplatechecker.application.InvalidDistinguisherDataException;
 import tomcom.licenceplatechecker.domain.licenceplate.exception.AmbiguousLicencePlateException;
 import tomcom.licenceplatechecker.domain.licenceplate.exception.InvalidLicencePlateException;
 
@@ -19,4 +21,14 @@ class RestExceptionHandler {
     public ResponseEntity<ApiResponse<Void>> handleAmbiguous(AmbiguousLicencePlateException ex) {
         return ResponseEntity.status(HttpStatus.UNPROCESSABLE_ENTITY).body(ApiResponse.error(ex.getMessage()));
     }
+
+    @ExceptionHandler(BatchLimitExceededException.class)
+    public ResponseEntity<ApiResponse<Void>> handleBatchLimitExceeded(BatchLimitExceededException ex) {
+        return ResponseEntity.status(HttpStatus.PAYLOAD_TOO_LARGE).body(ApiResponse.error(ex.getMessage()));
+    }
+
+    @ExceptionHandler(InvalidDistinguisherDataException.class)
+    public ResponseEntity<ApiResponse<Void>> handleInvalidDistinguisherData(InvalidDistinguisherDataException ex) {
+        return ResponseEntity.status(HttpStatus.UNPROCESSABLE_ENTITY).body(ApiResponse.error(ex.getMessage()));
+    }
 }
@@ -0,0 +1,104 @@
+package tomcom.licenceplatechecker.wire;
+
+import tomcom.licenceplatechecker.application.BatchValidationResult;
+
+import java.io.Closeable;
+import java.io.EOFException;
+import java.io.IOException;
+import java.net.InetSocketAddress;
+import java.net.StandardSocketOptions;
+import java.nio.ByteBuffer;
+import java.nio.channels.SocketChannel;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Blocking client of the {@link WireServer}, for Java callers, tests and benchmarks.
+ * <p>
+ * {@link #validateAll(List)} pipelines its inputs: it sends a window of requests before reading
+ * their responses. The window is small enough that its requests fit into the socket buffers, so
+ * the client never blocks on writing while the server waits for it to read. Not thread-safe.
+ * </p>
+ */
+public class WireClient implements Closeable {
+
+    private static final int BUFFER_SIZE = 64 * 1024;
+    private static final int WINDOW = 256;
+
+    private final SocketChannel channel;
+    private final ByteBuffer writeBuffer = ByteBuffer.allocateDirect(BUFFER_SIZE);
+    private final ByteBuffer readBuffer = ByteBuffer.allocateDirect(BUFFER_SIZE);
+    private int nextId;
+
+    private WireClient(SocketChannel channel) {
+        this.channel = channel;
+    }
+
+    public static WireClient connect(String host, int port) throws IOException {
+        SocketChannel channel = SocketChannel.open(new InetSocketAddress(host, port));
+        channel.setOption(StandardSocketOptions.TCP_NODELAY, true);
+        return new WireClient(channel);
+    }
+
+    public BatchValidationResult validate(String input) throws IOException {
+        return validateAll(List.of(input)).get(0);
+    }
+
+    /**
+     * Validates the inputs, returning the results in input order.
+     *
+     * @throws IOException if the connection fails or the server reports a protocol error
+     */
+    public List<BatchValidationResult> validateAll(List<String> inputs) throws IOException {
+        List<BatchValidationResult> results = new ArrayList<>(inputs.size());
+        for (int start = 0; start < inputs.size(); start += WINDOW) {
+            int end = Math.min(start + WINDOW, inputs.size());
+            int firstId = nextId;
+            for (int i = start; i < end; i++) {
+                String input = inputs.get(i);
+                if (!WireProtocol.writeRequest(writeBuffer, nextId, input)) {
+                    flush();
+                    WireProtocol.writeRequest(writeBuffer, nextId, input);
+                }
+                nextId++;
+            }
+            flush();
+            for (int id = firstId; id != nextId; id++)
+                results.add(readResponse(id).result());
+        }
+        return results;
+    }
+
+    @Override
+    public void close() throws IOException {
+        channel.close();
+    }
+
+    private void flush() throws IOException {
+        writeBuffer.flip();
+        while (writeBuffer.hasRemaining())
+            channel.write(writeBuffer);
+        writeBuffer.clear();
+    }
+
+    private WireResponse readResponse(int expectedId) throws IOException {
+        while (true) {
+            readBuffer.flip();
+            WireResponse response;
+            try {
+                response = WireProtocol.readResponse(readBuffer);
+            } catch (IllegalStateException ex) {
+                throw new IOException(ex.getMessage(), ex);
+            } finally {
+                readBuffer.compact();
+            }
+            if (response != null) {
+                if (response.id() != expectedId)
+                    throw new IOException(String.format("Antwort %d statt %d erhalten", response.id(), expectedId));
+                return response;
+            }
+            if (channel.read(readBuffer) < 0)
+                throw new EOFException("Verbindung vom Server geschlossen");
+        }
+    }
+}
@@ -0,0 +1,219 @@
+package tomcom.licenceplatechecker.wire;
+
+import tomcom.licenceplatechecker.application.AlternativeResult;
+import tomcom.licenceplatechecker.application.BatchValidationResult;
+import tomcom.licenceplatechecker.application.LicencePlatePresenter;
+import tomcom.licenceplatechecker.domain.licenceplate.ParsingAlternative;
+import tomcom.licenceplatechecker.domain.licenceplate.ValidationErrorCode;
+import tomcom.licenceplatechecker.domain.licenceplate.ValidationResult;
+
+import java.nio.BufferOverflowException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Length-prefixed binary protocol of the {@link WireServer}, all numbers big-endian.
+ * <pre>
+ *   request   u16 length | u32 id | u8 opcode (1 = validate) | UTF-8 input
+ *   response  u16 length | u32 id | u8 status | body
+ *
+ *   VALID      string plate
+ *   AMBIGUOUS  u8 error code | string message | u8 count | count x (string plate | f32 confidence)
+ *   INVALID    u8 error code | string message
+ *   ERROR      string message; the server closes the connection afterwards
+ * </pre>
+ * The length counts the bytes after the length field. A string is a u16 byte count followed by
+ * UTF-8. Status bytes are the ordinals of {@link BatchValidationResult.Status} and error codes the
+ * ordinals of {@link ValidationErrorCode}, the same codes {@code /licence-plate/validate} reports
+ * by name; new codes are only ever appended. Responses come in request order, so clients may send
+ * any number of requests before reading (pipelining) and use the id to match them up.
+ */
+public final class WireProtocol {
+
+    public static final byte OPCODE_VALIDATE = 1;
+    public static final byte STATUS_ERROR = 0x7F;
+    /**
+     * Upper bound of the length field of a request.
+     */
+    public static final int MAX_REQUEST_LENGTH = 1024;
+
+    /**
+     * Bytes of a request or response between the length field and the input or body: id and opcode or status.
+     */
+    public static final int HEADER_SIZE = 4 + 1;
+
+    static final int LENGTH_FIELD_SIZE = 2;
+
+    private static final BatchValidationResult.Status[] STATUSES = BatchValidationResult.Status.values();
+    private static final ValidationErrorCode[] ERROR_CODES = ValidationErrorCode.values();
+
+    private WireProtocol() {}
+
+    /**
+     * Writes a validate request.
+     *
+     * @return false, leaving the buffer unchanged, if it has no room for the request
+     */
+    public static boolean writeRequest(ByteBuffer buffer, int id, String input) {
+        byte[] bytes = input.getBytes(StandardCharsets.UTF_8);
+        if (HEADER_SIZE + bytes.length > MAX_REQUEST_LENGTH)
+            throw new IllegalArgumentException(String.format("Eingabe länger als %d Bytes", MAX_REQUEST_LENGTH - HEADER_SIZE));
+        if (buffer.remaining() < LENGTH_FIELD_SIZE + HEADER_SIZE + bytes.length)
+            return false;
+        buffer.putShort((short) (HEADER_SIZE + bytes.length));
+        buffer.putInt(id);
+        buffer.put(OPCODE_VALIDATE);
+        buffer.put(bytes);
+        return true;
+    }
+
+    /**
+     * Writes the response to a validate request.
+     *
+     * @return false, leaving the buffer unchanged, if it has no room for the response
+     */
+    public static boolean writeResult(ByteBuffer buffer, int id, ValidationResult result) {
+        int start = buffer.position();
+        try {
+            buffer.position(start + LENGTH_FIELD_SIZE);
+            buffer.putInt(id);
+            if (result instanceof ValidationResult.Valid valid) {
+                buffer.put((byte) BatchValidationResult.Status.VALID.ordinal());
+                putString(buffer, LicencePlatePresenter.present(valid.licencePlate()));
+            } else if (result instanceof ValidationResult.Ambiguous ambiguous) {
+                buffer.put((byte) BatchValidationResult.Status.AMBIGUOUS.ordinal());
+                buffer.put((byte) ambiguous.errorCode().ordinal());
+                putString(buffer, ambiguous.message());
+                List<ParsingAlternative> alternatives = ambiguous.alternatives();
+                buffer.put((byte) alternatives.size());
+                for (ParsingAlternative alternative : alternatives) {
+                    putString(buffer, LicencePlatePresenter.present(alternative.licencePlate()));
+                    buffer.putFloat((float) alternative.confidence());
+                }
+            } else {
+                ValidationResult.Invalid invalid = (ValidationResult.Invalid) result;
+                buffer.put((byte) BatchValidationResult.Status.INVALID.ordinal());
+                buffer.put((byte) invalid.errorCode().ordinal());
+                putString(buffer, invalid.message());
+            }
+            return finish(buffer, start);
+        } catch (BufferOverflowException | IllegalArgumentException ex) {
+            buffer.position(start);
+            return false;
+        }
+    }
+
+    static boolean writeError(ByteBuffer buffer, int id, String message) {
+        int start = buffer.position();
+        try {
+            buffer.position(start + LENGTH_FIELD_SIZE);
+            buffer.putInt(id);
+            buffer.put(STATUS_ERROR);
+            putString(buffer, message);
+            return finish(buffer, start);
+        } catch (BufferOverflowException | IllegalArgumentException ex) {
+            buffer.position(start);
+            return false;
+        }
+    }
+
+    /**
+     * Reads one response if the buffer holds all of it.
+     *
+     * @return the response, or null, leaving the buffer unchanged, if it is incomplete
+     * @throws IllegalStateException if the server reported a protocol error
+     */
+    public static WireResponse readResponse(ByteBuffer buffer) {
+        if (buffer.remaining() < LENGTH_FIELD_SIZE)
+            return null;
+        int length = Short.toUnsignedInt(buffer.getShort(buffer.position()));
+        if (buffer.remaining() < LENGTH_FIELD_SIZE + length)
+            return null;
+
+        buffer.position(buffer.position() + LENGTH_FIELD_SIZE);
+        int id = buffer.getInt();
+        byte status = buffer.get();
+        if (status == STATUS_ERROR)
+            throw new IllegalStateException(getString(buffer));
+
+        BatchValidationResult result = switch (STATUSES[status]) {
+            case VALID -> new BatchValidationResult(BatchValidationResult.Status.VALID, getString(buffer), null, null, null);
+            case INVALID -> new BatchValidationResult(BatchValidationResult.Status.INVALID, null, ERROR_CODES[buffer.get()], getString(buffer), null);
+            case AMBIGUOUS -> {
+                ValidationErrorCode errorCode = ERROR_CODES[buffer.get()];
+                String message = getString(buffer);
+                int count = Byte.toUnsignedInt(buffer.get());
+                List<AlternativeResult> alternatives = new ArrayList<>(count);
+                for (int i = 0; i < count; i++)
+                    alternatives.add(new AlternativeResult(getString(buffer), buffer.getFloat()));
+                yield new BatchValidationResult(BatchValidationResult.Status.AMBIGUOUS, null, errorCode, message, alternatives);
+            }
+            case ERROR -> throw new IllegalStateException("Unerwarteter Status " + status);
+        };
+        return new WireResponse(id, result);
+    }
+
+    private static boolean finish(ByteBuffer buffer, int start) {
+        int length = buffer.position() - start - LENGTH_FIELD_SIZE;
+        buffer.putShort(start, (short) length);
+        return true;
+    }
+
+    /**
+     * Writes a string without an intermediate byte array; plates and messages never leave the
+     * Basic Multilingual Plane, anything else goes through the JDK encoder.
+     */
+    private static void putString(ByteBuffer buffer, String value) {
+        int length = 0;
+        boolean simple = true;
+        for (int i = 0; i < value.length(); i++) {
+            char c = value.charAt(i);
+            length += c < 0x80 ? 1 : c < 0x800 ? 2 : 3;
+            simple &= !Character.isSurrogate(c);
+        }
+        if (!simple) {
+            byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+            buffer.putShort(checkedLength(bytes.length)).put(bytes);
+            return;
+        }
+
+        buffer.putShort(checkedLength(length));
+        if (buffer.remaining() < length)
+            throw new BufferOverflowException();
+        for (int i = 0; i < value.length(); i++) {
+            char c = value.charAt(i);
+            if (c < 0x80) {
+                buffer.put((byte) c);
+            } else if (c < 0x800) {
+                buffer.put((byte) (0xC0 | c >> 6));
+                buffer.put((byte) (0x80 | c & 0x3F));
+            } else {
+                buffer.put((byte) (0xE0 | c >> 12));
+                buffer.put((byte) (0x80 | c >> 6 & 0x3F));
+                buffer.put((byte) (0x80 | c & 0x3F));
+            }
+        }
+    }
+
+    private static short checkedLength(int length) {
+        if (length > 0xFFFF)
+            throw new IllegalArgumentException(String.format("Zeichenkette länger als %d Bytes", 0xFFFF));
+        return (short) length;
+    }
+
+    private static String getString(ByteBuffer buffer) {
+        int length = Short.toUnsignedInt(buffer.getShort());
+        return decode(buffer, length, new byte[length]);
+    }
+
+    /**
+     * Decodes {@code length} UTF-8 bytes at the buffer position, using {@code scratch} to copy
+     * them out of a direct buffer.
+     */
+    static String decode(ByteBuffer buffer, int length, byte[] scratch) {
+        buffer.get(scratch, 0, length);
+        return new String(scratch, 0, length, StandardCharsets.UTF_8);
+    }
+}
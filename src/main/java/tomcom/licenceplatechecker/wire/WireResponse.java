@@ -0,0 +1,8 @@
+package tomcom.licenceplatechecker.wire;
+
+import tomcom.licenceplatechecker.application.BatchValidationResult;
+
+/**
+ * A decoded response of the {@link WireServer}, in the same shape as a batch validation result.
+ */
+public record WireResponse(int id, BatchValidationResult result) { }
@@ -0,0 +1,341 @@
+package tomcom.licenceplatechecker.wire;
+
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import tomcom.licenceplatechecker.domain.licenceplate.ValidationResult;
+import tomcom.licenceplatechecker.domain.licenceplate.validator.LicencePlateValidationService;
+
+import java.io.IOException;
+import java.net.InetSocketAddress;
+import java.net.StandardSocketOptions;
+import java.nio.ByteBuffer;
+import java.nio.channels.ClosedChannelException;
+import java.nio.channels.ClosedSelectorException;
+import java.nio.channels.SelectionKey;
+import java.nio.channels.Selector;
+import java.nio.channels.ServerSocketChannel;
+import java.nio.channels.SocketChannel;
+import java.util.ArrayDeque;
+import java.util.Iterator;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+
+/**
+ * Validates licence plates over the binary {@link WireProtocol}, for clients whose request rate
+ * makes JSON over HTTP the dominant cost.
+ * <p>
+ * A fixed number of event loops, each with its own selector, serve the connections; the first
+ * one also accepts them. Requests are validated on the event loop, as validation is cheaper
+ * than handing it to another thread. All complete requests in the read buffer are answered
+ * before the responses are written with a single call, so pipelining clients need about one
+ * system call per buffer instead of one per plate. Every connection holds one direct read and
+ * one direct write buffer, which go back to a pool of their event loop when it closes. A client
+ * that does not read its responses is not read from either until it catches up.
+ * </p>
+ * <p>
+ * Only started with {@code licence-plate.wire.port} set.
+ * </p>
+ */
+@Component
+@ConditionalOnProperty(name = "licence-plate.wire.port")
+public class WireServer {
+
+    private static final Logger log = LoggerFactory.getLogger(WireServer.class);
+
+    private static final int BUFFER_SIZE = 64 * 1024;
+    // Room kept free in the write buffer before a request is validated, far more than any response needs
+    private static final int RESPONSE_RESERVE = 4 * 1024;
+    private static final int MAX_POOLED_BUFFERS = 64;
+
+    private final LicencePlateValidationService licencePlateValidationService;
+    private final InetSocketAddress address;
+    private final EventLoop[] eventLoops;
+    private ServerSocketChannel serverChannel;
+    private int nextEventLoop;
+
+    public WireServer(LicencePlateValidationService licencePlateValidationService,
+                      @Value("${licence-plate.wire.port}") int port,
+                      @Value("${licence-plate.wire.threads:1}") int threads) {
+        this.licencePlateValidationService = licencePlateValidationService;
+        this.address = new InetSocketAddress(port);
+        this.eventLoops = new EventLoop[Math.max(1, threads)];
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void start() throws IOException {
+        serverChannel = ServerSocketChannel.open();
+        serverChannel.bind(address);
+        serverChannel.configureBlocking(false);
+        for (int i = 0; i < eventLoops.length; i++)
+            eventLoops[i] = new EventLoop(i);
+        serverChannel.register(eventLoops[0].selector, SelectionKey.OP_ACCEPT);
+        for (EventLoop eventLoop : eventLoops)
+            eventLoop.thread.start();
+        System.out.println("Wire protocol listening on port " + port());
+    }
+
+    @PreDestroy
+    public void shutdown() throws IOException {
+        if (serverChannel == null)
+            return;
+        serverChannel.close();
+        for (EventLoop eventLoop : eventLoops)
+            eventLoop.close();
+    }
+
+    /**
+     * The bound port; differs from the configured one if that was 0.
+     */
+    public int port() throws IOException {
+        return ((InetSocketAddress) serverChannel.getLocalAddress()).getPort();
+    }
+
+    private void accept() throws IOException {
+        SocketChannel channel;
+        while ((channel = serverChannel.accept()) != null) {
+            channel.configureBlocking(false);
+            channel.setOption(StandardSocketOptions.TCP_NODELAY, true);
+            EventLoop eventLoop = eventLoops[nextEventLoop];
+            nextEventLoop = (nextEventLoop + 1) % eventLoops.length;
+            eventLoop.add(channel);
+        }
+    }
+
+    private final class EventLoop implements Runnable {
+        private final Selector selector;
+        private final Thread thread;
+        private final Queue<SocketChannel> added = new ConcurrentLinkedQueue<>();
+        private final ArrayDeque<ByteBuffer> bufferPool = new ArrayDeque<>();
+        private final byte[] scratch = new byte[WireProtocol.MAX_REQUEST_LENGTH];
+
+        private EventLoop(int index) throws IOException {
+            this.selector = Selector.open();
+            this.thread = new Thread(this, "wire-server-" + index);
+            this.thread.setDaemon(true);
+        }
+
+        private void add(SocketChannel channel) {
+            added.add(channel);
+            selector.wakeup();
+        }
+
+        private void close() throws IOException {
+            for (SelectionKey key : selector.keys())
+                key.channel().close();
+            selector.close();
+        }
+
+        @Override
+        public void run() {
+            try {
+                while (selector.isOpen()) {
+                    selector.select();
+                    registerAdded();
+                    Iterator<SelectionKey> keys = selector.selectedKeys().iterator();
+                    while (keys.hasNext()) {
+                        SelectionKey key = keys.next();
+                        keys.remove();
+                        handle(key);
+                    }
+                }
+            } catch (ClosedSelectorException ex) {
+                // shut down
+            } catch (IOException ex) {
+                log.error("Wire protocol event loop failed", ex);
+            }
+        }
+
+        private void registerAdded() {
+            SocketChannel channel;
+            while ((channel = added.poll()) != null) {
+                try {
+                    SelectionKey key = channel.register(selector, SelectionKey.OP_READ);
+                    key.attach(new Connection(this, channel, key));
+                } catch (ClosedChannelException ex) {
+                    // closed by the client before it was registered
+                }
+            }
+        }
+
+        private void handle(SelectionKey key) {
+            if (!key.isValid())
+                return;
+            if (key.isAcceptable()) {
+                try {
+                    accept();
+                } catch (IOException ex) {
+                    log.error("Accepting wire protocol connection failed", ex);
+                }
+                return;
+            }
+
+            Connection connection = (Connection) key.attachment();
+            try {
+                if (key.isReadable())
+                    connection.read();
+                else if (key.isWritable())
+                    connection.process();
+            } catch (IOException ex) {
+                connection.close();
+            } catch (RuntimeException ex) {
+                log.error("Wire protocol connection failed", ex);
+                connection.close();
+            }
+        }
+
+        private ByteBuffer acquire() {
+            ByteBuffer buffer = bufferPool.poll();
+            return buffer != null ? buffer : ByteBuffer.allocateDirect(BUFFER_SIZE);
+        }
+
+        private void release(ByteBuffer buffer) {
+            if (bufferPool.size() < MAX_POOLED_BUFFERS)
+                bufferPool.push(buffer.clear());
+        }
+    }
+
+    /**
+     * State of one client connection; only touched by its event loop.
+     */
+    private final class Connection {
+        private final EventLoop eventLoop;
+        private final SocketChannel channel;
+        private final SelectionKey key;
+        private final ByteBuffer readBuffer;
+        private final ByteBuffer writeBuffer;
+        private boolean closed;
+
+        private Connection(EventLoop eventLoop, SocketChannel channel, SelectionKey key) {
+            this.eventLoop = eventLoop;
+            this.channel = channel;
+            this.key = key;
+            this.readBuffer = eventLoop.acquire();
+            this.writeBuffer = eventLoop.acquire();
+        }
+
+        private void read() throws IOException {
+            if (channel.read(readBuffer) < 0) {
+                close();
+                return;
+            }
+            process();
+        }
+
+        /**
+         * Answers the complete requests in the read buffer and writes the responses. Reading is
+         * paused while responses are pending, so a slow client cannot make us buffer without limit.
+         */
+        private void process() throws IOException {
+            while (true) {
+                boolean writeBufferFull = answer();
+                if (closed)
+                    return;
+                if (!flush()) {
+                    key.interestOps(SelectionKey.OP_WRITE);
+                    return;
+                }
+                if (!writeBufferFull) {
+                    key.interestOps(SelectionKey.OP_READ);
+                    return;
+                }
+            }
+        }
+
+        /**
+         * Answers requests until the read buffer holds no complete one or the write buffer is full.
+         *
+         * @return true if it stopped because the write buffer is full
+         */
+        private boolean answer() {
+            readBuffer.flip();
+            try {
+                while (readBuffer.remaining() >= WireProtocol.LENGTH_FIELD_SIZE) {
+                    int start = readBuffer.position();
+                    int length = Short.toUnsignedInt(readBuffer.getShort(start));
+                    if (length < WireProtocol.HEADER_SIZE || length > WireProtocol.MAX_REQUEST_LENGTH) {
+                        fail(0, "Ungültige Nachrichtenlänge " + length);
+                        return false;
+                    }
+                    if (readBuffer.remaining() < WireProtocol.LENGTH_FIELD_SIZE + length)
+                        return false;
+                    if (writeBuffer.remaining() < RESPONSE_RESERVE)
+                        return true;
+
+                    int id = readBuffer.getInt(start + WireProtocol.LENGTH_FIELD_SIZE);
+                    if (readBuffer.get(start + WireProtocol.LENGTH_FIELD_SIZE + 4) != WireProtocol.OPCODE_VALIDATE) {
+                        fail(id, "Unbekannter Befehl");
+                        return false;
+                    }
+                    readBuffer.position(start + WireProtocol.LENGTH_FIELD_SIZE + WireProtocol.HEADER_SIZE);
+                    int responseStart = writeBuffer.position();
+                    try {
+                        String input = WireProtocol.decode(readBuffer, length - WireProtocol.HEADER_SIZE, eventLoop.scratch);
+                        ValidationResult result = licencePlateValidationService.validate(input);
+                        if (!WireProtocol.writeResult(writeBuffer, id, result)) {
+                            fail(id, "Antwort zu groß");
+                            return false;
+                        }
+                    } catch (RuntimeException ex) {
+                        // Only this connection is given up; the event loop keeps serving the others
+                        log.error("Wire protocol request {} failed", id, ex);
+                        writeBuffer.position(responseStart);
+                        fail(id, "Interner Fehler");
+                        return false;
+                    }
+                }
+                return false;
+            } finally {
+                if (!closed)
+                    readBuffer.compact();
+            }
+        }
+
+        /**
+         * Writes as much of the pending responses as the socket takes.
+         *
+         * @return true if nothing is left
+         */
+        private boolean flush() throws IOException {
+            writeBuffer.flip();
+            try {
+                while (writeBuffer.hasRemaining()) {
+                    if (channel.write(writeBuffer) == 0)
+                        return false;
+                }
+                return true;
+            } finally {
+                writeBuffer.compact();
+            }
+        }
+
+        private void fail(int id, String message) {
+            try {
+                if (WireProtocol.writeError(writeBuffer, id, message))
+                    flush();
+            } catch (IOException ex) {
+                // closing anyway
+            }
+            close();
+        }
+
+        private void close() {
+            if (closed)
+                return;
+            closed = true;
+            key.cancel();
+            try {
+                channel.close();
+            } catch (IOException ex) {
+                // nothing left to clean up
+            }
+            eventLoop.release(readBuffer);
+            eventLoop.release(writeBuffer);
+        }
+    }
+}
@@ -0,0 +1,143 @@
+package tomcom.licenceplatechecker;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpHeaders;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import tomcom.licenceplatechecker.domain.licenceplate.DistinguisherCatalog;
+import tomcom.licenceplatechecker.domain.licenceplate.DistinguisherDataset;
+import tomcom.licenceplatechecker.domain.licenceplate.DistinguisherIndex;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.zip.GZIPInputStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.hamcrest.Matchers.containsString;
+import static org.hamcrest.Matchers.hasSize;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+import static tomcom.licenceplatechecker.TestDistinguishers.distinguisher;
+
+/**
+ * Caching and content negotiation of {@code GET /distinguishers}.
+ */
+@SpringBootTest
+@AutoConfigureMockMvc
+class DistinguisherApiTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private DistinguisherCatalog distinguisherCatalog;
+
+    private DistinguisherDataset snapshot;
+
+    @BeforeEach
+    void setUp() {
+        snapshot = distinguisherCatalog.dataset();
+    }
+
+    @AfterEach
+    void tearDown() {
+        // The context is shared with other tests, which expect the snapshot data
+        distinguisherCatalog.replace(snapshot.index(), snapshot.source());
+    }
+
+    private String eTag() {
+        return "\"" + distinguisherCatalog.dataset().version() + "\"";
+    }
+
+    private String gzipETag() {
+        return "\"" + distinguisherCatalog.dataset().version() + "-gzip\"";
+    }
+
+    private static byte[] gunzip(byte[] data) throws IOException {
+        try (GZIPInputStream in = new GZIPInputStream(new ByteArrayInputStream(data))) {
+            return in.readAllBytes();
+        }
+    }
+
+    @Test
+    void getCatalog_shouldTagTheResponseWithTheDatasetVersion() throws Exception {
+        mockMvc.perform(get("/distinguishers"))
+            .andExpect(status().isOk())
+            .andExpect(header().string(HttpHeaders.ETAG, eTag()))
+            .andExpect(header().string(HttpHeaders.VARY, HttpHeaders.ACCEPT_ENCODING))
+            .andExpect(header().string(HttpHeaders.CACHE_CONTROL, containsString("max-age=300")))
+            .andExpect(header().doesNotExist(HttpHeaders.CONTENT_ENCODING))
+            .andExpect(jsonPath("$.result.version").value(distinguisherCatalog.dataset().version()))
+            .andExpect(jsonPath("$.result.distinguishers", hasSize(distinguisherCatalog.dataset().size())));
+    }
+
+    @Test
+    void getCatalog_matchingIfNoneMatch_shouldReturnNotModified() throws Exception {
+        for (String ifNoneMatch : List.of(eTag(), gzipETag(), "W/" + eTag(), "\"outdated\", " + gzipETag(), "*")) {
+            mockMvc.perform(get("/distinguishers").header(HttpHeaders.IF_NONE_MATCH, ifNoneMatch))
+                .andExpect(status().isNotModified())
+                .andExpect(header().string(HttpHeaders.ETAG, eTag()))
+                .andExpect(content().bytes(new byte[0]));
+        }
+
+        mockMvc.perform(get("/distinguishers")
+                .header(HttpHeaders.IF_NONE_MATCH, eTag())
+                .header(HttpHeaders.ACCEPT_ENCODING, "gzip"))
+            .andExpect(status().isNotModified())
+            .andExpect(header().string(HttpHeaders.ETAG, gzipETag()));
+
+        mockMvc.perform(get("/distinguishers").header(HttpHeaders.IF_NONE_MATCH, "\"outdated\""))
+            .andExpect(status().isOk());
+    }
+
+    @Test
+    void getCatalog_shouldCompressOnlyWhenGzipIsAccepted() throws Exception {
+        byte[] json = mockMvc.perform(get("/distinguishers"))
+            .andReturn().getResponse().getContentAsByteArray();
+
+        for (String acceptEncoding : List.of("gzip", "deflate, gzip;q=0.5", "GZIP", "*", "br;q=1.0, *;q=0.1")) {
+            MvcResult result = mockMvc.perform(get("/distinguishers").header(HttpHeaders.ACCEPT_ENCODING, acceptEncoding))
+                .andExpect(status().isOk())
+                .andExpect(header().string(HttpHeaders.CONTENT_ENCODING, "gzip"))
+                .andExpect(header().string(HttpHeaders.ETAG, gzipETag()))
+                .andReturn();
+            assertThat(gunzip(result.getResponse().getContentAsByteArray())).as(acceptEncoding).isEqualTo(json);
+        }
+
+        for (String acceptEncoding : List.of("identity", "gzip;q=0", "gzip; q=0.0, deflate", "*, gzip;q=0", "*;q=0")) {
+            mockMvc.perform(get("/distinguishers").header(HttpHeaders.ACCEPT_ENCODING, acceptEncoding))
+                .andExpect(status().isOk())
+                .andExpect(header().doesNotExist(HttpHeaders.CONTENT_ENCODING))
+                .andExpect(header().string(HttpHeaders.ETAG, eTag()))
+                .andExpect(content().bytes(json));
+        }
+    }
+
+    @Test
+    void getCatalog_afterReplace_shouldServeTheNewDataset() throws Exception {
+        String previousETag = eTag();
+        distinguisherCatalog.replace(DistinguisherIndex.of(List.of(distinguisher("B", "Berlin"))));
+
+        assertThat(eTag()).isNotEqualTo(previousETag);
+        mockMvc.perform(get("/distinguishers").header(HttpHeaders.IF_NONE_MATCH, previousETag))
+            .andExpect(status().isOk())
+            .andExpect(header().string(HttpHeaders.ETAG, eTag()))
+            .andExpect(jsonPath("$.result.distinguishers", hasSize(1)))
+            .andExpect(jsonPath("$.result.distinguishers[0].code").value("B"));
+
+        MvcResult gzipped = mockMvc.perform(get("/distinguishers").header(HttpHeaders.ACCEPT_ENCODING, "gzip"))
+            .andExpect(header().string(HttpHeaders.ETAG, gzipETag()))
+            .andReturn();
+        assertThat(new String(gunzip(gzipped.getResponse().getContentAsByteArray()), StandardCharsets.UTF_8)).contains("\"label\":\"Berlin\"").doesNotContain("Leipzig");
+    }
+}
@@ -0,0 +1,61 @@
+package tomcom.licenceplatechecker;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.context.ActiveProfiles;
+import tomcom.licenceplatechecker.application.DistinguisherImportResult;
+import tomcom.licenceplatechecker.application.DistinguisherImporter;
+import tomcom.licenceplatechecker.domain.licenceplate.DistinguisherRepository;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@DataJpaTest
+@Import(DistinguisherImporter.class)
+@ActiveProfiles("test")
+class DistinguisherImporterTest {
+
+    private static final String CSV = """
+        A;Augsburg;false;false
+        B;Berlin;false;false
+        B;Berlin Senat und Abgeordnetenhaus;false;true
+
+        BR;Bruchsal;true;false
+        """;
+
+    @Autowired
+    private DistinguisherImporter distinguisherImporter;
+
+    @Autowired
+    private DistinguisherRepository distinguisherRepository;
+
+    private InputStream csv(String content) {
+        return new ByteArrayInputStream(content.getBytes(StandardCharsets.UTF_8));
+    }
+
+    @Test
+    void importDistinguishers_shouldInsertAllRowsIncludingTheFirst() throws IOException {
+        DistinguisherImportResult result = distinguisherImporter.importDistinguishers(csv(CSV));
+
+        assertThat(result.read()).isEqualTo(4);
+        assertThat(result.inserted()).isEqualTo(4);
+        assertThat(distinguisherRepository.findByCode("A")).isPresent();
+    }
+
+    @Test
+    void importDistinguishers_shouldSkipHeaderAndExistingRowsWhenRunAgain() throws IOException {
+        distinguisherImporter.importDistinguishers(csv(CSV));
+
+        DistinguisherImportResult result = distinguisherImporter.importDistinguishers(csv("code;label;deprecated;special\n" + CSV));
+
+        assertThat(result.read()).isEqualTo(4);
+        assertThat(result.inserted()).isZero();
+        assertThat(distinguisherRepository.count()).isEqualTo(4);
+    }
+}
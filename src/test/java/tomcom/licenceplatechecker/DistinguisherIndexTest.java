@@ -0,0 +1,67 @@
+package tomcom.licenceplatechecker;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import tomcom.licenceplatechecker.domain.licenceplate.DistinguisherIndex;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static tomcom.licenceplatechecker.TestDistinguishers.distinguisher;
+
+class DistinguisherIndexTest {
+
+    private DistinguisherIndex index;
+
+    @BeforeEach
+    void setUp() {
+        index = DistinguisherIndex.of(List.of(
+            distinguisher("B", "Berlin", false, false),
+            distinguisher("B", "Berlin Senat und Abgeordnetenhaus", false, true),
+            distinguisher("BN", "Bonn, Stadt", false, false),
+            distinguisher("BNA", "Borna", true, false),
+            distinguisher("L", "Leipzig", false, false),
+            distinguisher("L", "Lahn-Dill-Kreis in Wetzlar", true, false),
+            distinguisher("LÖ", "Lörrach", false, false)
+        ));
+    }
+
+    @Test
+    void find_shouldDistinguishFlags() {
+        assertThat(index.find("B", false, false)).get().extracting(d -> d.label).isEqualTo("Berlin");
+        assertThat(index.find("B", false, true)).get().extracting(d -> d.label).isEqualTo("Berlin Senat und Abgeordnetenhaus");
+        assertThat(index.find("L", true, false)).get().extracting(d -> d.label).isEqualTo("Lahn-Dill-Kreis in Wetzlar");
+        assertThat(index.find("BN", true, false)).isEmpty();
+        assertThat(index.find("BX", false, false)).isEmpty();
+        assertThat(index.size()).isEqualTo(7);
+    }
+
+    @Test
+    void prefixMatches_shouldReturnAllPrefixesInOneWalk() {
+        assertThat(index.prefixMatches("BNA123"))
+            .extracting(d -> d.code + "/" + d.deprecated + "/" + d.special)
+            .containsExactly("B/false/false", "B/false/true", "BN/false/false", "BNA/true/false");
+    }
+
+    @Test
+    void prefixMatches_shouldHandleUmlautsAndUnknownInput() {
+        assertThat(index.prefixMatches("LÖAB1")).extracting(d -> d.code).containsExactly("L", "L", "LÖ");
+        assertThat(index.prefixMatches("Q123")).isEmpty();
+        assertThat(index.prefixMatches("")).isEmpty();
+    }
+
+    @Test
+    void all_shouldListEveryDistinguisherInCodeOrder() {
+        assertThat(index.all()).extracting(d -> d.label).containsExactly(
+            "Berlin", "Berlin Senat und Abgeordnetenhaus", "Bonn, Stadt", "Borna",
+            "Leipzig", "Lahn-Dill-Kreis in Wetzlar", "Lörrach");
+        assertThat(DistinguisherIndex.empty().all()).isEmpty();
+    }
+
+    @Test
+    void of_shouldRejectCodesOutsideAlphabet() {
+        assertThatThrownBy(() -> DistinguisherIndex.of(List.of(distinguisher("B1", "Test", false, false))))
+            .isInstanceOf(IllegalArgumentException.class);
+    }
+}
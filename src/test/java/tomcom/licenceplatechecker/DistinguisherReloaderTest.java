@@ -0,0 +1,69 @@
+package tomcom.licenceplatechecker;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import tomcom.licenceplatechecker.application.DistinguisherReloader;
+import tomcom.licenceplatechecker.application.InvalidDistinguisherDataException;
+import tomcom.licenceplatechecker.domain.licenceplate.DistinguisherCatalog;
+import tomcom.licenceplatechecker.domain.licenceplate.DistinguisherDataset;
+import tomcom.licenceplatechecker.domain.licenceplate.validator.LicencePlateValidationService;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class DistinguisherReloaderTest {
+
+    private DistinguisherCatalog distinguisherCatalog;
+    private DistinguisherReloader distinguisherReloader;
+
+    @BeforeEach
+    void setUp() {
+        distinguisherCatalog = new DistinguisherCatalog(null);
+        distinguisherReloader = new DistinguisherReloader(distinguisherCatalog);
+    }
+
+    private InputStream csv(String content) {
+        return new ByteArrayInputStream(content.getBytes(StandardCharsets.UTF_8));
+    }
+
+    @Test
+    void reload_shouldSwapInNewDataset() throws IOException {
+        LicencePlateValidationService validationService = new LicencePlateValidationService(distinguisherCatalog);
+
+        DistinguisherDataset dataset = distinguisherReloader.reload(csv("B;Berlin;false;false\nM;München;false;false\n"), "test");
+
+        assertThat(dataset.size()).isEqualTo(2);
+        assertThat(dataset.source()).isEqualTo("test");
+        assertThat(distinguisherCatalog.dataset()).isSameAs(dataset);
+        assertThat(validationService.validateLicencePlate("M-AB123").distinguisher.label).isEqualTo("München");
+    }
+
+    @Test
+    void reload_shouldDeriveVersionFromContent() throws IOException {
+        String first = distinguisherReloader.reload(csv("B;Berlin;false;false\nM;München;false;false\n"), "test").version();
+        String reordered = distinguisherReloader.reload(csv("M;München;false;false\nB;Berlin;false;false\n"), "test").version();
+        String changed = distinguisherReloader.reload(csv("B;Berlin;false;false\n"), "test").version();
+
+        assertThat(reordered).isEqualTo(first);
+        assertThat(changed).isNotEqualTo(first);
+    }
+
+    @Test
+    void reload_shouldKeepCurrentDatasetWhenDataIsInvalid() throws IOException {
+        DistinguisherDataset dataset = distinguisherReloader.reload(csv("B;Berlin;false;false\n"), "test");
+
+        assertThatThrownBy(() -> distinguisherReloader.reload(csv("B1;Test;false;false\n"), "test"))
+            .isInstanceOf(InvalidDistinguisherDataException.class);
+        assertThatThrownBy(() -> distinguisherReloader.reload(csv("B;Berlin;false;false\nB;Bonn;false;false\n"), "test"))
+            .isInstanceOf(InvalidDistinguisherDataException.class)
+            .hasMessage("Unterscheidungszeichen B ist mehrfach vorhanden");
+        assertThatThrownBy(() -> distinguisherReloader.reload(csv(""), "test"))
+            .isInstanceOf(InvalidDistinguisherDataException.class);
+        assertThat(distinguisherCatalog.dataset()).isSameAs(dataset);
+    }
+}
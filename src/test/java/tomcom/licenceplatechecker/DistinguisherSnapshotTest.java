@@ -0,0 +1,126 @@
+package tomcom.licenceplatechecker;
+
+import org.junit.jupiter.api.Test;
+import tomcom.licenceplatechecker.domain.licenceplate.Distinguisher;
+import tomcom.licenceplatechecker.domain.licenceplate.DistinguisherSnapshot;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static tomcom.licenceplatechecker.TestDistinguishers.distinguisher;
+
+class DistinguisherSnapshotTest {
+
+    private byte[] write(List<Distinguisher> distinguishers) throws IOException {
+        ByteArrayOutputStream output = new ByteArrayOutputStream();
+        DistinguisherSnapshot.write(distinguishers, output);
+        return output.toByteArray();
+    }
+
+    /**
+     * More than 32 entries, so the two flag bits per entry span several words of the bitset.
+     */
+    private List<Distinguisher> distinguishers() {
+        List<Distinguisher> distinguishers = new ArrayList<>();
+        distinguishers.add(distinguisher("B", "Berlin", false, false));
+        distinguishers.add(distinguisher("B", "Berlin", false, true));
+        distinguishers.add(distinguisher("BÜS", "Büsingen am Hochrhein", false, false));
+        for (int i = 0; i < 40; i++)
+            distinguishers.add(distinguisher("X" + (char) ('A' + i % 26) + (char) ('A' + i / 26), "Kreis " + i % 3, i % 3 == 0, i % 5 == 0));
+        return distinguishers;
+    }
+
+    @Test
+    void read_shouldRestoreWhatWasWritten() throws Exception {
+        List<Distinguisher> distinguishers = distinguishers();
+
+        List<Distinguisher> read = DistinguisherSnapshot.read(ByteBuffer.wrap(write(distinguishers)));
+
+        assertThat(read).hasSameSizeAs(distinguishers);
+        for (int i = 0; i < distinguishers.size(); i++) {
+            Distinguisher expected = distinguishers.get(i);
+            assertThat(read.get(i).code).as("code %d", i).isEqualTo(expected.code);
+            assertThat(read.get(i).label).as("label %d", i).isEqualTo(expected.label);
+            assertThat(read.get(i).deprecated).as("deprecated %d", i).isEqualTo(expected.deprecated);
+            assertThat(read.get(i).special).as("special %d", i).isEqualTo(expected.special);
+        }
+    }
+
+    @Test
+    void write_shouldStoreEachLabelOnce() throws Exception {
+        List<Distinguisher> read = DistinguisherSnapshot.read(ByteBuffer.wrap(write(distinguishers())));
+
+        assertThat(read.get(0).label).isSameAs(read.get(1).label);
+        assertThat(read.get(3).label).isSameAs(read.get(6).label).isEqualTo("Kreis 0");
+
+        List<Distinguisher> oneLabel = List.of(
+            distinguisher("XA", "Kreis mit einer langen Bezeichnung", false, false),
+            distinguisher("XB", "Kreis mit einer langen Bezeichnung", false, false));
+        List<Distinguisher> twoLabels = List.of(
+            distinguisher("XA", "Kreis mit einer langen Bezeichnung", false, false),
+            distinguisher("XB", "Kreis mit einer anderen Bezeichnung", false, false));
+        assertThat(write(oneLabel).length).isLessThan(write(twoLabels).length);
+    }
+
+    @Test
+    void write_labelLongerThan65535Bytes_shouldThrow() throws Exception {
+        assertThat(write(List.of(distinguisher("XA", "Ä".repeat(0xFFFF / 2), false, false)))).isNotEmpty();
+
+        List<Distinguisher> tooLong = List.of(distinguisher("XA", "Ä".repeat(0xFFFF / 2 + 1), false, false));
+        assertThatThrownBy(() -> write(tooLong))
+            .isInstanceOf(IllegalArgumentException.class)
+            .hasMessageContaining("zu lang");
+    }
+
+    @Test
+    void write_codeOutsideLatin1_shouldThrow() {
+        List<Distinguisher> distinguishers = List.of(distinguisher("Ł", "Łódź", false, false));
+
+        assertThatThrownBy(() -> write(distinguishers)).isInstanceOf(IllegalArgumentException.class);
+    }
+
+    @Test
+    void read_truncatedSnapshot_shouldThrow() throws Exception {
+        byte[] snapshot = write(distinguishers());
+
+        for (int length = 0; length < snapshot.length; length++) {
+            ByteBuffer truncated = ByteBuffer.wrap(Arrays.copyOf(snapshot, length));
+            assertThatThrownBy(() -> DistinguisherSnapshot.read(truncated))
+                .as("%d of %d bytes", length, snapshot.length)
+                .isInstanceOf(IllegalArgumentException.class);
+        }
+    }
+
+    @Test
+    void read_corruptHeader_shouldThrow() throws Exception {
+        byte[] snapshot = write(distinguishers());
+
+        byte[] wrongMagic = snapshot.clone();
+        wrongMagic[0] = 'X';
+        assertThatThrownBy(() -> DistinguisherSnapshot.read(ByteBuffer.wrap(wrongMagic)))
+            .isInstanceOf(IllegalArgumentException.class)
+            .hasMessageContaining("Keine");
+
+        byte[] wrongVersion = snapshot.clone();
+        wrongVersion[5] = 2;
+        assertThatThrownBy(() -> DistinguisherSnapshot.read(ByteBuffer.wrap(wrongVersion)))
+            .isInstanceOf(IllegalArgumentException.class)
+            .hasMessageContaining("Version");
+
+        ByteBuffer hugeEntryCount = ByteBuffer.wrap(snapshot.clone()).putInt(6, Integer.MAX_VALUE);
+        assertThatThrownBy(() -> DistinguisherSnapshot.read(hugeEntryCount))
+            .isInstanceOf(IllegalArgumentException.class)
+            .hasMessageContaining("beschädigt");
+
+        ByteBuffer negativeLabelCount = ByteBuffer.wrap(snapshot.clone()).putInt(10, -1);
+        assertThatThrownBy(() -> DistinguisherSnapshot.read(negativeLabelCount))
+            .isInstanceOf(IllegalArgumentException.class)
+            .hasMessageContaining("beschädigt");
+    }
+}
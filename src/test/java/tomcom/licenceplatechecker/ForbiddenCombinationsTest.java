@@ -0,0 +1,50 @@
+package tomcom.licenceplatechecker;
+
+import org.junit.jupiter.api.Test;
+import tomcom.licenceplatechecker.domain.licenceplate.validator.ForbiddenCombinations;
+
+import java.io.ByteArrayInputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class ForbiddenCombinationsTest {
+
+    @Test
+    void defaults_shouldContainShippedBans() {
+        ForbiddenCombinations forbiddenCombinations = ForbiddenCombinations.defaults();
+
+        assertThat(forbiddenCombinations.isForbiddenIdentifier("SS")).isTrue();
+        assertThat(forbiddenCombinations.isForbiddenIdentifier("SE")).isFalse();
+        assertThat(forbiddenCombinations.isForbiddenPair("WAF", "FE")).isTrue();
+        assertThat(forbiddenCombinations.isForbiddenPair("WA", "FE")).isFalse();
+        assertThat(forbiddenCombinations.isForbiddenPair("S", "A")).isTrue();
+        assertThat(forbiddenCombinations.isForbiddenPair("M", "A")).isFalse();
+    }
+
+    @Test
+    void read_shouldSkipCommentsAndMatchRanges() throws Exception {
+        String data = """
+            # Test
+            XY
+
+            LÖ-AB
+            """;
+        ForbiddenCombinations forbiddenCombinations = ForbiddenCombinations.read(new ByteArrayInputStream(data.getBytes(StandardCharsets.UTF_8)));
+
+        assertThat(forbiddenCombinations.isForbidden("B", "B-XY12", 2, 4)).isTrue();
+        assertThat(forbiddenCombinations.isForbidden("LÖ", "LÖ-AB12", 3, 5)).isTrue();
+        assertThat(forbiddenCombinations.isForbidden("L", "L-AB12", 2, 4)).isFalse();
+        assertThat(forbiddenCombinations.isForbidden("LÖ", "", 0, 0)).isFalse();
+        assertThat(forbiddenCombinations.isForbiddenIdentifier("HJ")).isFalse();
+    }
+
+    @Test
+    void of_shouldRejectMalformedEntries() {
+        assertThatThrownBy(() -> ForbiddenCombinations.of(List.of("ABC"))).isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> ForbiddenCombinations.of(List.of("B1-AB"))).isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> ForbiddenCombinations.of(List.of("B-Ä"))).isInstanceOf(IllegalArgumentException.class);
+    }
+}
@@ -0,0 +1,89 @@
+package tomcom.licenceplatechecker;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.util.Arrays;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+import static org.hamcrest.Matchers.containsString;
+import static org.hamcrest.Matchers.hasSize;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Endpoints of {@code /licence-plate} against the distinguishers of the snapshot.
+ */
+@SpringBootTest(properties = "licence-plate.batch.max-size=100")
+@AutoConfigureMockMvc
+class LicencePlateApiTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    private static String batchRequest(String... licencePlates) {
+        return "{\"licencePlates\":[" + Arrays.stream(licencePlates)
+            .map(licencePlate -> "\"" + licencePlate + "\"")
+            .collect(Collectors.joining(",")) + "]}";
+    }
+
+    @Test
+    void validateBatch_shouldReturnOneResultPerPlateInInputOrder() throws Exception {
+        mockMvc.perform(post("/licence-plate/validate/batch")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(batchRequest("B-AB123", "LIT433", "XQX-AB123", "B-AB12345")))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$.success").value(true))
+            .andExpect(jsonPath("$.result", hasSize(4)))
+            .andExpect(jsonPath("$.result[0].status").value("VALID"))
+            .andExpect(jsonPath("$.result[0].result").value("B-AB123"))
+            .andExpect(jsonPath("$.result[0].errorCode").doesNotExist())
+            .andExpect(jsonPath("$.result[1].status").value("AMBIGUOUS"))
+            .andExpect(jsonPath("$.result[1].errorCode").value("AMBIGUOUS"))
+            .andExpect(jsonPath("$.result[1].alternatives", hasSize(2)))
+            .andExpect(jsonPath("$.result[2].status").value("INVALID"))
+            .andExpect(jsonPath("$.result[2].errorCode").value("UNKNOWN_DISTINGUISHER"))
+            .andExpect(jsonPath("$.result[2].alternatives").doesNotExist())
+            .andExpect(jsonPath("$.result[3].status").value("INVALID"))
+            .andExpect(jsonPath("$.result[3].result").doesNotExist());
+    }
+
+    @Test
+    void validateBatch_aboveMaxSize_shouldReturnPayloadTooLarge() throws Exception {
+        String[] licencePlates = IntStream.rangeClosed(1, 101).mapToObj(i -> "B-A" + i).toArray(String[]::new);
+
+        mockMvc.perform(post("/licence-plate/validate/batch")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(batchRequest(licencePlates)))
+            .andExpect(status().isPayloadTooLarge())
+            .andExpect(jsonPath("$.success").value(false))
+            .andExpect(jsonPath("$.error", containsString("100")));
+
+        mockMvc.perform(post("/licence-plate/validate/batch")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(batchRequest(Arrays.copyOf(licencePlates, 100))))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$.result", hasSize(100)));
+    }
+
+    @Test
+    void validateStream_shouldAnswerEachLineWithAResultLine() throws Exception {
+        mockMvc.perform(post("/licence-plate/validate/stream")
+                .contentType(MediaType.APPLICATION_NDJSON)
+                .accept(MediaType.APPLICATION_NDJSON)
+                .content("\"B-AB123\"\r\n\r\n{\"licencePlate\":\"XQX-AB123\"}\r\n{oops\n\"B-CD456\"\n"))
+            .andExpect(status().isOk())
+            .andExpect(content().contentTypeCompatibleWith(MediaType.APPLICATION_NDJSON))
+            .andExpect(content().string(
+                "{\"licencePlate\":\"B-AB123\",\"status\":\"VALID\",\"result\":\"B-AB123\"}\n"
+                    + "{\"licencePlate\":\"XQX-AB123\",\"status\":\"INVALID\",\"errorCode\":\"UNKNOWN_DISTINGUISHER\",\"error\":\"Kein Unterscheidungszeichen XQX gefunden\"}\n"
+                    + "{\"status\":\"INVALID\",\"errorCode\":\"INVALID_FORMAT\",\"error\":\"Ungültige Eingabe\"}\n"));
+    }
+}
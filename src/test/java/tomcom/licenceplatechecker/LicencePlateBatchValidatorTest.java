@@ -0,0 +1,102 @@
+package tomcom.licenceplatechecker;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import tomcom.licenceplatechecker.application.AlternativeResult;
+import tomcom.licenceplatechecker.application.BatchLimitExceededException;
+import tomcom.licenceplatechecker.application.BatchValidationResult;
+import tomcom.licenceplatechecker.application.LicencePlateBatchValidator;
+import tomcom.licenceplatechecker.domain.licenceplate.ValidationErrorCode;
+import tomcom.licenceplatechecker.domain.licenceplate.validator.LicencePlateValidationService;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static tomcom.licenceplatechecker.TestDistinguishers.distinguisher;
+import static tomcom.licenceplatechecker.TestDistinguishers.validationService;
+
+class LicencePlateBatchValidatorTest {
+
+    private LicencePlateValidationService validationService;
+    private LicencePlateBatchValidator batchValidator;
+
+    @BeforeEach
+    void setUp() {
+        validationService = validationService(
+            distinguisher("B", "Berlin"),
+            distinguisher("L", "Leipzig"),
+            distinguisher("LI", "Lindau (Bodensee)")
+        );
+        batchValidator = new LicencePlateBatchValidator(validationService, 1_000, 4);
+    }
+
+    @AfterEach
+    void tearDown() {
+        batchValidator.shutdown();
+    }
+
+    /**
+     * Valid, invalid and ambiguous plates mixed, so a result at the wrong index shows.
+     */
+    private List<String> licencePlates(int count) {
+        List<String> licencePlates = new ArrayList<>(count);
+        for (int i = 1; i <= count; i++) {
+            if (i % 7 == 0)
+                licencePlates.add("Q-A" + i);
+            else if (i % 11 == 0)
+                licencePlates.add("LIT" + i);
+            else
+                licencePlates.add("B-A" + i);
+        }
+        return licencePlates;
+    }
+
+    @Test
+    void validate_shouldKeepInputOrderBelowAndAboveTheSequentialThreshold() {
+        for (int count : new int[]{1, 63, 64, 65, 1_000}) {
+            List<String> licencePlates = licencePlates(count);
+            List<BatchValidationResult> expected = licencePlates.stream()
+                .map(licencePlate -> BatchValidationResult.of(validationService.validate(licencePlate)))
+                .toList();
+
+            assertThat(batchValidator.validate(licencePlates)).as("%d plates", count).isEqualTo(expected);
+        }
+    }
+
+    @Test
+    void validate_shouldReturnOneResultPerPlate() {
+        List<BatchValidationResult> results = batchValidator.validate(List.of("B-AB123", "Q-AB123", "LIT433", "B-AB123X"));
+
+        assertThat(results).extracting(BatchValidationResult::status).containsExactly(
+            BatchValidationResult.Status.VALID,
+            BatchValidationResult.Status.INVALID,
+            BatchValidationResult.Status.AMBIGUOUS,
+            BatchValidationResult.Status.INVALID);
+        assertThat(results.get(0).result()).isEqualTo("B-AB123");
+        assertThat(results.get(0).errorCode()).isNull();
+        assertThat(results.get(1).errorCode()).isEqualTo(ValidationErrorCode.UNKNOWN_DISTINGUISHER);
+        assertThat(results.get(1).alternatives()).isNull();
+        assertThat(results.get(2).errorCode()).isEqualTo(ValidationErrorCode.AMBIGUOUS);
+        assertThat(results.get(2).alternatives()).extracting(AlternativeResult::licencePlate)
+            .containsExactlyInAnyOrder("L-IT433", "LI-T433");
+        assertThat(results.get(3).result()).isNull();
+        assertThat(results.get(3).error()).isNotBlank();
+    }
+
+    @Test
+    void validate_emptyOrMissingBatch_shouldReturnNoResults() {
+        assertThat(batchValidator.validate(List.of())).isEmpty();
+        assertThat(batchValidator.validate(null)).isEmpty();
+    }
+
+    @Test
+    void validate_batchAboveMaxSize_shouldThrow() {
+        assertThat(batchValidator.validate(licencePlates(1_000))).hasSize(1_000);
+        assertThatThrownBy(() -> batchValidator.validate(licencePlates(1_001)))
+            .isInstanceOf(BatchLimitExceededException.class)
+            .hasMessageContaining("1000");
+    }
+}
@@ -0,0 +1,51 @@
+package tomcom.licenceplatechecker;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import tomcom.licenceplatechecker.application.LicencePlateDetails;
+import tomcom.licenceplatechecker.application.LicencePlatePresenter;
+import tomcom.licenceplatechecker.domain.licenceplate.PlateCategory;
+import tomcom.licenceplatechecker.domain.licenceplate.validator.FederalPoliceValidator;
+import tomcom.licenceplatechecker.domain.licenceplate.validator.LicencePlateValidationService;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static tomcom.licenceplatechecker.TestDistinguishers.distinguisher;
+import static tomcom.licenceplatechecker.TestDistinguishers.validationService;
+
+class LicencePlateDetailsTest {
+
+    private LicencePlateValidationService validationService;
+
+    @BeforeEach
+    void setUp() {
+        validationService = validationService(
+            distinguisher("B", "Berlin", false, false),
+            distinguisher("BÜS", "Büsingen am Hochrhein", true, false),
+            distinguisher("BP", "Bundespolizei", false, true)
+        );
+    }
+
+    private LicencePlateDetails details(String input) {
+        return LicencePlatePresenter.details(validationService.validateLicencePlate(input));
+    }
+
+    @Test
+    void details_shouldBreakDownCivilianPlates() {
+        assertThat(details("b ab 123 h")).isEqualTo(new LicencePlateDetails(
+            "B-AB123H", "B", "Berlin", "AB", "123", "H", PlateCategory.CIVILIAN, null, null, false));
+        assertThat(details("BÜS-Z9").deprecated()).isTrue();
+    }
+
+    @Test
+    void details_shouldIncludeRedPlatePrefixAndFederalPoliceVehicleType() {
+        LicencePlateDetails red = details("B-071234");
+        assertThat(red.category()).isEqualTo(PlateCategory.RED);
+        assertThat(red.identifier()).isNull();
+        assertThat(red.redPlatePrefix()).isEqualTo("07");
+
+        LicencePlateDetails federalPolice = details("BP 6012E");
+        assertThat(federalPolice.category()).isEqualTo(PlateCategory.FEDERAL_POLICE);
+        assertThat(federalPolice.label()).isEqualTo("Bundespolizei");
+        assertThat(federalPolice.vehicleType()).isEqualTo(FederalPoliceValidator.VehicleType.ELECTRIC_VEHICLES);
+    }
+}
@@ -0,0 +1,118 @@
+package tomcom.licenceplatechecker;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import tomcom.licenceplatechecker.application.LicencePlateStreamValidator;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.PipedInputStream;
+import java.io.PipedOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static tomcom.licenceplatechecker.TestDistinguishers.distinguisher;
+import static tomcom.licenceplatechecker.TestDistinguishers.validationService;
+
+class LicencePlateStreamValidatorTest {
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private LicencePlateStreamValidator streamValidator;
+
+    @BeforeEach
+    void setUp() {
+        streamValidator = new LicencePlateStreamValidator(validationService(
+            distinguisher("B", "Berlin"),
+            distinguisher("L", "Leipzig"),
+            distinguisher("LI", "Lindau (Bodensee)")
+        ), objectMapper);
+    }
+
+    private List<JsonNode> validate(String input) throws IOException {
+        ByteArrayOutputStream output = new ByteArrayOutputStream();
+        streamValidator.validate(new ByteArrayInputStream(input.getBytes(StandardCharsets.UTF_8)), output);
+        return readLines(output.toString(StandardCharsets.UTF_8));
+    }
+
+    private List<JsonNode> readLines(String output) throws IOException {
+        assertThat(output).endsWith("\n");
+        List<JsonNode> lines = new ArrayList<>();
+        for (String line : output.split("\n"))
+            lines.add(objectMapper.readTree(line));
+        return lines;
+    }
+
+    @Test
+    void validate_shouldWriteOneResultLinePerEntry() throws Exception {
+        List<JsonNode> lines = validate("\"B-AB123\"\n{\"licencePlate\":\"LIT433\",\"camera\":\"cam-1\"}\n\"Q-AB123\"\n");
+
+        assertThat(lines).hasSize(3);
+        assertThat(lines.get(0).get("licencePlate").asText()).isEqualTo("B-AB123");
+        assertThat(lines.get(0).get("status").asText()).isEqualTo("VALID");
+        assertThat(lines.get(0).get("result").asText()).isEqualTo("B-AB123");
+        assertThat(lines.get(1).get("status").asText()).isEqualTo("AMBIGUOUS");
+        assertThat(lines.get(1).get("alternatives")).hasSize(2);
+        assertThat(lines.get(2).get("status").asText()).isEqualTo("INVALID");
+        assertThat(lines.get(2).get("errorCode").asText()).isEqualTo("UNKNOWN_DISTINGUISHER");
+    }
+
+    @Test
+    void validate_shouldSkipBlankAndCrlfLines() throws Exception {
+        List<JsonNode> lines = validate("\r\n\"B-AB123\"\r\n\r\n   \r\n{\"licencePlate\":\"B-CD456\"}\r\n\n");
+
+        assertThat(lines).extracting(line -> line.get("result").asText()).containsExactly("B-AB123", "B-CD456");
+    }
+
+    @Test
+    void validate_malformedJson_shouldEndWithAnInvalidLine() throws Exception {
+        List<JsonNode> lines = validate("\"B-AB123\"\n{licencePlate: B-CD456}\n\"B-EF789\"\n");
+
+        assertThat(lines).hasSize(2);
+        assertThat(lines.get(0).get("status").asText()).isEqualTo("VALID");
+        assertThat(lines.get(1).has("licencePlate")).isFalse();
+        assertThat(lines.get(1).get("status").asText()).isEqualTo("INVALID");
+        assertThat(lines.get(1).get("errorCode").asText()).isEqualTo("INVALID_FORMAT");
+    }
+
+    @Test
+    void validate_shouldWriteEachResultBeforeTheNextEntryArrives() throws Exception {
+        PipedOutputStream client = new PipedOutputStream();
+        PipedInputStream input = new PipedInputStream(client);
+        BlockingQueue<String> flushed = new LinkedBlockingQueue<>();
+        ByteArrayOutputStream output = new ByteArrayOutputStream() {
+            @Override
+            public synchronized void flush() {
+                flushed.add(toString(StandardCharsets.UTF_8));
+            }
+        };
+        Thread validator = new Thread(() -> {
+            try {
+                streamValidator.validate(input, output);
+            } catch (IOException ex) {
+                throw new IllegalStateException(ex);
+            }
+        });
+        validator.start();
+
+        client.write("\"B-AB123\"\n".getBytes(StandardCharsets.UTF_8));
+        client.flush();
+        String first = flushed.poll(5, TimeUnit.SECONDS);
+        assertThat(first).isNotNull();
+        assertThat(readLines(first)).extracting(line -> line.get("result").asText()).containsExactly("B-AB123");
+
+        client.write("\"B-CD456\"\n".getBytes(StandardCharsets.UTF_8));
+        client.close();
+        validator.join(5_000);
+
+        assertThat(validator.isAlive()).isFalse();
+        assertThat(readLines(output.toString(StandardCharsets.UTF_8))).extracting(line -> line.get("result").asText()).containsExactly("B-AB123", "B-CD456");
+    }
+}
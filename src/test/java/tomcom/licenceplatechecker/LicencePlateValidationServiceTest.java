@@ -11,13 +11,23 @@ import tomcom.licenceplatechecker.domain.licenceplate.exception.AmbiguousLicence
 import tomcom.licenceplatechecker.domain.licenceplate.exception.InvalidLicencePlateException;
 import tomcom.licenceplatechecker.domain.licenceplate.LicencePlate;
 import tomcom.licenceplatechecker.domain.licenceplate.Distinguisher;
+import tomcom.licenceplatechecker.domain.licenceplate.DistinguisherCatalog;
+import tomcom.licenceplatechecker.domain.licenceplate.FuzzyValidationResult;
+import tomcom.licenceplatechecker.domain.licenceplate.PackedLicencePlate;
+import tomcom.licenceplatechecker.domain.licenceplate.ValidationErrorCode;
+import tomcom.licenceplatechecker.domain.licenceplate.ValidationResult;
+import tomcom.licenceplatechecker.domain.licenceplate.validator.ForbiddenCombinations;
 import tomcom.licenceplatechecker.domain.licenceplate.validator.LicencePlateValidationService;
 
+import java.time.Duration;
+import java.util.List;
+import java.util.Optional;
+
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.assertj.core.api.Assertions.assertThatThrownBy;
 
 @DataJpaTest
-@Import(LicencePlateValidationService.class)
+@Import({LicencePlateValidationService.class, DistinguisherCatalog.class})
 @ActiveProfiles("test")
 class LicencePlateValidationServiceTest {
 
@@ -27,6 +37,9 @@ class LicencePlateValidationServiceTest {
     @Autowired
     private LicencePlateValidationService validationService;
 
+    @Autowired
+    private DistinguisherCatalog distinguisherCatalog;
+
     @BeforeEach
     void setUp() {
         // Load test distinguishers
@@ -40,6 +53,7 @@ class LicencePlateValidationServiceTest {
         createDistinguisher("BN", "Bonn, Stadt", false);
 
         entityManager.flush();
+        distinguisherCatalog.reload();
     }
 
     private void createDistinguisher(String code, String label, boolean special) {
@@ -251,4 +265,118 @@ class LicencePlateValidationServiceTest {
         assertThatThrownBy(() -> validationService.validateLicencePlate("B04123"))
             .isInstanceOf(InvalidLicencePlateException.class);
     }
+
+    // Exception-free result API
+    @Test
+    void validate_validPlate_shouldReturnValidResult() {
+        ValidationResult result = validationService.validate("B-XY700");
+
+        assertThat(result).isInstanceOf(ValidationResult.Valid.class);
+        assertThat(((ValidationResult.Valid) result).licencePlate().toString()).isEqualTo("B-XY700");
+    }
+
+    @Test
+    void validate_ambiguousPlate_shouldReturnAmbiguousResult() {
+        ValidationResult result = validationService.validate("LIT433");
+
+        assertThat(result).isInstanceOf(ValidationResult.Ambiguous.class);
+        assertThat(((ValidationResult.Ambiguous) result).message()).contains("mehrdeutig");
+    }
+
+    @Test
+    void validate_ambiguousPlate_shouldRankAlternatives() {
+        ValidationResult.Ambiguous result = (ValidationResult.Ambiguous) validationService.validate("LIT433");
+
+        assertThat(result.alternatives())
+            .extracting(alternative -> alternative.licencePlate().toString())
+            .containsExactly("L-IT433", "LI-T433");
+        assertThat(result.alternatives().get(0).confidence()).isGreaterThan(result.alternatives().get(1).confidence());
+        assertThat(result.alternatives().stream().mapToLong(alternative -> Math.round(alternative.confidence() * 1000)).sum()).isEqualTo(1000);
+    }
+
+    @Test
+    void validate_ambiguousPlateWithOneAllowedReading_shouldReturnValidResult() {
+        // B-NS1 is banned, which leaves BN-S1
+        ValidationResult result = validationService.validate("BNS1");
+
+        assertThat(result).isInstanceOf(ValidationResult.Valid.class);
+        assertThat(((ValidationResult.Valid) result).licencePlate().toString()).isEqualTo("BN-S1");
+    }
+
+    @Test
+    void validate_ambiguousPlateWithEveryReadingBanned_shouldReturnForbiddenError() {
+        LicencePlateValidationService strictService = new LicencePlateValidationService(distinguisherCatalog,
+            Optional.of(ForbiddenCombinations.of(List.of("IT", "LI-T"))), Optional.empty(), Optional.empty());
+
+        ValidationResult result = strictService.validate("LIT433");
+
+        assertThat(result).isInstanceOf(ValidationResult.Invalid.class);
+        assertThat(((ValidationResult.Invalid) result).errorCode()).isEqualTo(ValidationErrorCode.FORBIDDEN_IDENTIFIER);
+    }
+
+    @Test
+    void validateFuzzy_shouldFindPlatesWithinSubstitutions() {
+        FuzzyValidationResult result = validationService.validateFuzzy("8-A8123", 2, Duration.ofMillis(100));
+
+        assertThat(result.complete()).isTrue();
+        assertThat(result.matches())
+            .extracting(match -> match.licencePlate().toString() + "/" + match.substitutions())
+            .containsExactly("B-A8123/1", "B-AB123/2");
+    }
+
+    @Test
+    void validateFuzzy_withoutSubstitutions_shouldOnlyReturnValidInput() {
+        assertThat(validationService.validateFuzzy("W-A8123", 0, Duration.ofMillis(100)).matches())
+            .extracting(match -> match.licencePlate().toString())
+            .containsExactly("W-A8123");
+        assertThat(validationService.validateFuzzy("Q-AB1", 2, Duration.ofMillis(100)).matches()).isEmpty();
+    }
+
+    @Test
+    void validate_forbiddenIdentifier_shouldReturnErrorCode() {
+        ValidationResult result = validationService.validate("W-SS88");
+
+        assertThat(result).isInstanceOf(ValidationResult.Invalid.class);
+        assertThat(((ValidationResult.Invalid) result).errorCode()).isEqualTo(ValidationErrorCode.FORBIDDEN_IDENTIFIER);
+    }
+
+    @Test
+    void validate_blankInput_shouldReturnErrorCode() {
+        ValidationResult result = validationService.validate("  ");
+
+        assertThat(result).isInstanceOf(ValidationResult.Invalid.class);
+        assertThat(((ValidationResult.Invalid) result).errorCode()).isEqualTo(ValidationErrorCode.EMPTY_INPUT);
+    }
+
+    @Test
+    void validate_identifierLetterOutsideAToZ_shouldReturnInvalidCharacters() {
+        for (String input : List.of("B-ÄB1", "B-ÉA1", "B-\u0391\u039212", "B-Ж1")) {
+            ValidationResult result = validationService.validate(input);
+
+            assertThat(result).as(input).isInstanceOf(ValidationResult.Invalid.class);
+            assertThat(((ValidationResult.Invalid) result).errorCode()).as(input).isEqualTo(ValidationErrorCode.INVALID_CHARACTERS);
+        }
+    }
+
+    @Test
+    void validate_everyValidResult_shouldPack() {
+        char[] letters = {'A', 'Z', 'Ä', 'É', 'ß', '\u0391', 'Ж', '0', '6'};
+        char[] buffer = new char[PackedLicencePlate.MAX_FORMATTED_LENGTH];
+        int valid = 0;
+        for (String code : List.of("B", "BN", "ME", "Y")) {
+            for (char first : letters) {
+                for (char second : letters) {
+                    for (String input : List.of(code + "-" + first + second + "12", code + first + second + "123E", code + "-" + first + "0612")) {
+                        if (validationService.validate(input) instanceof ValidationResult.Valid result) {
+                            long packed = result.licencePlate().pack();
+                            assertThat(new String(buffer, 0, PackedLicencePlate.format(packed, buffer, 0)))
+                                .as(input).isEqualTo(result.licencePlate().toString());
+                            valid++;
+                        }
+                    }
+                }
+            }
+        }
+        assertThat(valid).isPositive();
+    }
 }
@@ -0,0 +1,67 @@
+package tomcom.licenceplatechecker;
+
+import org.junit.jupiter.api.Test;
+import tomcom.licenceplatechecker.application.LicencePlatePresenter;
+import tomcom.licenceplatechecker.domain.licenceplate.Distinguisher;
+import tomcom.licenceplatechecker.domain.licenceplate.DistinguisherIndex;
+import tomcom.licenceplatechecker.domain.licenceplate.LicencePlate;
+import tomcom.licenceplatechecker.domain.licenceplate.PackedLicencePlate;
+
+import java.util.Arrays;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static tomcom.licenceplatechecker.TestDistinguishers.distinguisher;
+
+class PackedLicencePlateTest {
+
+    private final Distinguisher berlin = distinguisher("B", "Berlin");
+    private final Distinguisher berlinSpecial = distinguisher("B", "Berlin Senat und Abgeordnetenhaus", false, true);
+    private final Distinguisher buesingen = distinguisher("BÜS", "Büsingen am Hochrhein");
+    private final Distinguisher bonn = distinguisher("BN", "Bonn, Stadt");
+    private final DistinguisherIndex index = DistinguisherIndex.of(List.of(berlin, berlinSpecial, buesingen, bonn));
+
+    @Test
+    void encode_shouldRoundTripAndFormatLikeToString() {
+        char[] buffer = new char[PackedLicencePlate.MAX_FORMATTED_LENGTH + 2];
+        for (LicencePlate licencePlate : List.of(
+            LicencePlate.of(berlin, "AB", "0012", "H"),
+            LicencePlate.of(buesingen, "Z", "9", "E"),
+            LicencePlate.of(bonn, "", "071234", ""),
+            LicencePlate.of(berlinSpecial, "", "123456", ""))) {
+
+            long packed = licencePlate.pack();
+            LicencePlate decoded = PackedLicencePlate.decode(packed, index);
+
+            assertThat(decoded.distinguisher).isSameAs(licencePlate.distinguisher);
+            assertThat(decoded.toString()).isEqualTo(licencePlate.toString());
+            assertThat(new String(buffer, 2, PackedLicencePlate.format(packed, buffer, 2))).isEqualTo(licencePlate.toString());
+            assertThat(LicencePlatePresenter.present(packed)).isEqualTo(LicencePlatePresenter.present(licencePlate));
+        }
+    }
+
+    @Test
+    void compare_shouldOrderByCodeIdentifierNumberAndModifier() {
+        long[] packed = {
+            LicencePlate.of(bonn, "A", "1", "").pack(),
+            LicencePlate.of(berlin, "A", "10", "").pack(),
+            LicencePlate.of(berlin, "AA", "1", "").pack(),
+            LicencePlate.of(berlin, "A", "2", "H").pack(),
+            LicencePlate.of(berlin, "A", "2", "").pack(),
+            LicencePlate.of(berlin, "A", "2", "E").pack()
+        };
+
+        Arrays.sort(packed);
+
+        assertThat(Arrays.stream(packed).mapToObj(PackedLicencePlate::toString))
+            .containsExactly("B-A2", "B-A2E", "B-A2H", "B-A10", "B-AA1", "BN-A1");
+    }
+
+    @Test
+    void encode_shouldRejectPartsOutsideTheEncoding() {
+        assertThatThrownBy(() -> LicencePlate.of(berlin, "ABC", "1", "").pack()).isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> LicencePlate.of(berlin, "A", "1234567", "").pack()).isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> LicencePlate.of(berlin, "A", "1", "X").pack()).isInstanceOf(IllegalArgumentException.class);
+    }
+}
@@ -0,0 +1,256 @@
+package tomcom.licenceplatechecker;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import tomcom.licenceplatechecker.application.BatchValidationResult;
+import tomcom.licenceplatechecker.application.pipeline.FilePlateReadSource;
+import tomcom.licenceplatechecker.application.pipeline.FilePlateResultSink;
+import tomcom.licenceplatechecker.application.pipeline.InProcessPlateBroker;
+import tomcom.licenceplatechecker.application.pipeline.PlateEventPipeline;
+import tomcom.licenceplatechecker.application.pipeline.PlateReadSource;
+import tomcom.licenceplatechecker.application.pipeline.PlateResultSink;
+import tomcom.licenceplatechecker.application.pipeline.PlateValidationEvent;
+import tomcom.licenceplatechecker.domain.licenceplate.PlateCategory;
+import tomcom.licenceplatechecker.domain.licenceplate.ValidationResult;
+import tomcom.licenceplatechecker.domain.licenceplate.validator.LicencePlateValidationService;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.stream.LongStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static tomcom.licenceplatechecker.TestDistinguishers.catalog;
+import static tomcom.licenceplatechecker.TestDistinguishers.distinguisher;
+import static tomcom.licenceplatechecker.TestDistinguishers.validationService;
+
+class PlateEventPipelineTest {
+
+    private LicencePlateValidationService validationService;
+
+    @TempDir
+    Path directory;
+
+    @BeforeEach
+    void setUp() {
+        validationService = validationService(
+            distinguisher("B", "Berlin"),
+            distinguisher("M", "München")
+        );
+    }
+
+    private PlateEventPipeline pipeline(PlateReadSource source, PlateResultSink sink) {
+        return pipeline(validationService, source, sink);
+    }
+
+    private PlateEventPipeline pipeline(LicencePlateValidationService validationService, PlateReadSource source, PlateResultSink sink) {
+        return new PlateEventPipeline(validationService, source, sink, Optional.empty(), Optional.empty(),
+            100, 2, Duration.ofMillis(10), Duration.ofMillis(1));
+    }
+
+    /**
+     * Fails every validation of the given plate, as a bug in a validator would.
+     */
+    private LicencePlateValidationService failingFor(String licencePlate) {
+        return new LicencePlateValidationService(catalog(distinguisher("M", "München"))) {
+            @Override
+            public ValidationResult validate(String input) {
+                if (licencePlate.equals(input))
+                    throw new IllegalStateException("Validierung fehlgeschlagen");
+                return super.validate(input);
+            }
+        };
+    }
+
+    /**
+     * Fails the first publish in a way that is not retried, as a broken sink would.
+     */
+    private static PlateResultSink failingOnce(PlateResultSink sink) {
+        return new PlateResultSink() {
+            private boolean failed;
+
+            @Override
+            public void publish(List<PlateValidationEvent> events) throws IOException {
+                if (!failed) {
+                    failed = true;
+                    throw new IllegalStateException("Sink fehlgeschlagen");
+                }
+                sink.publish(events);
+            }
+
+            @Override
+            public void close() throws IOException {
+                sink.close();
+            }
+        };
+    }
+
+    @Test
+    void process_shouldPublishResultsInOrderAndCommitTheReads() throws Exception {
+        InProcessPlateBroker broker = new InProcessPlateBroker(1_000);
+        for (int i = 1; i <= 250; i++)
+            broker.send("cam-1", i % 10 == 0 ? "Q-A" + i : "M-A" + i, 0);
+        PlateEventPipeline pipeline = pipeline(broker, broker);
+
+        int processed = 0;
+        while (broker.lag() > 0)
+            processed += pipeline.process();
+
+        List<PlateValidationEvent> events = broker.receive(1_000, Duration.ZERO);
+        assertThat(processed).isEqualTo(250);
+        assertThat(events).extracting(event -> event.read().offset()).isSorted().hasSize(250);
+        assertThat(events.get(0).validation().result()).isEqualTo("M-A1");
+        assertThat(events.get(0).category()).isEqualTo(PlateCategory.CIVILIAN);
+        assertThat(events.get(9).validation().status()).isEqualTo(BatchValidationResult.Status.INVALID);
+        assertThat(pipeline.process()).isZero();
+    }
+
+    @Test
+    void process_shouldRetryFailedPublishBeforeCommitting() throws Exception {
+        InProcessPlateBroker broker = new InProcessPlateBroker(100);
+        broker.send(null, "B-AB123", 0);
+        List<PlateValidationEvent> published = new ArrayList<>();
+        int[] attempts = {0};
+        PlateResultSink flakySink = new PlateResultSink() {
+            @Override
+            public void publish(List<PlateValidationEvent> events) throws IOException {
+                if (attempts[0]++ == 0)
+                    throw new IOException("Broker nicht erreichbar");
+                published.addAll(events);
+            }
+
+            @Override
+            public void close() { }
+        };
+
+        assertThat(pipeline(broker, flakySink).process()).isEqualTo(1);
+        assertThat(attempts[0]).isEqualTo(2);
+        assertThat(published).hasSize(1);
+        assertThat(broker.lag()).isZero();
+    }
+
+    @Test
+    void process_readThatAlwaysFails_shouldBePublishedAsErrorWithoutStallingTheBatch() throws Exception {
+        InProcessPlateBroker broker = new InProcessPlateBroker(1_000);
+        for (int i = 1; i <= 250; i++)
+            broker.send("cam-1", "M-A" + i, 0);
+        PlateEventPipeline pipeline = pipeline(failingFor("M-A150"), broker, broker);
+
+        int processed = 0;
+        while (broker.lag() > 0)
+            processed += pipeline.process();
+
+        List<PlateValidationEvent> events = broker.receive(1_000, Duration.ZERO);
+        assertThat(processed).isEqualTo(250);
+        assertThat(events).extracting(event -> event.read().offset())
+            .containsExactlyElementsOf(LongStream.range(0, 250).boxed().toList());
+        PlateValidationEvent failed = events.get(149);
+        assertThat(failed.read().licencePlate()).isEqualTo("M-A150");
+        assertThat(failed.validation().status()).isEqualTo(BatchValidationResult.Status.ERROR);
+        assertThat(failed.validation().error()).isNotBlank();
+        assertThat(failed.category()).isNull();
+        assertThat(events).filteredOn(event -> event != failed)
+            .extracting(event -> event.validation().status()).containsOnly(BatchValidationResult.Status.VALID);
+    }
+
+    @Test
+    void process_shouldDeliverAFailedBatchAgain() throws Exception {
+        InProcessPlateBroker broker = new InProcessPlateBroker(1_000);
+        for (int i = 1; i <= 250; i++)
+            broker.send("cam-1", "M-A" + i, 0);
+        PlateEventPipeline pipeline = pipeline(broker, broker);
+
+        assertThat(pipeline.process()).isEqualTo(100);
+        pipeline = pipeline(broker, failingOnce(broker));
+        assertThatThrownBy(pipeline::process).isInstanceOf(IllegalStateException.class);
+        assertThat(broker.lag()).isEqualTo(150);
+        while (broker.lag() > 0)
+            pipeline.process();
+
+        List<PlateValidationEvent> events = broker.receive(1_000, Duration.ZERO);
+        assertThat(events).extracting(event -> event.read().offset())
+            .containsExactlyElementsOf(LongStream.range(0, 250).boxed().toList());
+    }
+
+    @Test
+    void start_shouldProcessReadsUntilShutdownAndSurviveAFailedBatch() throws Exception {
+        InProcessPlateBroker broker = new InProcessPlateBroker(1_000);
+        PlateEventPipeline pipeline = pipeline(broker, failingOnce(broker));
+        pipeline.start();
+
+        for (int i = 1; i <= 250; i++)
+            broker.send("cam-1", "M-A" + i, 0);
+        List<PlateValidationEvent> events = new ArrayList<>();
+        long deadline = System.nanoTime() + Duration.ofSeconds(10).toNanos();
+        while (events.size() < 250 && System.nanoTime() < deadline)
+            events.addAll(broker.receive(1_000, Duration.ofMillis(100)));
+        pipeline.shutdown();
+
+        assertThat(events).extracting(event -> event.read().offset())
+            .containsExactlyElementsOf(LongStream.range(0, 250).boxed().toList());
+        assertThat(events).extracting(event -> event.validation().status()).containsOnly(BatchValidationResult.Status.VALID);
+        assertThat(broker.lag()).isZero();
+    }
+
+    @Test
+    void fileTransport_shouldDeliverAFailedBatchAgain() throws Exception {
+        Path input = directory.resolve("reads.ndjson");
+        Path output = directory.resolve("results.ndjson");
+        Files.writeString(input, "M-A1\nM-A2\nM-A3\n", StandardCharsets.UTF_8);
+
+        ObjectMapper objectMapper = new ObjectMapper();
+        try (FilePlateReadSource source = new FilePlateReadSource(objectMapper, input);
+             FilePlateResultSink sink = new FilePlateResultSink(objectMapper, output)) {
+            PlateEventPipeline pipeline = pipeline(source, failingOnce(sink));
+            assertThatThrownBy(pipeline::process).isInstanceOf(IllegalStateException.class);
+            assertThat(source.lag()).isEqualTo(3);
+            assertThat(pipeline.process()).isEqualTo(3);
+            assertThat(source.lag()).isZero();
+        }
+
+        List<String> results = Files.readAllLines(output, StandardCharsets.UTF_8);
+        assertThat(results).hasSize(3);
+        assertThat(results.get(1)).contains("\"offset\":1", "\"result\":\"M-A2\"");
+    }
+
+    @Test
+    void fileTransport_shouldResumeAfterTheLastCommittedLine() throws Exception {
+        Path input = directory.resolve("reads.ndjson");
+        Path output = directory.resolve("results.ndjson");
+        Files.writeString(input, """
+            {"camera":"cam-1","licencePlate":"B AB 123","capturedAt":1700000000000}
+            M-X1
+            {broken
+            """, StandardCharsets.UTF_8);
+
+        ObjectMapper objectMapper = new ObjectMapper();
+        try (FilePlateReadSource source = new FilePlateReadSource(objectMapper, input);
+             FilePlateResultSink sink = new FilePlateResultSink(objectMapper, output)) {
+            assertThat(source.lag()).isEqualTo(3);
+            assertThat(pipeline(source, sink).process()).isEqualTo(3);
+            assertThat(source.lag()).isZero();
+        }
+
+        Files.writeString(input, "M-AB12\n", StandardCharsets.UTF_8, StandardOpenOption.APPEND);
+        try (FilePlateReadSource source = new FilePlateReadSource(objectMapper, input);
+             FilePlateResultSink sink = new FilePlateResultSink(objectMapper, output)) {
+            assertThat(source.lag()).isEqualTo(1);
+            assertThat(pipeline(source, sink).process()).isEqualTo(1);
+        }
+
+        List<String> results = Files.readAllLines(output, StandardCharsets.UTF_8);
+        assertThat(results).hasSize(4);
+        assertThat(results.get(0)).contains("\"offset\":0", "\"camera\":\"cam-1\"", "\"result\":\"B-AB123\"", "\"category\":\"CIVILIAN\"");
+        assertThat(results.get(2)).contains("\"offset\":2", "\"status\":\"INVALID\"");
+        assertThat(results.get(3)).contains("\"offset\":3", "\"result\":\"M-AB12\"");
+    }
+}
@@ -0,0 +1,76 @@
+package tomcom.licenceplatechecker;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import tomcom.licenceplatechecker.domain.licenceplate.DistinguisherCatalog;
+import tomcom.licenceplatechecker.domain.licenceplate.ValidationResult;
+import tomcom.licenceplatechecker.domain.licenceplate.validator.LicencePlateValidationService;
+import tomcom.licenceplatechecker.domain.licenceplate.validator.PlateSpace;
+import tomcom.licenceplatechecker.domain.licenceplate.validator.PlateSpaceCount;
+import tomcom.licenceplatechecker.domain.licenceplate.validator.PlateSpaceService;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static tomcom.licenceplatechecker.TestDistinguishers.catalog;
+import static tomcom.licenceplatechecker.TestDistinguishers.distinguisher;
+
+class PlateSpaceTest {
+
+    private PlateSpaceService plateSpaceService;
+    private LicencePlateValidationService validationService;
+
+    @BeforeEach
+    void setUp() {
+        DistinguisherCatalog catalog = catalog(
+            distinguisher("WAF", "Warendorf"),
+            distinguisher("S", "Stuttgart"),
+            distinguisher("Y", "Dienstfahrzeuge der Bundeswehr", false, true)
+        );
+        plateSpaceService = new PlateSpaceService(catalog);
+        validationService = new LicencePlateValidationService(catalog);
+    }
+
+    @Test
+    void count_shouldRespectLengthModifiersAndForbiddenCombinations() {
+        PlateSpace plateSpace = plateSpaceService.forDistinguisher("WAF").orElseThrow();
+
+        // Five characters after WAF: 1-2 letters, 1-4 digits, optional H/E, or 05/06/07 plus up to 3 digits
+        assertThat(plateSpace.count("")).isEqualTo(new PlateSpaceCount(1_032_560, 102_560, 102_560, 3_333, 1_241_013));
+        // WAF-FE is forbidden, leaving F alone and FA-FZ without FE
+        assertThat(plateSpace.count("F").total()).isEqualTo(11_110 + 2 * 1_110 + 25 * (1_110 + 2 * 110));
+        assertThat(plateSpace.count("FE").total()).isZero();
+        assertThat(plateSpace.count("06").red()).isEqualTo(1_111);
+    }
+
+    @Test
+    void plates_shouldEnumerateValidPlatesInLexicalOrder() {
+        PlateSpace plateSpace = plateSpaceService.forDistinguisher("S").orElseThrow();
+
+        List<String> plates = plateSpace.plates("?D1", 0).map(Object::toString).toList();
+
+        assertThat(plates).hasSize((int) plateSpace.count("?D1").total());
+        assertThat(plates).isSorted();
+        assertThat(plates).startsWith("S-AD1", "S-AD10", "S-AD100", "S-AD1000");
+        assertThat(plates).doesNotContain("S-ED1");
+        assertThat(plates).allSatisfy(plate -> assertThat(validationService.validate(plate)).isInstanceOf(ValidationResult.Valid.class));
+    }
+
+    @Test
+    void plates_shouldStartPagesAtOffset() {
+        PlateSpace plateSpace = plateSpaceService.forDistinguisher("S").orElseThrow();
+        List<String> all = plateSpace.plates("E??", 0).map(Object::toString).toList();
+
+        for (int offset : new int[]{0, 1, 99, 500, all.size() - 3}) {
+            assertThat(plateSpace.plates("E??", offset).limit(5).map(Object::toString).toList())
+                .isEqualTo(all.subList(offset, Math.min(all.size(), offset + 5)));
+        }
+        assertThat(plateSpace.plates("E??", all.size())).isEmpty();
+    }
+
+    @Test
+    void forDistinguisher_shouldOnlyCoverCivilianDistinguishers() {
+        assertThat(plateSpaceService.forDistinguisher("Y")).isEmpty();
+        assertThat(plateSpaceService.forDistinguisher("Q")).isEmpty();
+    }
+}
@@ -0,0 +1,41 @@
+package tomcom.licenceplatechecker;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.ApplicationContext;
+import tomcom.licenceplatechecker.application.DistinguisherImporter;
+import tomcom.licenceplatechecker.domain.licenceplate.DistinguisherCatalog;
+import tomcom.licenceplatechecker.domain.licenceplate.DistinguisherRepository;
+import tomcom.licenceplatechecker.domain.licenceplate.validator.LicencePlateValidationService;
+
+import javax.sql.DataSource;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Boots the application with its default configuration, which must not need a database.
+ */
+@SpringBootTest
+class SnapshotStartupTest {
+
+    @Autowired
+    private ApplicationContext context;
+
+    @Autowired
+    private DistinguisherCatalog distinguisherCatalog;
+
+    @Autowired
+    private LicencePlateValidationService validationService;
+
+    @Test
+    void contextLoads_withoutDatasource() {
+        assertThat(context.getBeanNamesForType(DataSource.class)).isEmpty();
+        assertThat(context.getBeanNamesForType(DistinguisherRepository.class)).isEmpty();
+        assertThat(context.getBeanNamesForType(DistinguisherImporter.class)).isEmpty();
+
+        assertThat(distinguisherCatalog.dataset().source()).isEqualTo("snapshot");
+        assertThat(distinguisherCatalog.current().size()).isPositive();
+        assertThat(validationService.validateLicencePlate("B-AB123").toString()).isEqualTo("B-AB123");
+    }
+}
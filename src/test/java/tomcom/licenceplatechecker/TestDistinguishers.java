@@ -0,0 +1,43 @@
+package tomcom.licenceplatechecker;
+
+import tomcom.licenceplatechecker.domain.licenceplate.Distinguisher;
+import tomcom.licenceplatechecker.domain.licenceplate.DistinguisherCatalog;
+import tomcom.licenceplatechecker.domain.licenceplate.DistinguisherIndex;
+import tomcom.licenceplatechecker.domain.licenceplate.validator.LicencePlateValidationService;
+
+import java.util.List;
+
+/**
+ * Distinguishers and catalogs for tests that do not need the snapshot or the database.
+ */
+final class TestDistinguishers {
+
+    private TestDistinguishers() {
+    }
+
+    static Distinguisher distinguisher(String code, String label, boolean deprecated, boolean special) {
+        Distinguisher distinguisher = new Distinguisher();
+        distinguisher.code = code;
+        distinguisher.label = label;
+        distinguisher.deprecated = deprecated;
+        distinguisher.special = special;
+        return distinguisher;
+    }
+
+    /**
+     * A civilian distinguisher that is still issued.
+     */
+    static Distinguisher distinguisher(String code, String label) {
+        return distinguisher(code, label, false, false);
+    }
+
+    static DistinguisherCatalog catalog(Distinguisher... distinguishers) {
+        DistinguisherCatalog catalog = new DistinguisherCatalog(null);
+        catalog.replace(DistinguisherIndex.of(List.of(distinguishers)));
+        return catalog;
+    }
+
+    static LicencePlateValidationService validationService(Distinguisher... distinguishers) {
+        return new LicencePlateValidationService(catalog(distinguishers));
+    }
+}
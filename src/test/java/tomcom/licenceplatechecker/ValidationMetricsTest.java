@@ -0,0 +1,38 @@
+package tomcom.licenceplatechecker;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import tomcom.licenceplatechecker.domain.licenceplate.DistinguisherCatalog;
+import tomcom.licenceplatechecker.domain.licenceplate.validator.LicencePlateValidationService;
+
+import java.util.Optional;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static tomcom.licenceplatechecker.TestDistinguishers.catalog;
+import static tomcom.licenceplatechecker.TestDistinguishers.distinguisher;
+
+class ValidationMetricsTest {
+
+    @Test
+    void validate_shouldRecordOutcomesByCategoryAndReason() {
+        SimpleMeterRegistry registry = new SimpleMeterRegistry();
+        DistinguisherCatalog distinguisherCatalog = catalog(
+            distinguisher("B", "Berlin"),
+            distinguisher("THW", "Technisches Hilfswerk", false, true)
+        );
+        LicencePlateValidationService licencePlateValidationService =
+            new LicencePlateValidationService(distinguisherCatalog, Optional.empty(), Optional.empty(), Optional.of(registry));
+
+        licencePlateValidationService.validate("B-AB123");
+        licencePlateValidationService.validate("B-06123");
+        licencePlateValidationService.validate("THW-8123");
+        licencePlateValidationService.validate("Q-AB1");
+
+        assertThat(registry.get("licence_plate.validation.outcomes").tag("category", "civilian").counter().count()).isEqualTo(1);
+        assertThat(registry.get("licence_plate.validation.outcomes").tag("category", "red").counter().count()).isEqualTo(1);
+        assertThat(registry.get("licence_plate.validation.outcomes").tag("category", "thw").counter().count()).isEqualTo(1);
+        assertThat(registry.get("licence_plate.validation.outcomes").tag("reason", "unknown_distinguisher").counter().count()).isEqualTo(1);
+        assertThat(registry.get("licence_plate.validation").tag("outcome", "valid").timer().count()).isEqualTo(3);
+        assertThat(registry.get("licence_plate.validation.candidates").summary().count()).isEqualTo(4);
+    }
+}
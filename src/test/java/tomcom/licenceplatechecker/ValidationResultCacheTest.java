@@ -0,0 +1,61 @@
+package tomcom.licenceplatechecker;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import tomcom.licenceplatechecker.domain.licenceplate.DistinguisherCatalog;
+import tomcom.licenceplatechecker.domain.licenceplate.DistinguisherIndex;
+import tomcom.licenceplatechecker.domain.licenceplate.ValidationErrorCode;
+import tomcom.licenceplatechecker.domain.licenceplate.ValidationResult;
+import tomcom.licenceplatechecker.domain.licenceplate.validator.LicencePlateValidationService;
+import tomcom.licenceplatechecker.domain.licenceplate.validator.ValidationCacheStatistics;
+import tomcom.licenceplatechecker.domain.licenceplate.validator.ValidationResultCache;
+
+import java.util.List;
+import java.util.Optional;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static tomcom.licenceplatechecker.TestDistinguishers.catalog;
+import static tomcom.licenceplatechecker.TestDistinguishers.distinguisher;
+
+class ValidationResultCacheTest {
+
+    private DistinguisherCatalog distinguisherCatalog;
+    private LicencePlateValidationService licencePlateValidationService;
+
+    @BeforeEach
+    void setUp() {
+        distinguisherCatalog = catalog(distinguisher("B", "Berlin"));
+        licencePlateValidationService = new LicencePlateValidationService(distinguisherCatalog, Optional.empty(), Optional.of(new ValidationResultCache(100)), Optional.empty());
+    }
+
+    @Test
+    void validate_shouldServeNormalizedRepeatsFromCache() {
+        ValidationResult first = licencePlateValidationService.validate("B-AB123");
+        ValidationResult second = licencePlateValidationService.validate(" b ab 123 ");
+        licencePlateValidationService.validate("M-AB123");
+        licencePlateValidationService.validate("m-ab123");
+
+        assertThat(second).isSameAs(first);
+        ValidationCacheStatistics statistics = licencePlateValidationService.cacheStatistics().orElseThrow();
+        assertThat(statistics.hits()).isEqualTo(2);
+        assertThat(statistics.misses()).isEqualTo(2);
+        assertThat(statistics.size()).isEqualTo(2);
+    }
+
+    @Test
+    void validate_shouldNotReturnResultsOfReplacedDataset() {
+        assertThat(licencePlateValidationService.validate("M-AB123")).isInstanceOf(ValidationResult.Invalid.class)
+            .extracting(result -> ((ValidationResult.Invalid) result).errorCode())
+            .isEqualTo(ValidationErrorCode.UNKNOWN_DISTINGUISHER);
+
+        distinguisherCatalog.replace(DistinguisherIndex.of(List.of(distinguisher("M", "München"))));
+
+        assertThat(licencePlateValidationService.validate("M-AB123")).isInstanceOf(ValidationResult.Valid.class);
+        assertThat(licencePlateValidationService.cacheStatistics().orElseThrow().misses()).isEqualTo(2);
+    }
+
+    @Test
+    void cacheStatistics_shouldBeEmptyWithoutCache() {
+        assertThat(new LicencePlateValidationService(distinguisherCatalog).cacheStatistics()).isEmpty();
+    }
+}
@@ -0,0 +1,115 @@
+package tomcom.licenceplatechecker;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ArrayNode;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import org.junit.jupiter.api.Test;
+import tomcom.licenceplatechecker.domain.licenceplate.Distinguisher;
+import tomcom.licenceplatechecker.domain.licenceplate.DistinguisherCatalog;
+import tomcom.licenceplatechecker.domain.licenceplate.DistinguisherIndex;
+import tomcom.licenceplatechecker.domain.licenceplate.ValidationResult;
+import tomcom.licenceplatechecker.domain.licenceplate.validator.ForbiddenCombinations;
+import tomcom.licenceplatechecker.domain.licenceplate.validator.LicencePlateValidationService;
+import tomcom.licenceplatechecker.domain.licenceplate.validator.ValidationRuleBundle;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static tomcom.licenceplatechecker.TestDistinguishers.distinguisher;
+
+class ValidationRuleBundleTest {
+
+    // Shared with offline-licence-plate-validator.spec.ts, which checks the Angular validator against the same cases
+    private static final Path OFFLINE_VALIDATOR_FIXTURE =
+        Path.of("angular/licence-plate-app/src/app/service/offline-licence-plate-validator.fixture.json");
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+
+    @Test
+    void of_shouldBuildTrieRulesAndForbiddenCombinations() {
+        DistinguisherIndex index = DistinguisherIndex.of(List.of(
+            distinguisher("BN", "Bonn, Stadt", false, false),
+            distinguisher("B", "Berlin Senat und Abgeordnetenhaus", false, true),
+            distinguisher("B", "Berlin", false, false),
+            distinguisher("BNA", "Borna", true, false)
+        ));
+        ForbiddenCombinations forbiddenCombinations = ForbiddenCombinations.of(List.of("SS", "B-NS", "BN-IS", "B-SA"));
+
+        ValidationRuleBundle bundle = ValidationRuleBundle.of(index, forbiddenCombinations);
+
+        assertThat(bundle.version()).isEqualTo(index.version());
+        ValidationRuleBundle.TrieNode b = bundle.distinguishers().children().get("B");
+        assertThat(b.entries()).containsExactly(
+            new ValidationRuleBundle.Entry("Berlin", false, false),
+            new ValidationRuleBundle.Entry("Berlin Senat und Abgeordnetenhaus", false, true));
+        assertThat(b.children().get("N").children().get("A").entries())
+            .containsExactly(new ValidationRuleBundle.Entry("Borna", true, false));
+
+        assertThat(bundle.rules().civilian().maxTotalLength()).isEqualTo(8);
+        assertThat(bundle.rules().redPlate().prefixes()).containsExactly(5, 6, 7);
+        assertThat(bundle.rules().federalPolice().code()).isEqualTo("BP");
+        assertThat(bundle.rules().thw().firstDigits()).isEqualTo("89");
+
+        assertThat(bundle.forbidden().identifiers()).containsExactly("SS");
+        assertThat(bundle.forbidden().pairs()).containsOnlyKeys("B", "BN");
+        assertThat(bundle.forbidden().pairs().get("B")).containsExactly("NS", "SA");
+    }
+
+    @Test
+    void offlineValidatorFixture_shouldMatchBundleAndServerResults() throws IOException {
+        JsonNode fixture = objectMapper.readTree(OFFLINE_VALIDATOR_FIXTURE.toFile());
+        List<Distinguisher> distinguishers = new ArrayList<>();
+        for (JsonNode distinguisher : fixture.get("distinguishers")) {
+            distinguishers.add(distinguisher(distinguisher.get("code").asText(), distinguisher.get("label").asText(),
+                distinguisher.get("deprecated").asBoolean(), distinguisher.get("special").asBoolean()));
+        }
+        List<String> forbidden = new ArrayList<>();
+        fixture.get("forbidden").forEach(entry -> forbidden.add(entry.asText()));
+        DistinguisherIndex index = DistinguisherIndex.of(distinguishers);
+        ForbiddenCombinations forbiddenCombinations = ForbiddenCombinations.of(forbidden);
+
+        // The version is a content hash and irrelevant to the rules
+        ObjectNode bundle = objectMapper.valueToTree(ValidationRuleBundle.of(index, forbiddenCombinations));
+        ObjectNode expectedBundle = fixture.get("bundle").deepCopy();
+        bundle.remove("version");
+        expectedBundle.remove("version");
+        assertThat(bundle).isEqualTo(expectedBundle);
+
+        DistinguisherCatalog catalog = new DistinguisherCatalog(null);
+        catalog.replace(index);
+        LicencePlateValidationService validationService = new LicencePlateValidationService(catalog,
+            Optional.of(forbiddenCombinations), Optional.empty(), Optional.empty());
+        for (JsonNode testCase : fixture.get("cases")) {
+            String input = testCase.get("input").asText();
+            assertThat(toFixtureResult(validationService.validate(input))).as(input).isEqualTo(testCase.get("result"));
+        }
+    }
+
+    /**
+     * The result in the shape of the Angular OfflineValidationResult.
+     */
+    private ObjectNode toFixtureResult(ValidationResult result) {
+        ObjectNode node = objectMapper.createObjectNode();
+        switch (result) {
+            case ValidationResult.Valid valid -> node.put("valid", true)
+                .put("licencePlate", valid.licencePlate().toString())
+                .put("label", valid.licencePlate().distinguisher.label);
+            case ValidationResult.Invalid invalid -> node.put("valid", false)
+                .put("errorCode", invalid.errorCode().name())
+                .put("error", invalid.message());
+            case ValidationResult.Ambiguous ambiguous -> {
+                node.put("valid", false)
+                    .put("errorCode", ambiguous.errorCode().name())
+                    .put("error", ambiguous.message());
+                ArrayNode alternatives = node.putArray("alternatives");
+                ambiguous.alternatives().forEach(alternative -> alternatives.add(alternative.licencePlate().toString()));
+            }
+        }
+        return node;
+    }
+}
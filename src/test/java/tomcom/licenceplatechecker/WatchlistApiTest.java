@@ -0,0 +1,64 @@
+package tomcom.licenceplatechecker;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.util.Arrays;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+import static org.hamcrest.Matchers.containsString;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Request checks of the watchlist maintenance endpoints.
+ */
+@SpringBootTest(properties = {"licence-plate.watchlist.enabled=true", "licence-plate.batch.max-size=100"})
+@AutoConfigureMockMvc
+class WatchlistApiTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    private static String platesRequest(String... licencePlates) {
+        return "{\"licencePlates\":[" + Arrays.stream(licencePlates)
+            .map(licencePlate -> "\"" + licencePlate + "\"")
+            .collect(Collectors.joining(",")) + "]}";
+    }
+
+    @Test
+    void addOrRemovePlates_withoutPlates_shouldReturnBadRequest() throws Exception {
+        for (String path : new String[]{"/watchlists/stolen/plates", "/watchlists/stolen/plates/remove"}) {
+            for (String body : new String[]{"{}", "{\"licencePlates\":null}", platesRequest()}) {
+                mockMvc.perform(post(path).contentType(MediaType.APPLICATION_JSON).content(body))
+                    .andExpect(status().isBadRequest())
+                    .andExpect(jsonPath("$.success").value(false))
+                    .andExpect(jsonPath("$.error").value("Keine Kennzeichen angegeben"));
+            }
+        }
+    }
+
+    @Test
+    void addOrRemovePlates_aboveMaxSize_shouldReturnPayloadTooLarge() throws Exception {
+        String[] licencePlates = IntStream.rangeClosed(1, 101).mapToObj(i -> "B-A" + i).toArray(String[]::new);
+
+        for (String path : new String[]{"/watchlists/stolen/plates", "/watchlists/stolen/plates/remove"}) {
+            mockMvc.perform(post(path).contentType(MediaType.APPLICATION_JSON).content(platesRequest(licencePlates)))
+                .andExpect(status().isPayloadTooLarge())
+                .andExpect(jsonPath("$.success").value(false))
+                .andExpect(jsonPath("$.error", containsString("100")));
+        }
+
+        mockMvc.perform(post("/watchlists/stolen/plates")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(platesRequest(Arrays.copyOf(licencePlates, 100))))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$.result.changed").value(100));
+    }
+}
@@ -0,0 +1,80 @@
+package tomcom.licenceplatechecker;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import tomcom.licenceplatechecker.domain.licenceplate.Distinguisher;
+import tomcom.licenceplatechecker.domain.licenceplate.LicencePlate;
+import tomcom.licenceplatechecker.domain.licenceplate.ValidationResult;
+import tomcom.licenceplatechecker.domain.licenceplate.validator.LicencePlateValidationService;
+import tomcom.licenceplatechecker.domain.licenceplate.watchlist.Watchlist;
+import tomcom.licenceplatechecker.domain.licenceplate.watchlist.WatchlistCheck;
+import tomcom.licenceplatechecker.domain.licenceplate.watchlist.WatchlistService;
+import tomcom.licenceplatechecker.domain.licenceplate.watchlist.WatchlistUpdate;
+
+import java.util.Arrays;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static tomcom.licenceplatechecker.TestDistinguishers.distinguisher;
+import static tomcom.licenceplatechecker.TestDistinguishers.validationService;
+
+class WatchlistTest {
+
+    private LicencePlateValidationService validationService;
+    private WatchlistService watchlistService;
+
+    @BeforeEach
+    void setUp() {
+        validationService = validationService(
+            distinguisher("B", "Berlin"),
+            distinguisher("M", "München")
+        );
+        watchlistService = new WatchlistService(validationService, 16);
+    }
+
+    @Test
+    void watchlist_shouldGrowBeyondExpectedSizeAndForgetRemovedPlates() {
+        Watchlist watchlist = new Watchlist("stolen", 16);
+        long[] plates = new long[10_000];
+        for (int i = 0; i < plates.length; i++)
+            plates[i] = validationService.validateLicencePlate("M-" + (char) ('A' + i / 1_000) + "A" + (i % 1_000 + 1)).pack();
+
+        assertThat(watchlist.addAll(plates)).isEqualTo(plates.length);
+        assertThat(watchlist.add(plates[0])).isFalse();
+        assertThat(watchlist.contains(plates[9_999])).isTrue();
+        assertThat(watchlist.contains(validationService.validateLicencePlate("M-B1"))).isFalse();
+
+        assertThat(watchlist.removeAll(Arrays.copyOf(plates, 5_000))).isEqualTo(5_000);
+        assertThat(watchlist.contains(plates[0])).isFalse();
+        assertThat(watchlist.contains(plates[5_000])).isTrue();
+        assertThat(watchlist.size()).isEqualTo(5_000);
+    }
+
+    @Test
+    void service_shouldMatchCanonicalPlatesAcrossWatchlists() {
+        WatchlistUpdate update = watchlistService.add("stolen", List.of("B AB 123", "M-X1", "M-ABC1", "Q-A1"));
+        watchlistService.add("access", List.of("b-ab123"));
+
+        assertThat(update.changed()).isEqualTo(2);
+        assertThat(update.rejected()).containsExactly("M-ABC1", "Q-A1");
+
+        WatchlistCheck check = watchlistService.check("B-AB123");
+        assertThat(check.result()).isInstanceOf(ValidationResult.Valid.class);
+        assertThat(check.watchlists()).containsExactlyInAnyOrder("stolen", "access");
+        assertThat(watchlistService.check("B-AB124").watchlists()).isEmpty();
+
+        assertThat(watchlistService.remove("stolen", List.of("B-AB123"))).get().extracting(WatchlistUpdate::size).isEqualTo(1);
+        assertThat(watchlistService.check("B-AB123").watchlists()).containsExactly("access");
+        assertThat(watchlistService.remove("unknown", List.of("B-AB123"))).isEmpty();
+    }
+
+    @Test
+    void service_shouldNotMatchPlatesThatCannotBePacked() {
+        watchlistService.add("stolen", List.of("B-AB123"));
+        Distinguisher berlin = validationService.validateLicencePlate("B-AB123").distinguisher;
+        LicencePlate notEncodable = LicencePlate.of(berlin, "\u00C9A", "1", "");
+
+        assertThat(watchlistService.matches(notEncodable)).isEmpty();
+        assertThat(new Watchlist("stolen", 16).contains(notEncodable)).isFalse();
+    }
+}
@@ -0,0 +1,123 @@
+package tomcom.licenceplatechecker;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import tomcom.licenceplatechecker.application.BatchValidationResult;
+import tomcom.licenceplatechecker.domain.licenceplate.ValidationErrorCode;
+import tomcom.licenceplatechecker.domain.licenceplate.ValidationResult;
+import tomcom.licenceplatechecker.domain.licenceplate.validator.LicencePlateValidationService;
+import tomcom.licenceplatechecker.wire.WireClient;
+import tomcom.licenceplatechecker.wire.WireProtocol;
+import tomcom.licenceplatechecker.wire.WireServer;
+
+import java.io.IOException;
+import java.net.InetSocketAddress;
+import java.nio.ByteBuffer;
+import java.nio.channels.SocketChannel;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static tomcom.licenceplatechecker.TestDistinguishers.catalog;
+import static tomcom.licenceplatechecker.TestDistinguishers.distinguisher;
+import static tomcom.licenceplatechecker.TestDistinguishers.validationService;
+
+class WireServerTest {
+
+    private LicencePlateValidationService validationService;
+    private WireServer server;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        validationService = validationService(
+            distinguisher("L", "Leipzig"),
+            distinguisher("LI", "Lindau (Bodensee)"),
+            distinguisher("DÜW", "Bad Dürkheim")
+        );
+        server = new WireServer(validationService, 0, 2);
+        server.start();
+    }
+
+    @AfterEach
+    void tearDown() throws IOException {
+        server.shutdown();
+    }
+
+    @Test
+    void validateAll_shouldMatchTheValidationServiceForPipelinedRequests() throws IOException {
+        List<String> inputs = new ArrayList<>();
+        for (int i = 0; i < 1_000; i++)
+            inputs.add(List.of("düw ab 1", "LIT433", "Q-AB1", "L-A" + (i + 1)).get(i % 4));
+
+        try (WireClient client = WireClient.connect("localhost", server.port())) {
+            List<BatchValidationResult> results = client.validateAll(inputs);
+
+            assertThat(results).hasSize(inputs.size());
+            for (int i = 0; i < 8; i++) {
+                BatchValidationResult expected = BatchValidationResult.of(validationService.validate(inputs.get(i)));
+                assertThat(results.get(i).status()).isEqualTo(expected.status());
+                assertThat(results.get(i).result()).isEqualTo(expected.result());
+                assertThat(results.get(i).errorCode()).isEqualTo(expected.errorCode());
+                assertThat(results.get(i).error()).isEqualTo(expected.error());
+            }
+            assertThat(results.get(0).result()).isEqualTo("DÜW-AB1");
+            assertThat(results.get(1).alternatives()).hasSize(2);
+            assertThat(results.get(2).errorCode()).isEqualTo(ValidationErrorCode.UNKNOWN_DISTINGUISHER);
+            assertThat(results.get(999).result()).isEqualTo("L-A1000");
+        }
+    }
+
+    @Test
+    void server_shouldReportAndCloseOnMalformedFrames() throws IOException {
+        try (SocketChannel channel = SocketChannel.open(new InetSocketAddress("localhost", server.port()))) {
+            channel.write(ByteBuffer.allocate(4).putShort((short) (WireProtocol.MAX_REQUEST_LENGTH + 1)).flip());
+
+            ByteBuffer response = ByteBuffer.allocate(256);
+            while (channel.read(response) >= 0) {
+                // read until the server closes the connection
+            }
+            assertThatThrownBy(() -> WireProtocol.readResponse(response.flip()))
+                .isInstanceOf(IllegalStateException.class)
+                .hasMessageContaining("Nachrichtenlänge");
+        }
+
+        try (WireClient client = WireClient.connect("localhost", server.port())) {
+            assertThat(client.validate("L-AB1").result()).isEqualTo("L-AB1");
+        }
+    }
+
+    @Test
+    void server_shouldCloseOnlyTheConnectionWhoseRequestFailed() throws IOException {
+        LicencePlateValidationService failingService = new LicencePlateValidationService(catalog(distinguisher("L", "Leipzig"))) {
+            @Override
+            public ValidationResult validate(String input) {
+                if ("L-BUG1".equals(input))
+                    throw new IllegalStateException("Validierung fehlgeschlagen");
+                return super.validate(input);
+            }
+        };
+        // One event loop, so both connections share the thread the failure happens on
+        WireServer failingServer = new WireServer(failingService, 0, 1);
+        failingServer.start();
+        try (WireClient other = WireClient.connect("localhost", failingServer.port())) {
+            assertThat(other.validate("L-AB1").result()).isEqualTo("L-AB1");
+
+            try (WireClient failing = WireClient.connect("localhost", failingServer.port())) {
+                assertThat(failing.validateAll(List.of("L-AB2", "L-AB3"))).extracting(BatchValidationResult::result)
+                    .containsExactly("L-AB2", "L-AB3");
+                assertThatThrownBy(() -> failing.validate("L-BUG1"))
+                    .isInstanceOf(IOException.class)
+                    .hasMessageContaining("Interner Fehler");
+            }
+
+            assertThat(other.validate("L-AB4").result()).isEqualTo("L-AB4");
+            try (WireClient next = WireClient.connect("localhost", failingServer.port())) {
+                assertThat(next.validate("L-AB5").result()).isEqualTo("L-AB5");
+            }
+        } finally {
+            failingServer.shutdown();
+        }
+    }
+}
@@ -0,0 +1,104 @@
+package tomcom.licenceplatechecker.domain.licenceplate.validator;
+
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * PlateTokens is package-private, so this test lives next to it instead of in the flat test package.
+ */
+class PlateTokensTest {
+
+    @Test
+    void tokenize_shouldTrimLeadingAndTrailingWhitespace() {
+        PlateTokens tokens = PlateTokens.tokenize(" \t B-AB123 \r\n");
+
+        assertThat(tokens.toString()).isEqualTo("BAB123");
+        assertThat(tokens.isBlank()).isFalse();
+        assertThat(tokens.distinguisherEnd()).isEqualTo(1);
+    }
+
+    @Test
+    void tokenize_mixedSeparators_shouldSplitAtTheFirstOne() {
+        PlateTokens tokens = PlateTokens.tokenize("M - AB-12 3");
+
+        assertThat(tokens.toString()).isEqualTo("MAB123");
+        assertThat(tokens.hasSeparatedDistinguisher()).isTrue();
+        assertThat(tokens.distinguisherEnd()).isEqualTo(1);
+        assertThat(tokens.key()).isEqualTo("M-AB123");
+    }
+
+    @Test
+    void tokenize_compactInput_shouldHaveNoDistinguisherSpan() {
+        PlateTokens tokens = PlateTokens.tokenize("MAB123");
+
+        assertThat(tokens.hasSeparatedDistinguisher()).isFalse();
+        assertThat(tokens.key()).isEqualTo("MAB123");
+    }
+
+    @Test
+    void modifier_afterSeparator_shouldBeSplitOffTheBody() {
+        PlateTokens historic = PlateTokens.tokenize("M-AB123 H");
+        PlateTokens electric = PlateTokens.tokenize("m ab 123-e");
+
+        assertThat(historic.toString()).isEqualTo("MAB123H");
+        assertThat(historic.modifier(1)).isEqualTo("H");
+        assertThat(historic.bodyEnd(1)).isEqualTo(6);
+        assertThat(electric.toString()).isEqualTo("MAB123E");
+        assertThat(electric.modifier(1)).isEqualTo("E");
+        assertThat(electric.bodyEnd(1)).isEqualTo(6);
+
+        PlateTokens noModifier = PlateTokens.tokenize("M-AB123");
+        assertThat(noModifier.modifier(1)).isEmpty();
+        assertThat(noModifier.bodyEnd(1)).isEqualTo(6);
+        assertThat(PlateTokens.tokenize("M-").modifier(1)).isEmpty();
+    }
+
+    @Test
+    void tokenize_shouldUpperCaseLettersAndUmlauts() {
+        PlateTokens tokens = PlateTokens.tokenize("büs-äö 12");
+
+        assertThat(tokens.toString()).isEqualTo("BÜSÄÖ12");
+        assertThat(tokens.distinguisherEnd()).isEqualTo(3);
+    }
+
+    @Test
+    void tokenize_sharpS_shouldStayOneCharacter() {
+        // String.toUpperCase would turn it into "SS" and shift every offset after it
+        PlateTokens tokens = PlateTokens.tokenize("b-aß1");
+
+        assertThat(tokens.toString()).isEqualTo("BAß1");
+        assertThat(tokens.length()).isEqualTo(4);
+    }
+
+    @Test
+    void tokenize_onlySeparators_shouldBeEmptyButNotBlank() {
+        PlateTokens tokens = PlateTokens.tokenize(" - - ");
+
+        assertThat(tokens.length()).isZero();
+        assertThat(tokens.isBlank()).isFalse();
+        assertThat(tokens.hasSeparatedDistinguisher()).isTrue();
+        assertThat(tokens.distinguisherEnd()).isZero();
+        assertThat(tokens.modifier(0)).isEmpty();
+    }
+
+    @Test
+    void tokenize_onlyWhitespace_shouldBeBlank() {
+        PlateTokens tokens = PlateTokens.tokenize(" \t\n ");
+
+        assertThat(tokens.length()).isZero();
+        assertThat(tokens.isBlank()).isTrue();
+        assertThat(tokens.key()).isEmpty();
+    }
+
+    @Test
+    void key_shouldBeEqualForEquivalentInput() {
+        String key = PlateTokens.tokenize("B-AB123").key();
+
+        assertThat(PlateTokens.tokenize(" b ab123 ").key()).isEqualTo(key);
+        assertThat(PlateTokens.tokenize("B - AB 123").key()).isEqualTo(key);
+        assertThat(PlateTokens.tokenize("b-Ab-1-2-3").key()).isEqualTo(key);
+        assertThat(PlateTokens.tokenize("BA-B123").key()).isNotEqualTo(key);
+        assertThat(PlateTokens.tokenize("BAB123").key()).isNotEqualTo(key);
+    }
+}